@@ -5,6 +5,7 @@ import com.example.backend.person.Person;
 import com.example.backend.person.PersonDTO;
 import com.example.backend.util.ApiResponse;
 import com.example.backend.util.ServiceResult;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -37,13 +38,15 @@ public class AuthController {
                     new ResponseEntity<>(ApiResponse.failed(error.getMessage()), HttpStatus.BAD_REQUEST);
             case STREAK_UPDATE_FAILED ->
                     new ResponseEntity<>(ApiResponse.failed(error.getMessage()), HttpStatus.INTERNAL_SERVER_ERROR);
+            case SERVICE_BUSY ->
+                    new ResponseEntity<>(ApiResponse.failed(error.getMessage()), HttpStatus.SERVICE_UNAVAILABLE);
         };
     }
 
     @PostMapping("/login")
     @Operation(summary = "Log in a user and return the refresh token and access token in a cookie")
-    public ResponseEntity<ApiResponse<Void>> login(@RequestBody PersonDTO personDTO, HttpServletResponse response) {
-        ServiceResult<Void, AuthLoginError> result = authService.login(personDTO, response);
+    public ResponseEntity<ApiResponse<Void>> login(@RequestBody PersonDTO personDTO, HttpServletRequest request, HttpServletResponse response) {
+        ServiceResult<Void, AuthLoginError> result = authService.login(personDTO, request.getRemoteAddr(), response);
         if (result.isSuccess()) {
             return new ResponseEntity<>(ApiResponse.success(null), HttpStatus.OK);
         }
@@ -55,6 +58,10 @@ public class AuthController {
                     new ResponseEntity<>(ApiResponse.failed(error.getMessage()), HttpStatus.UNAUTHORIZED);
             case STREAK_UPDATE_FAILED ->
                     new ResponseEntity<>(ApiResponse.failed(error.getMessage()), HttpStatus.INTERNAL_SERVER_ERROR);
+            case SERVICE_BUSY ->
+                    new ResponseEntity<>(ApiResponse.failed(error.getMessage()), HttpStatus.SERVICE_UNAVAILABLE);
+            case TOO_MANY_ATTEMPTS ->
+                    new ResponseEntity<>(ApiResponse.failed(error.getMessage()), HttpStatus.TOO_MANY_REQUESTS);
         };
     }
 
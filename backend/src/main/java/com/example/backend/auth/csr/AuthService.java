@@ -1,16 +1,20 @@
 package com.example.backend.auth.csr;
 
 import com.example.backend.auth.error.*;
+import com.example.backend.badge.BadgeTriggerEvent;
+import com.example.backend.leaderboard.csr.LeaderboardEngine;
 import com.example.backend.person.Person;
 import com.example.backend.person.PersonDTO;
 import com.example.backend.person.csr.PersonService;
 import com.example.backend.util.JWT;
+import com.example.backend.util.PasswordHasher;
 import com.example.backend.util.ServiceResult;
+import com.example.backend.util.TokenPrincipal;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
 import java.util.Optional;
 
 @Service
@@ -18,33 +22,37 @@ public class AuthService {
 
     private final PersonService personService;
     private final JWT jwt;
-
-    public AuthService(PersonService personService, JWT jwt) {
+    private final LeaderboardEngine leaderboardEngine;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StreakDayMarker streakDayMarker;
+    private final PasswordHasher passwordHasher;
+    private final LoginRateLimiter loginRateLimiter;
+
+    public AuthService(PersonService personService, JWT jwt, LeaderboardEngine leaderboardEngine, ApplicationEventPublisher eventPublisher,
+                       StreakDayMarker streakDayMarker, PasswordHasher passwordHasher, LoginRateLimiter loginRateLimiter) {
         this.personService = personService;
         this.jwt = jwt;
+        this.leaderboardEngine = leaderboardEngine;
+        this.eventPublisher = eventPublisher;
+        this.streakDayMarker = streakDayMarker;
+        this.passwordHasher = passwordHasher;
+        this.loginRateLimiter = loginRateLimiter;
     }
 
     public ServiceResult<Void, AuthUpdateStreakError> updateStreak(Person person) {
+        if (person.getId() == null) {
+            return ServiceResult.error(AuthUpdateStreakError.STREAK_UPDATE_FAILED);
+        }
         LocalDate today = LocalDate.now();
-
-        if (ChronoUnit.DAYS.between(person.getLastLoginDate(), today) == 0) {
+        boolean advanced = personService.advanceStreak(person, today);
+        streakDayMarker.mark(person.getId(), today);
+        if (!advanced) {
             // User has already logged in today, no need to update anything
             return ServiceResult.success(null);
-
-        } else if (ChronoUnit.DAYS.between(person.getLastLoginDate(), today) == 1) {
-            // User logged in yesterday, increment streak
-            person.setStreak(person.getStreak() + 1);
-
-        } else if (ChronoUnit.DAYS.between(person.getLastLoginDate(), today) > 1) {
-            // User has not logged in for more than a day, reset streak
-            person.setStreak(1);
-        }
-        person.setLastLoginDate(today);
-        Optional<Person> personOptional = personService.save(person);
-        if (personOptional.isPresent()) {
-            return ServiceResult.success(null);
         }
-        return ServiceResult.error(AuthUpdateStreakError.STREAK_UPDATE_FAILED);
+        leaderboardEngine.personChanged(person);
+        eventPublisher.publishEvent(new BadgeTriggerEvent(person.getId(), "STREAK"));
+        return ServiceResult.success(null);
     }
 
     public ServiceResult<Void, AuthSignupError> signup(PersonDTO personDTO, HttpServletResponse response) {
@@ -57,16 +65,18 @@ public class AuthService {
         if (password == null || password.isEmpty()) {
             return ServiceResult.error(AuthSignupError.PASSWORD_CANNOT_BE_NULL_OR_EMPTY);
         }
-        Optional<Person> personOptional = personService.findByUsername(personDTO.getUsername());
-        if (personOptional.isPresent()) {
-            return ServiceResult.error(AuthSignupError.USERNAME_ALREADY_EXISTS);
+        Optional<String> passwordHash = passwordHasher.hash(password);
+        if (passwordHash.isEmpty()) {
+            return ServiceResult.error(AuthSignupError.SERVICE_BUSY);
         }
-        personOptional = personService.saveNewPerson(personDTO);
+        // No existence check first, the unique username constraint decides which concurrent signup wins
+        Optional<Person> personOptional = personService.saveNewPerson(username, passwordHash.get());
         if (personOptional.isEmpty()) {
             return ServiceResult.error(AuthSignupError.USERNAME_ALREADY_EXISTS);
         }
 
         Person person = personOptional.get();
+        leaderboardEngine.personChanged(person);
         ServiceResult<Void, AuthUpdateStreakError> updateStreakResult = updateStreak(person);
         if (!updateStreakResult.isSuccess()) {
             return ServiceResult.error(AuthSignupError.STREAK_UPDATE_FAILED);
@@ -77,7 +87,7 @@ public class AuthService {
         return ServiceResult.success(null);
     }
 
-    public ServiceResult<Void, AuthLoginError> login(PersonDTO personDTO, HttpServletResponse response) {
+    public ServiceResult<Void, AuthLoginError> login(PersonDTO personDTO, String clientIp, HttpServletResponse response) {
         String username = personDTO.getUsername();
         String password = personDTO.getPassword();
 
@@ -87,13 +97,27 @@ public class AuthService {
         if (password == null || password.isEmpty()) {
             return ServiceResult.error(AuthLoginError.PASSWORD_CANNOT_BE_NULL_OR_EMPTY);
         }
+        if (!loginRateLimiter.tryAcquire(username, clientIp)) {
+            return ServiceResult.error(AuthLoginError.TOO_MANY_ATTEMPTS);
+        }
 
-        Optional<Person> personOptional = personService.verifyPassword(personDTO);
-        if (personOptional.isEmpty()) {
+        // Unknown usernames still pay for one BCrypt verification, so response times do not reveal which names exist
+        Optional<Person> personOptional = personService.findByUsernameIfKnown(username);
+        Optional<PasswordHasher.Verification> verification = personOptional.isPresent()
+                ? passwordHasher.verify(password, personOptional.get().getPassword())
+                : passwordHasher.verifyUnknown(password);
+        if (verification.isEmpty()) {
+            return ServiceResult.error(AuthLoginError.SERVICE_BUSY);
+        }
+        if (verification.get() == PasswordHasher.Verification.INVALID) {
             return ServiceResult.error(AuthLoginError.INVALID_USERNAME_OR_PASSWORD);
         }
-
         Person person = personOptional.get();
+        if (verification.get() == PasswordHasher.Verification.REHASH_NEEDED) {
+            // The configured cost changed since this hash was made. Best effort, a busy pool retries on the next login
+            passwordHasher.hash(password).ifPresent(passwordHash -> personService.updatePassword(person, passwordHash));
+        }
+
         ServiceResult<Void, AuthUpdateStreakError> updateStreakResult = updateStreak(person);
         if (!updateStreakResult.isSuccess()) {
             return ServiceResult.error(AuthLoginError.STREAK_UPDATE_FAILED);
@@ -105,19 +129,26 @@ public class AuthService {
     }
 
     public ServiceResult<Void, AuthRefreshError> refresh(String refreshToken, HttpServletResponse response) {
-        Optional<Person> personOptional = jwt.getPersonFromToken(refreshToken);
-        if (personOptional.isEmpty()) {
+        Optional<TokenPrincipal> principalOptional = jwt.getPrincipalFromToken(refreshToken);
+        if (principalOptional.isEmpty()) {
             return ServiceResult.error(AuthRefreshError.INVALID_REFRESH_TOKEN);
         }
 
-        Person person = personOptional.get();
-        ServiceResult<Void, AuthUpdateStreakError> updateStreakResult = updateStreak(person);
-        if (!updateStreakResult.isSuccess()) {
-            return ServiceResult.error(AuthRefreshError.STREAK_UPDATE_FAILED);
+        // Most refreshes come from people whose streak was already processed today, those skip loading the person
+        TokenPrincipal principal = principalOptional.get();
+        if (!streakDayMarker.isMarked(principal.getPersonId(), LocalDate.now())) {
+            Optional<Person> personOptional = jwt.getPersonFromToken(refreshToken);
+            if (personOptional.isEmpty()) {
+                return ServiceResult.error(AuthRefreshError.INVALID_REFRESH_TOKEN);
+            }
+            ServiceResult<Void, AuthUpdateStreakError> updateStreakResult = updateStreak(personOptional.get());
+            if (!updateStreakResult.isSuccess()) {
+                return ServiceResult.error(AuthRefreshError.STREAK_UPDATE_FAILED);
+            }
         }
 
-        jwt.generateAccessTokenCookie(response, person.getUsername());
-        jwt.generateRefreshTokenCookie(response, person.getUsername());
+        jwt.generateAccessTokenCookie(response, principal.getUsername());
+        jwt.generateRefreshTokenCookie(response, principal.getUsername());
         return ServiceResult.success(null);
     }
 
@@ -0,0 +1,125 @@
+package com.example.backend.auth.csr;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Token buckets for login attempts, one per username and one per client IP, checked before any password work
+// so guessing cannot make us spend BCrypt time. Each bucket is one AtomicLong holding the time at which it is
+// full again (GCRA), updated with compare-and-set, so checks never lock. A bucket that has refilled is the
+// same as no bucket, which is what lets the sweep drop idle entries and keeps memory bounded. When a map is
+// still full after a sweep, the bucket closest to refilled makes room, so new keys are always limited.
+@Component
+public class LoginRateLimiter {
+
+    private final Limit usernameLimit;
+    private final Limit ipLimit;
+    private final int maxEntries;
+    private final Map<String, AtomicLong> usernames = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> ips = new ConcurrentHashMap<>();
+
+    private final LongAdder limited = new LongAdder();
+    private final LongAdder overflows = new LongAdder();
+
+    public LoginRateLimiter(@Value("${auth.login-limit.username.capacity:5}") int usernameCapacity,
+                            @Value("${auth.login-limit.username.per-minute:5}") int usernamePerMinute,
+                            @Value("${auth.login-limit.ip.capacity:20}") int ipCapacity,
+                            @Value("${auth.login-limit.ip.per-minute:20}") int ipPerMinute,
+                            @Value("${auth.login-limit.max-entries:100000}") int maxEntries) {
+        this.usernameLimit = new Limit(usernameCapacity, usernamePerMinute);
+        this.ipLimit = new Limit(ipCapacity, ipPerMinute);
+        this.maxEntries = maxEntries;
+    }
+
+    public boolean tryAcquire(String username, String clientIp) {
+        return tryAcquire(username, clientIp, System.nanoTime());
+    }
+
+    // The IP is checked first so an attacker spraying usernames from one address does not drain their buckets
+    boolean tryAcquire(String username, String clientIp, long now) {
+        if (clientIp != null && !acquire(ips, ipLimit, clientIp, now)) {
+            limited.increment();
+            return false;
+        }
+        if (!acquire(usernames, usernameLimit, username.toLowerCase(Locale.ROOT), now)) {
+            limited.increment();
+            return false;
+        }
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${auth.login-limit.sweep-interval-ms:60000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        sweep(usernames, now);
+        sweep(ips, now);
+    }
+
+    private boolean acquire(Map<String, AtomicLong> buckets, Limit limit, String key, long now) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxEntries) {
+                sweep(buckets, now);
+                if (buckets.size() >= maxEntries) {
+                    // Neither failing open nor closed: a flood of distinct keys must not switch the limiter off
+                    // for everyone, nor lock out people who have not tried yet
+                    overflows.increment();
+                    evictClosestToRefilled(buckets);
+                }
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+        while (true) {
+            long fullAt = bucket.get();
+            long start = fullAt - now > 0 ? fullAt : now;
+            if (start - now > limit.burstNanos()) {
+                return false;
+            }
+            if (bucket.compareAndSet(fullAt, start + limit.intervalNanos())) {
+                return true;
+            }
+        }
+    }
+
+    private static void sweep(Map<String, AtomicLong> buckets, long now) {
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+
+    // The bucket that refills first has the most tokens left, dropping it gives away the least
+    private static void evictClosestToRefilled(Map<String, AtomicLong> buckets) {
+        Map.Entry<String, AtomicLong> closest = null;
+        for (Map.Entry<String, AtomicLong> entry : buckets.entrySet()) {
+            if (closest == null || entry.getValue().get() - closest.getValue().get() < 0) {
+                closest = entry;
+            }
+        }
+        if (closest != null) {
+            buckets.remove(closest.getKey(), closest.getValue());
+        }
+    }
+
+    public int size() {
+        return usernames.size() + ips.size();
+    }
+
+    public long getLimited() {
+        return limited.sum();
+    }
+
+    public long getOverflows() {
+        return overflows.sum();
+    }
+
+    private record Limit(long intervalNanos, long burstNanos) {
+        Limit(int capacity, int perMinute) {
+            this(TimeUnit.MINUTES.toNanos(1) / perMinute, TimeUnit.MINUTES.toNanos(1) / perMinute * (capacity - 1));
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.backend.auth.csr;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Bounded LRU of the last day each person's streak was processed, so token refreshes of people already
+// counted today skip the database. A missing entry (evicted or after a restart) only costs one conditional
+// UPDATE, which changes nothing because lastLoginDate is persisted.
+@Component
+public class StreakDayMarker {
+
+    private final int maxSize;
+    private final Map<Long, LocalDate> days;
+
+    public StreakDayMarker(@Value("${auth.streak-marker.max-size:100000}") int maxSize) {
+        this.maxSize = maxSize;
+        this.days = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, LocalDate> eldest) {
+                return size() > StreakDayMarker.this.maxSize;
+            }
+        };
+    }
+
+    public synchronized boolean isMarked(Long personId, LocalDate day) {
+        return day.equals(days.get(personId));
+    }
+
+    public synchronized void mark(Long personId, LocalDate day) {
+        days.put(personId, day);
+    }
+
+    public synchronized int size() {
+        return days.size();
+    }
+}
@@ -9,7 +9,9 @@ public enum AuthLoginError {
     USERNAME_CANNOT_BE_NULL_OR_EMPTY("Username cannot be null or empty"),
     PASSWORD_CANNOT_BE_NULL_OR_EMPTY("Password cannot be null or empty"),
     INVALID_USERNAME_OR_PASSWORD("Invalid username or password"),
-    STREAK_UPDATE_FAILED("Failed to update streak");
+    STREAK_UPDATE_FAILED("Failed to update streak"),
+    SERVICE_BUSY("Server is busy, please try again later"),
+    TOO_MANY_ATTEMPTS("Too many login attempts, please try again later");
 
     private final String message;
 }
@@ -9,7 +9,8 @@ public enum AuthSignupError {
     USERNAME_CANNOT_BE_NULL_OR_EMPTY("Username cannot be null or empty"),
     PASSWORD_CANNOT_BE_NULL_OR_EMPTY("Password cannot be null or empty"),
     USERNAME_ALREADY_EXISTS("Username already exists"),
-    STREAK_UPDATE_FAILED("Failed to update streak");
+    STREAK_UPDATE_FAILED("Failed to update streak"),
+    SERVICE_BUSY("Server is busy, please try again later");
 
     private final String message;
 }
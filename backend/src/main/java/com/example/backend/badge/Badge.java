@@ -1,5 +1,6 @@
 package com.example.backend.badge;
 
+import com.example.backend.badge.csr.BadgeChangeListener;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -7,13 +8,15 @@ import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
 @Entity
+@EntityListeners(BadgeChangeListener.class)
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 public class Badge {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "badge_seq")
+    @SequenceGenerator(name = "badge_seq", sequenceName = "badge_seq", allocationSize = 50)
     private Integer id;
 
     @Column(nullable = false, unique = true)
@@ -0,0 +1,56 @@
+package com.example.backend.badge;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// Progress and resume checkpoint of awarding one badge to existing people. Updated in the same transaction
+// as each chunk of inserts, so lastPersonId always marks how far the backfill really got.
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+public class BadgeBackfill {
+    public enum Status { RUNNING, COMPLETED, FAILED }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(nullable = false, unique = true)
+    private Integer badgeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status = Status.RUNNING;
+
+    // Keyset position, every person with a lower or equal id has been processed
+    private Long lastPersonId = 0L;
+    private Long totalPersons = 0L;
+    private Long processedPersons = 0L;
+    private Long awardedPersons = 0L;
+    private String error;
+
+    private LocalDateTime startedAt = LocalDateTime.now();
+    private LocalDateTime updatedAt = LocalDateTime.now();
+    private LocalDateTime finishedAt;
+
+    public BadgeBackfill(Integer badgeId) {
+        this.badgeId = badgeId;
+    }
+
+    public void restart(long totalPersons) {
+        this.status = Status.RUNNING;
+        this.lastPersonId = 0L;
+        this.totalPersons = totalPersons;
+        this.processedPersons = 0L;
+        this.awardedPersons = 0L;
+        this.error = null;
+        this.startedAt = LocalDateTime.now();
+        this.updatedAt = this.startedAt;
+        this.finishedAt = null;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.backend.badge;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Per person value of one badge criteria, computed in the database
+public interface BadgeMetric {
+    Long getPersonId();
+
+    Number getMetric();
+
+    static Map<Long, Integer> toMap(List<BadgeMetric> metrics) {
+        Map<Long, Integer> values = new HashMap<>(Math.max(16, metrics.size() * 2));
+        for (BadgeMetric metric : metrics) {
+            values.put(metric.getPersonId(), metric.getMetric() == null ? 0 : metric.getMetric().intValue());
+        }
+        return values;
+    }
+}
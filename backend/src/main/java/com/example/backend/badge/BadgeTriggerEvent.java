@@ -0,0 +1,17 @@
+package com.example.backend.badge;
+
+import lombok.Value;
+
+import java.util.Set;
+
+// Published when metrics that badges are awarded on changed for a person, e.g. criteria type "STREAK"
+@Value
+public class BadgeTriggerEvent {
+    Long personId;
+    Set<String> criteriaTypes;
+
+    public BadgeTriggerEvent(Long personId, String... criteriaTypes) {
+        this.personId = personId;
+        this.criteriaTypes = Set.of(criteriaTypes);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.backend.badge.csr;
+
+import com.example.backend.badge.Badge;
+import com.example.backend.badge.BadgeTriggerEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Awards badges off the request thread whenever a BadgeTriggerEvent is published.
+// Events for the same person can run in parallel, so awards are inserted as rows under the unique key
+// instead of saving the whole badge list, which would let both threads append the same badge.
+@Component
+public class BadgeAwarder {
+
+    private static final String HELD_SQL = "SELECT badge_id FROM person_badges WHERE person_id = ?";
+
+    private final BadgeRuleEngine badgeRuleEngine;
+    private final JdbcTemplate jdbcTemplate;
+    private final PersonBadgeWriter personBadgeWriter;
+
+    public BadgeAwarder(BadgeRuleEngine badgeRuleEngine, JdbcTemplate jdbcTemplate, PersonBadgeWriter personBadgeWriter) {
+        this.badgeRuleEngine = badgeRuleEngine;
+        this.jdbcTemplate = jdbcTemplate;
+        this.personBadgeWriter = personBadgeWriter;
+    }
+
+    @Async("badgeExecutor")
+    @EventListener
+    public void onBadgeTrigger(BadgeTriggerEvent event) {
+        Long personId = event.getPersonId();
+        List<Badge> earned = badgeRuleEngine.earned(List.of(personId), event.getCriteriaTypes()).getOrDefault(personId, List.of());
+        if (earned.isEmpty()) {
+            return;
+        }
+
+        Set<Integer> held = new HashSet<>(jdbcTemplate.queryForList(HELD_SQL, Integer.class, personId));
+        List<Object[]> rows = new ArrayList<>();
+        for (Badge badge : earned) {
+            if (held.add(badge.getId())) {
+                rows.add(new Object[]{personId, badge.getId()});
+            }
+        }
+        personBadgeWriter.insert(rows);
+    }
+}
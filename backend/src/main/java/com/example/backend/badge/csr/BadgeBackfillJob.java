@@ -0,0 +1,146 @@
+package com.example.backend.badge.csr;
+
+import com.example.backend.badge.Badge;
+import com.example.backend.badge.BadgeBackfill;
+import com.example.backend.person.csr.PersonRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Awards one badge to every existing person that qualifies for it.
+// People are walked in keyset-paginated chunks of ids. Each chunk evaluates the badge metric with one bulk
+// query, skips people who already hold the badge, inserts the rest with a JDBC batch and moves the checkpoint
+// in the same transaction, so memory is bounded by the chunk size and an interrupted run resumes where it stopped.
+@Component
+public class BadgeBackfillJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(BadgeBackfillJob.class);
+    private static final String HELD_SQL = "SELECT person_id FROM person_badges WHERE badge_id = ? AND person_id BETWEEN ? AND ?";
+
+    private final PersonRepository personRepository;
+    private final BadgeBackfillRepository badgeBackfillRepository;
+    private final BadgeRuleEngine badgeRuleEngine;
+    private final JdbcTemplate jdbcTemplate;
+    private final PersonBadgeWriter personBadgeWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor backfillExecutor;
+    private final int chunkSize;
+    private final Set<Integer> running = ConcurrentHashMap.newKeySet();
+
+    public BadgeBackfillJob(PersonRepository personRepository,
+                            BadgeBackfillRepository badgeBackfillRepository,
+                            BadgeRuleEngine badgeRuleEngine,
+                            JdbcTemplate jdbcTemplate,
+                            PersonBadgeWriter personBadgeWriter,
+                            PlatformTransactionManager transactionManager,
+                            @Qualifier("backfillExecutor") TaskExecutor backfillExecutor,
+                            @Value("${badges.backfill.chunk-size:1000}") int chunkSize) {
+        this.personRepository = personRepository;
+        this.badgeBackfillRepository = badgeBackfillRepository;
+        this.badgeRuleEngine = badgeRuleEngine;
+        this.jdbcTemplate = jdbcTemplate;
+        this.personBadgeWriter = personBadgeWriter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.backfillExecutor = backfillExecutor;
+        this.chunkSize = chunkSize;
+    }
+
+    public boolean supports(Badge badge) {
+        return badgeRuleEngine.evaluator(badge.getCriteriaType()).isPresent();
+    }
+
+    public boolean isRunning(Integer badgeId) {
+        return running.contains(badgeId);
+    }
+
+    // Resumes an unfinished backfill or starts a new one; empty when one is already running for the badge
+    public Optional<BadgeBackfill> start(Badge badge) {
+        if (!running.add(badge.getId())) {
+            return Optional.empty();
+        }
+        try {
+            BadgeBackfill backfill = badgeBackfillRepository.findByBadgeId(badge.getId())
+                    .orElseGet(() -> new BadgeBackfill(badge.getId()));
+            if (backfill.getId() == null || backfill.getStatus() == BadgeBackfill.Status.COMPLETED) {
+                backfill.restart(personRepository.count());
+            } else {
+                backfill.setStatus(BadgeBackfill.Status.RUNNING);
+                backfill.setError(null);
+            }
+            BadgeBackfill saved = badgeBackfillRepository.save(backfill);
+            backfillExecutor.execute(() -> run(badge, saved.getId()));
+            return Optional.of(saved);
+        } catch (RuntimeException e) {
+            running.remove(badge.getId());
+            throw e;
+        }
+    }
+
+    private void run(Badge badge, Integer backfillId) {
+        try {
+            BadgeCriteriaEvaluator evaluator = badgeRuleEngine.evaluator(badge.getCriteriaType()).orElseThrow();
+            boolean more = true;
+            while (more) {
+                more = Boolean.TRUE.equals(transactionTemplate.execute(status -> processChunk(badge, evaluator, backfillId)));
+            }
+        } catch (RuntimeException e) {
+            logger.error("Backfill of badge {} failed", badge.getId(), e);
+            transactionTemplate.executeWithoutResult(status -> badgeBackfillRepository.findById(backfillId).ifPresent(backfill -> {
+                backfill.setStatus(BadgeBackfill.Status.FAILED);
+                backfill.setError(e.getMessage());
+                backfill.setUpdatedAt(LocalDateTime.now());
+            }));
+        } finally {
+            running.remove(badge.getId());
+        }
+    }
+
+    // Returns whether there may be more people after this chunk
+    private boolean processChunk(Badge badge, BadgeCriteriaEvaluator evaluator, Integer backfillId) {
+        BadgeBackfill backfill = badgeBackfillRepository.findById(backfillId).orElseThrow();
+        List<Long> personIds = personRepository.findIdsAfter(backfill.getLastPersonId(), PageRequest.of(0, chunkSize));
+        LocalDateTime now = LocalDateTime.now();
+        backfill.setUpdatedAt(now);
+        if (personIds.isEmpty()) {
+            complete(backfill, now);
+            return false;
+        }
+
+        Map<Long, Integer> metrics = evaluator.evaluate(personIds);
+        Set<Long> held = new HashSet<>(jdbcTemplate.queryForList(HELD_SQL, Long.class, badge.getId(), personIds.getFirst(), personIds.getLast()));
+        List<Object[]> batch = new ArrayList<>();
+        for (Long personId : personIds) {
+            if (metrics.getOrDefault(personId, 0) >= badge.getCriteriaValue() && !held.contains(personId)) {
+                batch.add(new Object[]{personId, badge.getId()});
+            }
+        }
+        int awarded = personBadgeWriter.insert(batch);
+
+        backfill.setLastPersonId(personIds.getLast());
+        backfill.setProcessedPersons(backfill.getProcessedPersons() + personIds.size());
+        backfill.setAwardedPersons(backfill.getAwardedPersons() + awarded);
+        if (personIds.size() < chunkSize) {
+            complete(backfill, now);
+            return false;
+        }
+        return true;
+    }
+
+    private void complete(BadgeBackfill backfill, LocalDateTime now) {
+        backfill.setStatus(BadgeBackfill.Status.COMPLETED);
+        backfill.setFinishedAt(now);
+        logger.info("Backfill of badge {} completed: {} people processed, {} awarded",
+                backfill.getBadgeId(), backfill.getProcessedPersons(), backfill.getAwardedPersons());
+    }
+}
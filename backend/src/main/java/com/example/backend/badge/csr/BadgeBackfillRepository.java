@@ -0,0 +1,12 @@
+package com.example.backend.badge.csr;
+
+import com.example.backend.badge.BadgeBackfill;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface BadgeBackfillRepository extends JpaRepository<BadgeBackfill, Integer> {
+    Optional<BadgeBackfill> findByBadgeId(Integer badgeId);
+}
@@ -0,0 +1,38 @@
+package com.example.backend.badge.csr;
+
+import com.example.backend.badge.Badge;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// JPA entity listener on Badge, created through Spring so it can reach the cached definitions.
+// Invalidates again after commit, so a reload racing with the write cannot keep the uncommitted state.
+// Hibernate creates the listener while the entity manager factory is built, and BadgeDefinitions needs that
+// factory through BadgeRepository, so the definitions are only looked up when a badge changes.
+public class BadgeChangeListener {
+
+    private final ObjectProvider<BadgeDefinitions> badgeDefinitionsProvider;
+
+    public BadgeChangeListener(ObjectProvider<BadgeDefinitions> badgeDefinitionsProvider) {
+        this.badgeDefinitionsProvider = badgeDefinitionsProvider;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void badgeChanged(Badge badge) {
+        BadgeDefinitions badgeDefinitions = badgeDefinitionsProvider.getObject();
+        badgeDefinitions.invalidate();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    badgeDefinitions.invalidate();
+                }
+            });
+        }
+    }
+}
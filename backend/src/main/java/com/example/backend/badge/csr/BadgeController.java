@@ -1,6 +1,9 @@
 package com.example.backend.badge.csr;
 
 import com.example.backend.badge.Badge;
+import com.example.backend.badge.BadgeBackfill;
+import com.example.backend.badge.error.BadgeBackfillError;
+import com.example.backend.badge.error.BadgeGetBackfillError;
 import com.example.backend.badge.error.BadgeGetByIdError;
 import com.example.backend.badge.error.BadgeGetByUserError;
 import com.example.backend.util.ApiResponse;
@@ -61,4 +64,36 @@ public class BadgeController {
             case INVALID_ACCESS_TOKEN -> new ResponseEntity<>(ApiResponse.failed(error.getMessage()), HttpStatus.UNAUTHORIZED);
         };
     }
+
+    @PostMapping("/{id}/backfill")
+    @Operation(summary = "Backfill a badge", description = "Starts or resumes awarding a badge to every existing user that qualifies for it.")
+    public ResponseEntity<ApiResponse<BadgeBackfill>> startBackfill(@CookieValue("accessToken") String accessToken, @PathVariable Integer id) {
+        ServiceResult<BadgeBackfill, BadgeBackfillError> result = badgeService.startBackfill(accessToken, id);
+        if (result.isSuccess()) {
+            return new ResponseEntity<>(ApiResponse.success(result.getData()), HttpStatus.ACCEPTED);
+        }
+
+        BadgeBackfillError error = result.getError();
+        return switch (error) {
+            case INVALID_ACCESS_TOKEN -> new ResponseEntity<>(ApiResponse.failed(error.getMessage()), HttpStatus.UNAUTHORIZED);
+            case INVALID_ID, UNSUPPORTED_CRITERIA_TYPE -> new ResponseEntity<>(ApiResponse.failed(error.getMessage()), HttpStatus.BAD_REQUEST);
+            case BADGE_NOT_FOUND -> new ResponseEntity<>(ApiResponse.failed(error.getMessage()), HttpStatus.NOT_FOUND);
+            case BACKFILL_ALREADY_RUNNING -> new ResponseEntity<>(ApiResponse.failed(error.getMessage()), HttpStatus.CONFLICT);
+        };
+    }
+
+    @GetMapping("/{id}/backfill")
+    @Operation(summary = "Get badge backfill progress", description = "Retrieves the progress of the latest backfill of a badge.")
+    public ResponseEntity<ApiResponse<BadgeBackfill>> getBackfill(@PathVariable Integer id) {
+        ServiceResult<BadgeBackfill, BadgeGetBackfillError> result = badgeService.getBackfill(id);
+        if (result.isSuccess()) {
+            return new ResponseEntity<>(ApiResponse.success(result.getData()), HttpStatus.OK);
+        }
+
+        BadgeGetBackfillError error = result.getError();
+        return switch (error) {
+            case INVALID_ID -> new ResponseEntity<>(ApiResponse.failed(error.getMessage()), HttpStatus.BAD_REQUEST);
+            case BACKFILL_NOT_FOUND -> new ResponseEntity<>(ApiResponse.failed(error.getMessage()), HttpStatus.NOT_FOUND);
+        };
+    }
 }
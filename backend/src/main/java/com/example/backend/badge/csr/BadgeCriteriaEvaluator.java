@@ -0,0 +1,14 @@
+package com.example.backend.badge.csr;
+
+import java.util.Collection;
+import java.util.Map;
+
+// Computes the metric behind one Badge.criteriaType, e.g. the streak for "STREAK".
+// Every implementation is a Spring bean and is picked up by BadgeRuleEngine.
+public interface BadgeCriteriaEvaluator {
+
+    String criteriaType();
+
+    // Metric per person, with a single query for all of them; people missing from the result count as 0
+    Map<Long, Integer> evaluate(Collection<Long> personIds);
+}
@@ -0,0 +1,83 @@
+package com.example.backend.badge.csr;
+
+import com.example.backend.badge.Badge;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+// In-memory copy of the badge definitions, grouped by criteria type and sorted by criteria value, so finding
+// every badge a metric qualifies for is a binary search. Reloaded lazily after any badge row is written.
+@Component
+public class BadgeDefinitions {
+
+    private final BadgeRepository badgeRepository;
+    private volatile Map<String, Thresholds> byType;
+
+    public BadgeDefinitions(BadgeRepository badgeRepository) {
+        this.badgeRepository = badgeRepository;
+    }
+
+    // Badges of the given type whose criteria value is at most `value`, lowest threshold first
+    public List<Badge> earned(String criteriaType, int value) {
+        Thresholds thresholds = load().get(criteriaType);
+        if (thresholds == null) {
+            return List.of();
+        }
+        return Arrays.asList(thresholds.badges).subList(0, thresholds.countAtMost(value));
+    }
+
+    public Set<String> criteriaTypes() {
+        return load().keySet();
+    }
+
+    public synchronized void invalidate() {
+        byType = null;
+    }
+
+    private Map<String, Thresholds> load() {
+        Map<String, Thresholds> current = byType;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (byType == null) {
+                Map<String, List<Badge>> grouped = new HashMap<>();
+                for (Badge badge : badgeRepository.findAll()) {
+                    grouped.computeIfAbsent(badge.getCriteriaType(), type -> new ArrayList<>()).add(badge);
+                }
+                Map<String, Thresholds> loaded = new HashMap<>();
+                grouped.forEach((type, badges) -> loaded.put(type, Thresholds.of(badges)));
+                byType = Map.copyOf(loaded);
+            }
+            return byType;
+        }
+    }
+
+    private record Thresholds(int[] values, Badge[] badges) {
+
+        private static Thresholds of(List<Badge> badges) {
+            Badge[] sorted = badges.toArray(new Badge[0]);
+            Arrays.sort(sorted, Comparator.comparing(Badge::getCriteriaValue).thenComparing(Badge::getId));
+            int[] values = new int[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                values[i] = sorted[i].getCriteriaValue();
+            }
+            return new Thresholds(values, sorted);
+        }
+
+        // Number of thresholds <= value, i.e. the upper bound of value in the sorted array
+        private int countAtMost(int value) {
+            int low = 0;
+            int high = values.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (values[mid] <= value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
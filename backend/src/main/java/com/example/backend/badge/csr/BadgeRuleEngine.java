@@ -0,0 +1,76 @@
+package com.example.backend.badge.csr;
+
+import com.example.backend.badge.Badge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+// Evaluates people against the badge definitions. Each criteria type is backed by one BadgeCriteriaEvaluator,
+// so a batch of people costs one metric query per type, and matching a metric against that type's sorted
+// thresholds is a binary search regardless of how many badges there are.
+@Component
+public class BadgeRuleEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(BadgeRuleEngine.class);
+
+    private final Map<String, BadgeCriteriaEvaluator> evaluators = new HashMap<>();
+    private final BadgeDefinitions badgeDefinitions;
+
+    public BadgeRuleEngine(List<BadgeCriteriaEvaluator> evaluators, BadgeDefinitions badgeDefinitions) {
+        for (BadgeCriteriaEvaluator evaluator : evaluators) {
+            if (this.evaluators.put(evaluator.criteriaType(), evaluator) != null) {
+                throw new IllegalStateException("Duplicate badge criteria evaluator for " + evaluator.criteriaType());
+            }
+        }
+        this.badgeDefinitions = badgeDefinitions;
+    }
+
+    // Compiles the threshold arrays up front instead of on the first award
+    @EventListener(ApplicationReadyEvent.class)
+    public void compile() {
+        for (String criteriaType : badgeDefinitions.criteriaTypes()) {
+            if (!evaluators.containsKey(criteriaType)) {
+                logger.warn("Badges with criteria type {} can never be awarded, no evaluator is registered", criteriaType);
+            }
+        }
+    }
+
+    public Optional<BadgeCriteriaEvaluator> evaluator(String criteriaType) {
+        return Optional.ofNullable(evaluators.get(criteriaType));
+    }
+
+    public Set<String> criteriaTypes() {
+        return Collections.unmodifiableSet(evaluators.keySet());
+    }
+
+    public Map<Long, List<Badge>> earned(Collection<Long> personIds) {
+        return earned(personIds, evaluators.keySet());
+    }
+
+    // Every badge each person qualifies for on the given criteria types; people who earned nothing are absent
+    public Map<Long, List<Badge>> earned(Collection<Long> personIds, Collection<String> criteriaTypes) {
+        Map<Long, List<Badge>> earned = new HashMap<>();
+        if (personIds.isEmpty()) {
+            return earned;
+        }
+        Set<String> defined = badgeDefinitions.criteriaTypes();
+        for (String criteriaType : criteriaTypes) {
+            BadgeCriteriaEvaluator evaluator = evaluators.get(criteriaType);
+            if (evaluator == null || !defined.contains(criteriaType)) {
+                continue;
+            }
+            Map<Long, Integer> metrics = evaluator.evaluate(personIds);
+            for (Long personId : personIds) {
+                List<Badge> badges = badgeDefinitions.earned(criteriaType, metrics.getOrDefault(personId, 0));
+                if (!badges.isEmpty()) {
+                    earned.computeIfAbsent(personId, id -> new ArrayList<>()).addAll(badges);
+                }
+            }
+        }
+        return earned;
+    }
+}
@@ -1,10 +1,12 @@
 package com.example.backend.badge.csr;
 
 import com.example.backend.badge.Badge;
+import com.example.backend.badge.BadgeBackfill;
+import com.example.backend.badge.error.BadgeBackfillError;
+import com.example.backend.badge.error.BadgeGetBackfillError;
 import com.example.backend.badge.error.BadgeGetByIdError;
 import com.example.backend.badge.error.BadgeGetByUserError;
 import com.example.backend.person.Person;
-import com.example.backend.person.csr.PersonService;
 import com.example.backend.util.JWT;
 import com.example.backend.util.ServiceResult;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,49 +19,22 @@ import java.util.Optional;
 public class BadgeService {
 
     private final JWT jwt;
-    private final PersonService personService;
     private final BadgeRepository badgeRepository;
+    private final BadgeBackfillJob badgeBackfillJob;
+    private final BadgeBackfillRepository badgeBackfillRepository;
 
     @Autowired
-    public BadgeService(JWT jwt, PersonService personService, BadgeRepository badgeRepository) {
+    public BadgeService(JWT jwt, BadgeRepository badgeRepository, BadgeBackfillJob badgeBackfillJob, BadgeBackfillRepository badgeBackfillRepository) {
         this.jwt = jwt;
-        this.personService = personService;
         this.badgeRepository = badgeRepository;
+        this.badgeBackfillJob = badgeBackfillJob;
+        this.badgeBackfillRepository = badgeBackfillRepository;
     }
 
     public List<Badge> getBadgesByCriteriaType(String criteriaType) {
         return badgeRepository.findByCriteriaType(criteriaType);
     }
 
-    private Person checkAndAwardStreakBadges(Person person) {
-        List<Badge> streakBadges = getBadgesByCriteriaType("STREAK");
-        for (Badge badge : streakBadges) {
-            if (person.getStreak() >= badge.getCriteriaValue() && !person.getBadges().contains(badge)) {
-                person.getBadges().add(badge);
-            }
-        }
-        return person;
-    }
-
-    private Person checkAndAwardFavoriteBadges(Person person) {
-        List<Badge> favoriteBadges = getBadgesByCriteriaType("FAVORITE");
-        int favoriteCount = person.getFavoriteCourses().size();
-        for (Badge badge : favoriteBadges) {
-            if (favoriteCount >= badge.getCriteriaValue() && !person.getBadges().contains(badge)) {
-                person.getBadges().add(badge);
-            }
-        }
-        return person;
-    }
-
-    // The accessToken must be valid
-    private void updateBadges(String accessToken) {
-        Person person = jwt.getPersonFromToken(accessToken).get();
-        Person streakUpdatedPerson = checkAndAwardStreakBadges(person);
-        Person favouriteUpdatedPerson = checkAndAwardFavoriteBadges(streakUpdatedPerson);
-        personService.save(favouriteUpdatedPerson);
-    }
-
     public ServiceResult<List<Badge>, Void> getAllBadges() {
         List<Badge> badges = badgeRepository.findAll();
         return ServiceResult.success(badges);
@@ -82,8 +57,41 @@ public class BadgeService {
         if (persionOptional.isEmpty()) {
             return ServiceResult.error(BadgeGetByUserError.INVALID_ACCESS_TOKEN);
         }
-        updateBadges(accessToken);
+        // Badges are awarded in the background by BadgeAwarder, so this is a plain read
         Person person = persionOptional.get();
         return ServiceResult.success(person.getBadges());
     }
+
+    public ServiceResult<BadgeBackfill, BadgeBackfillError> startBackfill(String accessToken, Integer id) {
+        if (jwt.getPrincipalFromToken(accessToken).isEmpty()) {
+            return ServiceResult.error(BadgeBackfillError.INVALID_ACCESS_TOKEN);
+        }
+        if (id == null || id <= 0) {
+            return ServiceResult.error(BadgeBackfillError.INVALID_ID);
+        }
+        Optional<Badge> badgeOptional = badgeRepository.findById(id);
+        if (badgeOptional.isEmpty()) {
+            return ServiceResult.error(BadgeBackfillError.BADGE_NOT_FOUND);
+        }
+        Badge badge = badgeOptional.get();
+        if (!badgeBackfillJob.supports(badge)) {
+            return ServiceResult.error(BadgeBackfillError.UNSUPPORTED_CRITERIA_TYPE);
+        }
+        Optional<BadgeBackfill> backfillOptional = badgeBackfillJob.start(badge);
+        if (backfillOptional.isEmpty()) {
+            return ServiceResult.error(BadgeBackfillError.BACKFILL_ALREADY_RUNNING);
+        }
+        return ServiceResult.success(backfillOptional.get());
+    }
+
+    public ServiceResult<BadgeBackfill, BadgeGetBackfillError> getBackfill(Integer id) {
+        if (id == null || id <= 0) {
+            return ServiceResult.error(BadgeGetBackfillError.INVALID_ID);
+        }
+        Optional<BadgeBackfill> backfillOptional = badgeBackfillRepository.findByBadgeId(id);
+        if (backfillOptional.isEmpty()) {
+            return ServiceResult.error(BadgeGetBackfillError.BACKFILL_NOT_FOUND);
+        }
+        return ServiceResult.success(backfillOptional.get());
+    }
 }
@@ -0,0 +1,29 @@
+package com.example.backend.badge.csr;
+
+import com.example.backend.badge.BadgeMetric;
+import com.example.backend.comment.csr.CommentRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+
+// Number of comments posted
+@Component
+public class CommentsBadgeCriteria implements BadgeCriteriaEvaluator {
+
+    private final CommentRepository commentRepository;
+
+    public CommentsBadgeCriteria(CommentRepository commentRepository) {
+        this.commentRepository = commentRepository;
+    }
+
+    @Override
+    public String criteriaType() {
+        return "COMMENTS";
+    }
+
+    @Override
+    public Map<Long, Integer> evaluate(Collection<Long> personIds) {
+        return BadgeMetric.toMap(commentRepository.findCommentCountMetrics(personIds));
+    }
+}
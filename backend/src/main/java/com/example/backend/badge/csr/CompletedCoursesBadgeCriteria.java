@@ -0,0 +1,29 @@
+package com.example.backend.badge.csr;
+
+import com.example.backend.badge.BadgeMetric;
+import com.example.backend.enrollment.csr.EnrollmentRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+
+// Number of completed enrollments
+@Component
+public class CompletedCoursesBadgeCriteria implements BadgeCriteriaEvaluator {
+
+    private final EnrollmentRepository enrollmentRepository;
+
+    public CompletedCoursesBadgeCriteria(EnrollmentRepository enrollmentRepository) {
+        this.enrollmentRepository = enrollmentRepository;
+    }
+
+    @Override
+    public String criteriaType() {
+        return "COMPLETED_COURSES";
+    }
+
+    @Override
+    public Map<Long, Integer> evaluate(Collection<Long> personIds) {
+        return BadgeMetric.toMap(enrollmentRepository.findCompletedCourseMetrics(personIds));
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.backend.badge.csr;
+
+import com.example.backend.badge.BadgeMetric;
+import com.example.backend.person.csr.PersonRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+
+// Number of favourite courses
+@Component
+public class FavoriteBadgeCriteria implements BadgeCriteriaEvaluator {
+
+    private final PersonRepository personRepository;
+
+    public FavoriteBadgeCriteria(PersonRepository personRepository) {
+        this.personRepository = personRepository;
+    }
+
+    @Override
+    public String criteriaType() {
+        return "FAVORITE";
+    }
+
+    @Override
+    public Map<Long, Integer> evaluate(Collection<Long> personIds) {
+        return BadgeMetric.toMap(personRepository.findFavoriteCountMetrics(personIds));
+    }
+}
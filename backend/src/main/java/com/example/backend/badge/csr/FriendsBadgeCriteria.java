@@ -0,0 +1,36 @@
+package com.example.backend.badge.csr;
+
+import com.example.backend.friend.csr.FriendGraph;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+// Number of friends, read from the in-memory friend graph
+@Component
+public class FriendsBadgeCriteria implements BadgeCriteriaEvaluator {
+
+    private final FriendGraph friendGraph;
+
+    public FriendsBadgeCriteria(FriendGraph friendGraph) {
+        this.friendGraph = friendGraph;
+    }
+
+    @Override
+    public String criteriaType() {
+        return "FRIENDS";
+    }
+
+    @Override
+    public Map<Long, Integer> evaluate(Collection<Long> personIds) {
+        Map<Long, Integer> metrics = new HashMap<>();
+        for (Long personId : personIds) {
+            int degree = friendGraph.degree(personId);
+            if (degree > 0) {
+                metrics.put(personId, degree);
+            }
+        }
+        return metrics;
+    }
+}
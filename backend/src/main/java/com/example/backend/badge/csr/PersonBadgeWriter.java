@@ -0,0 +1,88 @@
+package com.example.backend.badge.csr;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.BatchUpdateException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+// Inserts person_badges rows for the awarder and the backfill job. The table has a unique key on
+// (person_id, badge_id), so when two writers race for the same award the slower one skips the row
+// instead of adding a duplicate. Rows for people deleted in the meantime are skipped the same way.
+@Component
+public class PersonBadgeWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO person_badges (person_id, badge_id) VALUES (?, ?)";
+    // SQLSTATE class of unique, foreign key and other integrity constraint violations
+    private static final String INTEGRITY_CONSTRAINT_VIOLATION = "23";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PersonBadgeWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Each row is {personId, badgeId}. Returns the number of rows inserted
+    public int insert(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        Integer inserted = jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+                for (Object[] row : rows) {
+                    statement.setObject(1, row[0]);
+                    statement.setObject(2, row[1]);
+                    statement.addBatch();
+                }
+                try {
+                    statement.executeBatch();
+                    return rows.size();
+                } catch (BatchUpdateException e) {
+                    if (!isConstraintViolation(e)) {
+                        throw e;
+                    }
+                    // Drivers either stop at the failing row or carry on and mark it, retry whatever did not go in
+                    int[] counts = e.getUpdateCounts();
+                    int count = 0;
+                    for (int i = 0; i < rows.size(); i++) {
+                        if (i < counts.length && counts[i] != Statement.EXECUTE_FAILED) {
+                            count++;
+                        } else {
+                            count += insertIfAbsent(statement, rows.get(i));
+                        }
+                    }
+                    return count;
+                }
+            }
+        });
+        return inserted == null ? 0 : inserted;
+    }
+
+    private static int insertIfAbsent(PreparedStatement statement, Object[] row) throws SQLException {
+        statement.clearBatch();
+        statement.setObject(1, row[0]);
+        statement.setObject(2, row[1]);
+        try {
+            return statement.executeUpdate();
+        } catch (SQLException e) {
+            if (isConstraintViolation(e)) {
+                return 0;
+            }
+            throw e;
+        }
+    }
+
+    private static boolean isConstraintViolation(SQLException e) {
+        for (SQLException current = e; current != null; current = current.getNextException()) {
+            String state = current.getSQLState();
+            if (state != null && state.startsWith(INTEGRITY_CONSTRAINT_VIOLATION)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.backend.badge.csr;
+
+import com.example.backend.badge.BadgeMetric;
+import com.example.backend.person.csr.PersonRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+
+// Current login streak
+@Component
+public class StreakBadgeCriteria implements BadgeCriteriaEvaluator {
+
+    private final PersonRepository personRepository;
+
+    public StreakBadgeCriteria(PersonRepository personRepository) {
+        this.personRepository = personRepository;
+    }
+
+    @Override
+    public String criteriaType() {
+        return "STREAK";
+    }
+
+    @Override
+    public Map<Long, Integer> evaluate(Collection<Long> personIds) {
+        return BadgeMetric.toMap(personRepository.findStreakMetrics(personIds));
+    }
+}
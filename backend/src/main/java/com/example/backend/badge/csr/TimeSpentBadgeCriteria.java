@@ -0,0 +1,29 @@
+package com.example.backend.badge.csr;
+
+import com.example.backend.badge.BadgeMetric;
+import com.example.backend.enrollment.csr.EnrollmentRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+
+// Total time spent over all enrollments
+@Component
+public class TimeSpentBadgeCriteria implements BadgeCriteriaEvaluator {
+
+    private final EnrollmentRepository enrollmentRepository;
+
+    public TimeSpentBadgeCriteria(EnrollmentRepository enrollmentRepository) {
+        this.enrollmentRepository = enrollmentRepository;
+    }
+
+    @Override
+    public String criteriaType() {
+        return "TIME_SPENT";
+    }
+
+    @Override
+    public Map<Long, Integer> evaluate(Collection<Long> personIds) {
+        return BadgeMetric.toMap(enrollmentRepository.findTimeSpentMetrics(personIds));
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.backend.badge.error;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum BadgeBackfillError {
+    INVALID_ACCESS_TOKEN("Invalid access token"),
+    INVALID_ID("Invalid badge ID"),
+    BADGE_NOT_FOUND("Badge not found"),
+    UNSUPPORTED_CRITERIA_TYPE("Badge criteria type cannot be evaluated"),
+    BACKFILL_ALREADY_RUNNING("Backfill is already running for this badge");
+
+    private final String message;
+}
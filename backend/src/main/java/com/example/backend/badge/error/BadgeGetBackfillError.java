@@ -0,0 +1,13 @@
+package com.example.backend.badge.error;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum BadgeGetBackfillError {
+    INVALID_ID("Invalid badge ID"),
+    BACKFILL_NOT_FOUND("No backfill found for this badge");
+
+    private final String message;
+}
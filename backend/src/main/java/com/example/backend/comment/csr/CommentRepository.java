@@ -1,12 +1,19 @@
 package com.example.backend.comment.csr;
 
+import com.example.backend.badge.BadgeMetric;
 import com.example.backend.comment.Comment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Integer> {
     List<Comment> findByCourseId(Integer courseId);
-}
\ No newline at end of file
+
+    @Query("SELECT c.person.id AS personId, COUNT(c) AS metric FROM Comment c WHERE c.person.id IN :personIds GROUP BY c.person.id")
+    List<BadgeMetric> findCommentCountMetrics(@Param("personIds") Collection<Long> personIds);
+}
@@ -1,5 +1,6 @@
 package com.example.backend.comment.csr;
 
+import com.example.backend.badge.BadgeTriggerEvent;
 import com.example.backend.comment.Comment;
 import com.example.backend.comment.CommentDTO;
 import com.example.backend.comment.error.CommentCreateError;
@@ -9,6 +10,7 @@ import com.example.backend.course.csr.CourseRepository;
 import com.example.backend.person.Person;
 import com.example.backend.util.JWT;
 import com.example.backend.util.ServiceResult;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
@@ -20,11 +22,13 @@ public class CommentService {
     private final CommentRepository commentRepository;
     private final CourseRepository courseRepository;
     private final JWT jwt;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public CommentService(CommentRepository commentRepository, CourseRepository courseRepository, JWT jwt) {
+    public CommentService(CommentRepository commentRepository, CourseRepository courseRepository, JWT jwt, ApplicationEventPublisher eventPublisher) {
         this.commentRepository = commentRepository;
         this.courseRepository = courseRepository;
         this.jwt = jwt;
+        this.eventPublisher = eventPublisher;
     }
 
     public ServiceResult<List<Comment>, CommentGetByCourseError> getCommentsByCourseId(Integer courseId) {
@@ -84,6 +88,7 @@ public class CommentService {
             Course course = courseOptional.get();
             Comment comment = new Comment(commentDTO.getContent(), person, course);
             Comment savedComment = commentRepository.save(comment);
+            eventPublisher.publishEvent(new BadgeTriggerEvent(person.getId(), "COMMENTS"));
             return ServiceResult.success(savedComment);
         } catch (Exception e) {
             return ServiceResult.error(CommentCreateError.COMMENT_CREATION_FAILED);
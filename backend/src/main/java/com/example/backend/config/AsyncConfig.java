@@ -0,0 +1,53 @@
+package com.example.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    // Background badge evaluation. When the queue is full the publishing request thread evaluates the event
+    // itself, which slows that request down instead of dropping the award.
+    @Bean
+    public ThreadPoolTaskExecutor badgeExecutor(@Value("${badges.executor.threads:2}") int threads,
+                                                @Value("${badges.executor.queue-capacity:10000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("badge-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    // Badge backfills, see BadgeBackfillJob
+    @Bean
+    public ThreadPoolTaskExecutor backfillExecutor(@Value("${badges.backfill.threads:1}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("backfill-");
+        return executor;
+    }
+
+    // Password hashing, see PasswordHasher. Unlike the badge pool a full queue rejects the task,
+    // so saturated signups and logins fail fast with 503 instead of running BCrypt on request threads.
+    @Bean
+    public ThreadPoolTaskExecutor passwordExecutor(@Value("${auth.password.threads:2}") int threads,
+                                                   @Value("${auth.password.queue-capacity:50}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.backend.config;
+
+import com.example.backend.auth.csr.LoginRateLimiter;
+import com.example.backend.course.csr.CourseCatalog;
+import com.example.backend.friend.csr.FriendGraph;
+import com.example.backend.friend.csr.FriendSuggester;
+import com.example.backend.util.PasswordHasher;
+import com.example.backend.util.TokenCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder tokenCacheMetrics(TokenCache tokenCache) {
+        return registry -> {
+            FunctionCounter.builder("jwt.token.cache.hits", tokenCache, TokenCache::getHits)
+                    .description("Access tokens resolved from the cache")
+                    .register(registry);
+            FunctionCounter.builder("jwt.token.cache.misses", tokenCache, TokenCache::getMisses)
+                    .description("Access tokens that had to be parsed and verified")
+                    .register(registry);
+            FunctionCounter.builder("jwt.token.cache.evictions", tokenCache, TokenCache::getEvictions)
+                    .description("Cached tokens dropped for size or expiry")
+                    .register(registry);
+            Gauge.builder("jwt.token.cache.size", tokenCache, TokenCache::size)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder courseCatalogMetrics(CourseCatalog courseCatalog) {
+        return registry -> {
+            FunctionCounter.builder("courses.catalog.hits", courseCatalog, CourseCatalog::getHits)
+                    .description("Catalog reads served from memory")
+                    .register(registry);
+            FunctionCounter.builder("courses.catalog.misses", courseCatalog, CourseCatalog::getMisses)
+                    .description("Catalog reads that loaded the courses from the database")
+                    .register(registry);
+            Gauge.builder("courses.catalog.hit.ratio", courseCatalog, CourseCatalog::getHitRatio)
+                    .register(registry);
+            FunctionCounter.builder("courses.catalog.not.modified", courseCatalog, CourseCatalog::getNotModified)
+                    .description("GET /courses requests answered with 304")
+                    .register(registry);
+            FunctionCounter.builder("courses.catalog.bytes.saved", courseCatalog, CourseCatalog::getBytesSaved)
+                    .description("Catalog payload bytes not sent thanks to 304 responses")
+                    .baseUnit("bytes")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder passwordHasherMetrics(PasswordHasher passwordHasher) {
+        return registry -> {
+            FunctionTimer.builder("auth.password.hash", passwordHasher, PasswordHasher::getHashes, PasswordHasher::getHashSeconds, TimeUnit.SECONDS)
+                    .description("BCrypt hashes computed on the password pool")
+                    .register(registry);
+            FunctionTimer.builder("auth.password.verify", passwordHasher, PasswordHasher::getVerifications, PasswordHasher::getVerifySeconds, TimeUnit.SECONDS)
+                    .description("BCrypt verifications computed on the password pool")
+                    .register(registry);
+            FunctionCounter.builder("auth.password.rejected", passwordHasher, PasswordHasher::getRejections)
+                    .description("Hashing requests rejected with 503 because the pool was saturated")
+                    .register(registry);
+            Gauge.builder("auth.password.queue.size", passwordHasher, PasswordHasher::getQueueSize)
+                    .register(registry);
+            Gauge.builder("auth.password.active", passwordHasher, PasswordHasher::getActiveCount)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder loginRateLimiterMetrics(LoginRateLimiter loginRateLimiter) {
+        return registry -> {
+            FunctionCounter.builder("auth.login.limited", loginRateLimiter, LoginRateLimiter::getLimited)
+                    .description("Login attempts answered with 429 before any password check")
+                    .register(registry);
+            FunctionCounter.builder("auth.login.limiter.overflows", loginRateLimiter, LoginRateLimiter::getOverflows)
+                    .description("Limiter buckets evicted early to make room because the limiter was full")
+                    .register(registry);
+            Gauge.builder("auth.login.limiter.entries", loginRateLimiter, LoginRateLimiter::size)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder friendGraphMetrics(FriendGraph friendGraph) {
+        return registry -> Gauge.builder("friends.graph.edges", friendGraph, FriendGraph::edgeCount)
+                .description("Friendships held in the in-memory friend graph")
+                .register(registry);
+    }
+
+    @Bean
+    public MeterBinder friendSuggesterMetrics(FriendSuggester friendSuggester) {
+        return registry -> {
+            FunctionCounter.builder("friends.suggestions.cache.hits", friendSuggester, FriendSuggester::getHits)
+                    .description("Suggestion requests served from a cached ranking")
+                    .register(registry);
+            FunctionCounter.builder("friends.suggestions.cache.misses", friendSuggester, FriendSuggester::getMisses)
+                    .description("Suggestion requests that walked the friend graph")
+                    .register(registry);
+            Gauge.builder("friends.suggestions.cache.size", friendSuggester, FriendSuggester::size)
+                    .register(registry);
+        };
+    }
+}
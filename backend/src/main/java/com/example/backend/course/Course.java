@@ -1,5 +1,6 @@
 package com.example.backend.course;
 
+import com.example.backend.course.csr.CourseChangeListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -7,11 +8,13 @@ import lombok.NoArgsConstructor;
 
 @Data
 @Entity
+@EntityListeners(CourseChangeListener.class)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Course {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "course_seq")
+    @SequenceGenerator(name = "course_seq", sequenceName = "course_seq", allocationSize = 50)
     private Integer id;
 
     @Column(unique = true, nullable = false)
@@ -0,0 +1,23 @@
+package com.example.backend.course;
+
+import lombok.Value;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Value
+public class CourseCatalogSnapshot {
+    List<CourseSnapshot> courses;
+    Map<Integer, CourseSnapshot> byId;
+    long lastModified;
+    String etag;
+
+    public static CourseCatalogSnapshot of(List<CourseSnapshot> courses, long lastModified, String etag) {
+        Map<Integer, CourseSnapshot> byId = new LinkedHashMap<>();
+        for (CourseSnapshot course : courses) {
+            byId.put(course.getId(), course);
+        }
+        return new CourseCatalogSnapshot(List.copyOf(courses), Map.copyOf(byId), lastModified, etag);
+    }
+}
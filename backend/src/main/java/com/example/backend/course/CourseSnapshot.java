@@ -0,0 +1,24 @@
+package com.example.backend.course;
+
+import lombok.Value;
+
+// Immutable copy of a course row, safe to share between requests
+@Value
+public class CourseSnapshot {
+    Integer id;
+    String title;
+    String description;
+    String link;
+    Integer estimatedDuration;
+    Integer difficulty;
+    Integer views;
+
+    public static CourseSnapshot of(Course course) {
+        return new CourseSnapshot(course.getId(), course.getTitle(), course.getDescription(), course.getLink(),
+                course.getEstimatedDuration(), course.getDifficulty(), course.getViews());
+    }
+
+    public CourseSnapshot withViews(Integer views) {
+        return new CourseSnapshot(id, title, description, link, estimatedDuration, difficulty, views);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.backend.course;
+
+import lombok.Value;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// List view of a course, without the description
+@Value
+public class CourseSummaryDTO {
+    public static final List<String> FIELDS = List.of("id", "title", "link", "estimatedDuration", "difficulty", "views");
+
+    Integer id;
+    String title;
+    String link;
+    Integer estimatedDuration;
+    Integer difficulty;
+    Integer views;
+
+    public CourseSummaryDTO withViews(Integer views) {
+        return new CourseSummaryDTO(id, title, link, estimatedDuration, difficulty, views);
+    }
+
+    // Only the requested fields, in declaration order
+    public Map<String, Object> select(Set<String> fields) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("id", id);
+        values.put("title", title);
+        values.put("link", link);
+        values.put("estimatedDuration", estimatedDuration);
+        values.put("difficulty", difficulty);
+        values.put("views", views);
+        values.keySet().retainAll(fields);
+        return values;
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.backend.course.csr;
+
+import java.util.Arrays;
+
+// Immutable "learners who took X also took Y" counts in compressed sparse row form.
+// Courses and people are mapped to dense indexes so every structure is a flat int array; row i holds the
+// neighbours of course i ordered by co-occurrence count, capped at maxNeighbours.
+public final class CoOccurrenceMatrix {
+
+    public static final CoOccurrenceMatrix EMPTY = build(new long[0], new int[0], 0, 0);
+
+    private final int[] courseIds;
+    private final int[] support;
+    private final int[] rowOffsets;
+    private final int[] neighbours;
+    private final int[] counts;
+
+    private final long[] personIds;
+    private final int[] personOffsets;
+    private final int[] personCourses;
+
+    private CoOccurrenceMatrix(int[] courseIds, int[] support, int[] rowOffsets, int[] neighbours, int[] counts,
+                               long[] personIds, int[] personOffsets, int[] personCourses) {
+        this.courseIds = courseIds;
+        this.support = support;
+        this.rowOffsets = rowOffsets;
+        this.neighbours = neighbours;
+        this.counts = counts;
+        this.personIds = personIds;
+        this.personOffsets = personOffsets;
+        this.personCourses = personCourses;
+    }
+
+    // Builds the matrix from the first `length` (person, course) pairs; duplicate pairs are counted once
+    public static CoOccurrenceMatrix build(long[] pairPersonIds, int[] pairCourseIds, int length, int maxNeighbours) {
+        long[] persons = distinct(Arrays.copyOf(pairPersonIds, length));
+        int[] courses = distinct(Arrays.copyOf(pairCourseIds, length));
+
+        // Person -> courses, sorted and de-duplicated per person
+        int[] personOffsets = new int[persons.length + 1];
+        int[] pairPersons = new int[length];
+        for (int i = 0; i < length; i++) {
+            pairPersons[i] = Arrays.binarySearch(persons, pairPersonIds[i]);
+            personOffsets[pairPersons[i] + 1]++;
+        }
+        for (int p = 0; p < persons.length; p++) {
+            personOffsets[p + 1] += personOffsets[p];
+        }
+        int[] personCourses = new int[length];
+        int[] cursor = Arrays.copyOf(personOffsets, persons.length);
+        for (int i = 0; i < length; i++) {
+            personCourses[cursor[pairPersons[i]]++] = Arrays.binarySearch(courses, pairCourseIds[i]);
+        }
+        int written = 0;
+        for (int p = 0; p < persons.length; p++) {
+            int start = personOffsets[p];
+            int end = personOffsets[p + 1];
+            Arrays.sort(personCourses, start, end);
+            personOffsets[p] = written;
+            for (int k = start; k < end; k++) {
+                if (k == start || personCourses[k] != personCourses[k - 1]) {
+                    personCourses[written++] = personCourses[k];
+                }
+            }
+        }
+        personOffsets[persons.length] = written;
+        personCourses = Arrays.copyOf(personCourses, written);
+
+        // Course -> people, the transpose of the above
+        int[] support = new int[courses.length];
+        for (int course : personCourses) {
+            support[course]++;
+        }
+        int[] courseOffsets = new int[courses.length + 1];
+        for (int c = 0; c < courses.length; c++) {
+            courseOffsets[c + 1] = courseOffsets[c] + support[c];
+        }
+        int[] coursePersons = new int[written];
+        cursor = Arrays.copyOf(courseOffsets, courses.length);
+        for (int p = 0; p < persons.length; p++) {
+            for (int k = personOffsets[p]; k < personOffsets[p + 1]; k++) {
+                coursePersons[cursor[personCourses[k]]++] = p;
+            }
+        }
+
+        // One row at a time with a dense accumulator, touching only the courses that actually co-occur
+        int[] rowOffsets = new int[courses.length + 1];
+        int[] neighbours = new int[Math.max(16, written)];
+        int[] counts = new int[neighbours.length];
+        int[] accumulator = new int[courses.length];
+        int[] touched = new int[courses.length];
+        long[] row = new long[courses.length];
+        int nonZero = 0;
+        for (int c = 0; c < courses.length; c++) {
+            int touchedCount = 0;
+            for (int k = courseOffsets[c]; k < courseOffsets[c + 1]; k++) {
+                int p = coursePersons[k];
+                for (int j = personOffsets[p]; j < personOffsets[p + 1]; j++) {
+                    int other = personCourses[j];
+                    if (other != c && accumulator[other]++ == 0) {
+                        touched[touchedCount++] = other;
+                    }
+                }
+            }
+
+            // Highest count first, ties by course index; packed so a single primitive sort orders the row
+            for (int t = 0; t < touchedCount; t++) {
+                int other = touched[t];
+                row[t] = ((long) (Integer.MAX_VALUE - accumulator[other]) << 32) | other;
+                accumulator[other] = 0;
+            }
+            Arrays.sort(row, 0, touchedCount);
+            int kept = maxNeighbours > 0 ? Math.min(touchedCount, maxNeighbours) : touchedCount;
+            if (nonZero + kept > neighbours.length) {
+                int capacity = Math.max(neighbours.length * 2, nonZero + kept);
+                neighbours = Arrays.copyOf(neighbours, capacity);
+                counts = Arrays.copyOf(counts, capacity);
+            }
+            for (int t = 0; t < kept; t++) {
+                neighbours[nonZero] = (int) row[t];
+                counts[nonZero] = Integer.MAX_VALUE - (int) (row[t] >>> 32);
+                nonZero++;
+            }
+            rowOffsets[c + 1] = nonZero;
+        }
+
+        return new CoOccurrenceMatrix(courses, support, rowOffsets, Arrays.copyOf(neighbours, nonZero),
+                Arrays.copyOf(counts, nonZero), persons, personOffsets, personCourses);
+    }
+
+    public int courseCount() {
+        return courseIds.length;
+    }
+
+    public int personCount() {
+        return personIds.length;
+    }
+
+    public int nonZeroCount() {
+        return neighbours.length;
+    }
+
+    // Number of learners who favourited or enrolled in the course
+    public int support(int courseId) {
+        int index = Arrays.binarySearch(courseIds, courseId);
+        return index < 0 ? 0 : support[index];
+    }
+
+    public int count(int courseId, int otherCourseId) {
+        int index = Arrays.binarySearch(courseIds, courseId);
+        if (index < 0) {
+            return 0;
+        }
+        for (int k = rowOffsets[index]; k < rowOffsets[index + 1]; k++) {
+            if (courseIds[neighbours[k]] == otherCourseId) {
+                return counts[k];
+            }
+        }
+        return 0;
+    }
+
+    public boolean contains(long personId, int courseId) {
+        int person = Arrays.binarySearch(personIds, personId);
+        int course = Arrays.binarySearch(courseIds, courseId);
+        return person >= 0 && course >= 0
+                && Arrays.binarySearch(personCourses, personOffsets[person], personOffsets[person + 1], course) >= 0;
+    }
+
+    public void forEachCourseOf(long personId, CourseConsumer consumer) {
+        int person = Arrays.binarySearch(personIds, personId);
+        if (person < 0) {
+            return;
+        }
+        for (int k = personOffsets[person]; k < personOffsets[person + 1]; k++) {
+            consumer.accept(courseIds[personCourses[k]]);
+        }
+    }
+
+    public void forEachNeighbour(int courseId, NeighbourConsumer consumer) {
+        int index = Arrays.binarySearch(courseIds, courseId);
+        if (index < 0) {
+            return;
+        }
+        for (int k = rowOffsets[index]; k < rowOffsets[index + 1]; k++) {
+            int neighbour = neighbours[k];
+            consumer.accept(courseIds[neighbour], counts[k], support[neighbour]);
+        }
+    }
+
+    private static long[] distinct(long[] values) {
+        Arrays.sort(values);
+        int size = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (i == 0 || values[i] != values[i - 1]) {
+                values[size++] = values[i];
+            }
+        }
+        return Arrays.copyOf(values, size);
+    }
+
+    private static int[] distinct(int[] values) {
+        Arrays.sort(values);
+        int size = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (i == 0 || values[i] != values[i - 1]) {
+                values[size++] = values[i];
+            }
+        }
+        return Arrays.copyOf(values, size);
+    }
+
+    @FunctionalInterface
+    public interface CourseConsumer {
+        void accept(int courseId);
+    }
+
+    @FunctionalInterface
+    public interface NeighbourConsumer {
+        void accept(int courseId, int count, int support);
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.backend.course.csr;
+
+import com.example.backend.course.CourseCatalogSnapshot;
+import com.example.backend.course.CourseSnapshot;
+import com.example.backend.course.CourseSummaryDTO;
+import com.example.backend.util.ApiResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+// Read-through cache of the whole course catalog as immutable snapshots, plus the description-less summaries.
+// Loaded on first use, dropped when a course is written and patched in place when view counts are flushed.
+// The ETag is weak and view patches keep it, so flushed views alone never turn a conditional GET into a 200.
+@Component
+public class CourseCatalog {
+
+    private final CourseRepository courseRepository;
+    private final ObjectMapper objectMapper;
+
+    private volatile CourseCatalogSnapshot current;
+    private volatile List<CourseSummaryDTO> summaries;
+    private long version = 0;
+    // Numbers every load from the database, so a flush can tell which copies already saw its update
+    private long loads = 0;
+    private long currentLoad;
+    private long summariesLoad;
+
+    private String payloadSizeEtag;
+    private long payloadSize;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder bytesSaved = new LongAdder();
+
+    public CourseCatalog(CourseRepository courseRepository, ObjectMapper objectMapper) {
+        this.courseRepository = courseRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    public CourseCatalogSnapshot get() {
+        CourseCatalogSnapshot snapshot = current;
+        if (snapshot != null) {
+            hits.increment();
+            return snapshot;
+        }
+        return load();
+    }
+
+    public List<CourseSnapshot> findAll() {
+        return get().getCourses();
+    }
+
+    // Loaded with a projection query, so it does not require the full catalog
+    public List<CourseSummaryDTO> getSummaries() {
+        List<CourseSummaryDTO> loaded = summaries;
+        if (loaded != null) {
+            hits.increment();
+            return loaded;
+        }
+        return loadSummaries();
+    }
+
+    public Optional<CourseSnapshot> findById(Integer id) {
+        return Optional.ofNullable(get().getById().get(id));
+    }
+
+    public boolean contains(Integer id) {
+        return get().getById().containsKey(id);
+    }
+
+    public synchronized void invalidate() {
+        current = null;
+        summaries = null;
+    }
+
+    // Taken before view counts are written. Synchronized, so a load still running finishes its query first
+    public synchronized long loadSequence() {
+        return loads;
+    }
+
+    // Applies flushed view deltas without reloading the catalog from the database. Copies loaded after
+    // loadSequence was taken may already include the deltas and are left alone
+    public synchronized void addViews(Map<Integer, Long> deltas, long loadSequence) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        if (summaries != null && summariesLoad <= loadSequence) {
+            summaries = summaries.stream()
+                    .map(summary -> {
+                        Long delta = deltas.get(summary.getId());
+                        return delta == null ? summary : summary.withViews(summary.getViews() + delta.intValue());
+                    })
+                    .toList();
+        }
+        if (current == null || currentLoad > loadSequence) {
+            return;
+        }
+        List<CourseSnapshot> courses = current.getCourses().stream()
+                .map(course -> {
+                    Long delta = deltas.get(course.getId());
+                    return delta == null ? course : course.withViews(course.getViews() + delta.intValue());
+                })
+                .toList();
+        current = CourseCatalogSnapshot.of(courses, current.getLastModified(), current.getEtag());
+    }
+
+    // A conditional GET was answered with 304, so the catalog payload did not have to be sent
+    public void recordNotModified(CourseCatalogSnapshot snapshot) {
+        notModified.increment();
+        bytesSaved.add(payloadSize(snapshot));
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public double getHitRatio() {
+        long hits = getHits();
+        long total = hits + getMisses();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    public long getNotModified() {
+        return notModified.sum();
+    }
+
+    public long getBytesSaved() {
+        return bytesSaved.sum();
+    }
+
+    private synchronized CourseCatalogSnapshot load() {
+        if (current != null) {
+            hits.increment();
+            return current;
+        }
+        misses.increment();
+        currentLoad = ++loads;
+        current = build(courseRepository.findAll().stream().map(CourseSnapshot::of).toList());
+        return current;
+    }
+
+    private synchronized List<CourseSummaryDTO> loadSummaries() {
+        if (summaries != null) {
+            hits.increment();
+            return summaries;
+        }
+        misses.increment();
+        summariesLoad = ++loads;
+        summaries = List.copyOf(courseRepository.findAllSummaries());
+        return summaries;
+    }
+
+    private CourseCatalogSnapshot build(List<CourseSnapshot> courses) {
+        long lastModified = System.currentTimeMillis();
+        version++;
+        String etag = "W/\"" + Long.toHexString(lastModified) + "-" + version + "\"";
+        return CourseCatalogSnapshot.of(courses, lastModified, etag);
+    }
+
+    private synchronized long payloadSize(CourseCatalogSnapshot snapshot) {
+        if (!snapshot.getEtag().equals(payloadSizeEtag)) {
+            try {
+                payloadSize = objectMapper.writeValueAsBytes(ApiResponse.success(snapshot.getCourses())).length;
+            } catch (JsonProcessingException e) {
+                payloadSize = 0;
+            }
+            payloadSizeEtag = snapshot.getEtag();
+        }
+        return payloadSize;
+    }
+}
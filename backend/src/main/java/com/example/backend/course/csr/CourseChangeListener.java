@@ -0,0 +1,44 @@
+package com.example.backend.course.csr;
+
+import com.example.backend.course.Course;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// JPA entity listener on Course, so every write through JPA drops the catalog snapshot, not only course creation.
+// Invalidates again after commit, so a reload racing with the write cannot keep the uncommitted state.
+// The catalog is looked up per call because Hibernate creates the listener while the entity manager factory is built.
+public class CourseChangeListener {
+
+    private final ObjectProvider<CourseCatalog> courseCatalogProvider;
+    private final ObjectProvider<TrendingCourseEngine> trendingCourseEngineProvider;
+
+    public CourseChangeListener(ObjectProvider<CourseCatalog> courseCatalogProvider,
+                                ObjectProvider<TrendingCourseEngine> trendingCourseEngineProvider) {
+        this.courseCatalogProvider = courseCatalogProvider;
+        this.trendingCourseEngineProvider = trendingCourseEngineProvider;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void courseChanged(Course course) {
+        invalidate();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate();
+                }
+            });
+        }
+    }
+
+    private void invalidate() {
+        courseCatalogProvider.getObject().invalidate();
+        trendingCourseEngineProvider.getObject().catalogChanged();
+    }
+}
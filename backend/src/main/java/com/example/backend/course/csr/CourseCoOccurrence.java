@@ -0,0 +1,194 @@
+package com.example.backend.course.csr;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.LongSupplier;
+
+// Item-to-item collaborative filtering signal built from favourites and enrollments.
+// A background job periodically rebuilds an immutable CoOccurrenceMatrix from the database; new enrollments
+// and favourites are folded into a small overlay in the meantime, so they count immediately without a rebuild.
+// Removed favourites only drop out on the next rebuild.
+// A write may commit after the rebuild query took its snapshot even though it was recorded earlier, so every
+// rebuild replays what was recorded within the replay window before it started, not only what arrived while it ran.
+@Component
+public class CourseCoOccurrence {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseCoOccurrence.class);
+    private static final String PAIRS_SQL = "SELECT person_id, course_id FROM person_favorite_courses "
+            + "UNION SELECT person_id, course_id FROM enrollment";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxNeighbours;
+    private final long replayWindowMillis;
+    private final LongSupplier clock;
+
+    private CoOccurrenceMatrix matrix = CoOccurrenceMatrix.EMPTY;
+    private final Map<Long, Set<Integer>> addedCourses = new HashMap<>();
+    private final Map<Integer, Map<Integer, Integer>> addedCounts = new HashMap<>();
+    private final Map<Integer, Integer> addedSupport = new HashMap<>();
+    // Recorded pairs in arrival order, kept for the replay window
+    private final Deque<Recorded> recent = new ArrayDeque<>();
+    private boolean rebuilding = false;
+    private long rebuildStartedAt;
+
+    @Autowired
+    public CourseCoOccurrence(JdbcTemplate jdbcTemplate,
+                              @Value("${courses.cooccurrence.max-neighbours:100}") int maxNeighbours,
+                              @Value("${courses.cooccurrence.replay-window-ms:60000}") long replayWindowMillis) {
+        this(jdbcTemplate, maxNeighbours, replayWindowMillis, System::currentTimeMillis);
+    }
+
+    CourseCoOccurrence(JdbcTemplate jdbcTemplate, int maxNeighbours, long replayWindowMillis, LongSupplier clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxNeighbours = maxNeighbours;
+        this.replayWindowMillis = replayWindowMillis;
+        this.clock = clock;
+    }
+
+    @Scheduled(fixedDelayString = "${courses.cooccurrence.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        long startedAt;
+        synchronized (this) {
+            if (rebuilding) {
+                return;
+            }
+            rebuilding = true;
+            startedAt = clock.getAsLong();
+            rebuildStartedAt = startedAt;
+        }
+
+        CoOccurrenceMatrix rebuilt = null;
+        try {
+            long start = System.nanoTime();
+            PairBuffer pairs = new PairBuffer();
+            jdbcTemplate.query(PAIRS_SQL, resultSet -> {
+                pairs.add(resultSet.getLong(1), resultSet.getInt(2));
+            });
+            rebuilt = CoOccurrenceMatrix.build(pairs.personIds, pairs.courseIds, pairs.size, maxNeighbours);
+            logger.debug("Rebuilt course co-occurrence from {} pairs: {} courses, {} people, {} entries in {} ms",
+                    pairs.size, rebuilt.courseCount(), rebuilt.personCount(), rebuilt.nonZeroCount(),
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to rebuild course co-occurrence, keeping the previous one", e);
+        } finally {
+            synchronized (this) {
+                rebuilding = false;
+                if (rebuilt != null) {
+                    // Recent pairs may or may not be in the new matrix; replaying is safe because a pair
+                    // already known for the person is ignored
+                    matrix = rebuilt;
+                    addedCourses.clear();
+                    addedCounts.clear();
+                    addedSupport.clear();
+                    expireRecorded(startedAt);
+                    for (Recorded recorded : recent) {
+                        add(recorded.personId(), recorded.courseId());
+                    }
+                }
+            }
+        }
+    }
+
+    // A person enrolled in or favourited a course
+    public synchronized void record(Long personId, Integer courseId) {
+        if (personId == null || courseId == null) {
+            return;
+        }
+        long now = clock.getAsLong();
+        expireRecorded(rebuilding ? Math.min(rebuildStartedAt, now) : now);
+        recent.addLast(new Recorded(personId, courseId, now));
+        add(personId, courseId);
+    }
+
+    // Cosine-weighted co-occurrence score of every course related to the person's courses and the given seeds.
+    // Courses the person already has, and the seeds themselves, are not scored.
+    public synchronized Map<Integer, Double> scores(Long personId, Collection<Integer> seedCourseIds) {
+        Set<Integer> seeds = new HashSet<>(seedCourseIds);
+        if (personId != null) {
+            matrix.forEachCourseOf(personId, seeds::add);
+            seeds.addAll(addedCourses.getOrDefault(personId, Set.of()));
+        }
+
+        Map<Integer, Double> scores = new HashMap<>();
+        for (Integer seed : seeds) {
+            double seedSupport = support(seed);
+            if (seedSupport == 0) {
+                continue;
+            }
+            Map<Integer, Integer> added = addedCounts.getOrDefault(seed, Map.of());
+            matrix.forEachNeighbour(seed, (courseId, count, matrixSupport) -> {
+                if (!seeds.contains(courseId)) {
+                    int total = count + added.getOrDefault(courseId, 0);
+                    scores.merge(courseId, total / Math.sqrt(seedSupport * support(courseId)), Double::sum);
+                }
+            });
+            added.forEach((courseId, count) -> {
+                // Pairs the matrix already holds were scored above with the overlay included
+                if (!seeds.contains(courseId) && matrix.count(seed, courseId) == 0) {
+                    scores.merge(courseId, count / Math.sqrt(seedSupport * support(courseId)), Double::sum);
+                }
+            });
+        }
+        return scores;
+    }
+
+    // Drops pairs recorded more than the replay window before the given time, no rebuild needs them anymore
+    private void expireRecorded(long from) {
+        long cutoff = from - replayWindowMillis;
+        while (!recent.isEmpty() && recent.peekFirst().recordedAt() < cutoff) {
+            recent.pollFirst();
+        }
+    }
+
+    private void add(long personId, int courseId) {
+        if (matrix.contains(personId, courseId)) {
+            return;
+        }
+        Set<Integer> added = addedCourses.computeIfAbsent(personId, id -> new HashSet<>());
+        if (!added.add(courseId)) {
+            return;
+        }
+        addedSupport.merge(courseId, 1, Integer::sum);
+        matrix.forEachCourseOf(personId, other -> increment(courseId, other));
+        for (Integer other : added) {
+            if (other != courseId) {
+                increment(courseId, other);
+            }
+        }
+    }
+
+    private void increment(int courseId, int otherCourseId) {
+        addedCounts.computeIfAbsent(courseId, id -> new HashMap<>()).merge(otherCourseId, 1, Integer::sum);
+        addedCounts.computeIfAbsent(otherCourseId, id -> new HashMap<>()).merge(courseId, 1, Integer::sum);
+    }
+
+    private int support(int courseId) {
+        return matrix.support(courseId) + addedSupport.getOrDefault(courseId, 0);
+    }
+
+    private record Recorded(long personId, int courseId, long recordedAt) {
+    }
+
+    private static final class PairBuffer {
+        private long[] personIds = new long[1024];
+        private int[] courseIds = new int[1024];
+        private int size = 0;
+
+        private void add(long personId, int courseId) {
+            if (size == personIds.length) {
+                personIds = Arrays.copyOf(personIds, size * 2);
+                courseIds = Arrays.copyOf(courseIds, size * 2);
+            }
+            personIds[size] = personId;
+            courseIds[size] = courseId;
+            size++;
+        }
+    }
+}
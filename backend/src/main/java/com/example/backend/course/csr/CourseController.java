@@ -1,13 +1,17 @@
 package com.example.backend.course.csr;
 
 import com.example.backend.course.Course;
+import com.example.backend.course.CourseCatalogSnapshot;
 import com.example.backend.course.CourseDTO;
+import com.example.backend.course.CourseSnapshot;
 import com.example.backend.course.error.CourseCreateError;
 import com.example.backend.course.error.CourseGetAllError;
 import com.example.backend.course.error.CourseGetByIdError;
 import com.example.backend.course.error.CourseGetRecommendError;
+import com.example.backend.course.error.CourseGetSummaryError;
 import com.example.backend.util.ApiResponse;
 import com.example.backend.util.ServiceResult;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -15,9 +19,11 @@ import com.example.backend.course.error.CourseGetTrendingError;
 import com.example.backend.course.error.CourseViewError;
 
 import java.util.List;
+import java.util.Map;
 
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 
 @RestController
 @RequestMapping("/courses")
@@ -30,25 +36,49 @@ public class CourseController {
         this.courseService = courseService;
     }
 
-    @Operation(summary = "Get all courses")
+    @Operation(summary = "Get all courses, answers 304 when the ETag or Last-Modified still match")
     @GetMapping
-    public ResponseEntity<ApiResponse<List<Course>>> getAll() {
-        ServiceResult<List<Course>, CourseGetAllError> result = courseService.getAll();
+    public ResponseEntity<ApiResponse<List<CourseSnapshot>>> getAll(@Parameter(hidden = true) @RequestHeader HttpHeaders headers) {
+        ServiceResult<CourseCatalogSnapshot, CourseGetAllError> result = courseService.getAll(headers.getIfNoneMatch(), headers.getIfModifiedSince());
+        CourseCatalogSnapshot catalog = result.getData();
         if (result.isSuccess()) {
-            return new ResponseEntity<>(ApiResponse.success(result.getData()), HttpStatus.OK);
+            return ResponseEntity.status(HttpStatus.OK)
+                    .eTag(catalog.getEtag())
+                    .lastModified(catalog.getLastModified())
+                    .body(ApiResponse.success(catalog.getCourses()));
         }
 
         CourseGetAllError error = result.getError();
         return switch (error) {
+            case NOT_MODIFIED -> ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(catalog.getEtag())
+                    .lastModified(catalog.getLastModified())
+                    .build();
             case GET_ALL_COURSES_FAILED ->
                     new ResponseEntity<>(ApiResponse.failed(error.getMessage()), HttpStatus.INTERNAL_SERVER_ERROR);
         };
     }
 
+    @Operation(summary = "Get course summaries without descriptions, fields selects a comma separated subset")
+    @GetMapping("/summary")
+    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getSummaries(@RequestParam(required = false) String fields) {
+        ServiceResult<List<Map<String, Object>>, CourseGetSummaryError> result = courseService.getSummaries(fields);
+        if (result.isSuccess()) {
+            return new ResponseEntity<>(ApiResponse.success(result.getData()), HttpStatus.OK);
+        }
+
+        CourseGetSummaryError error = result.getError();
+        return switch (error) {
+            case INVALID_FIELDS -> new ResponseEntity<>(ApiResponse.failed(error.getMessage()), HttpStatus.BAD_REQUEST);
+            case GET_COURSE_SUMMARIES_FAILED ->
+                    new ResponseEntity<>(ApiResponse.failed(error.getMessage()), HttpStatus.INTERNAL_SERVER_ERROR);
+        };
+    }
+
     @Operation(summary = "Get trending courses")
     @GetMapping("/trending")
-    public ResponseEntity<ApiResponse<List<Course>>> getTrendingCourses() {
-        ServiceResult<List<Course>, CourseGetTrendingError> result = courseService.getTrendingCourses();
+    public ResponseEntity<ApiResponse<List<CourseSnapshot>>> getTrendingCourses() {
+        ServiceResult<List<CourseSnapshot>, CourseGetTrendingError> result = courseService.getTrendingCourses();
         if (result.isSuccess()) {
             return new ResponseEntity<>(ApiResponse.success(result.getData()), HttpStatus.OK);
         }
@@ -111,8 +141,8 @@ public class CourseController {
 
     @Operation(summary = "Get recommended courses")
     @GetMapping("/recommend")
-    public ResponseEntity<ApiResponse<List<Course>>> getRecommendedCourses(@CookieValue("accessToken") String accessToken) {
-        ServiceResult<List<Course>, CourseGetRecommendError> result = courseService.getRecommendedCourses(accessToken);
+    public ResponseEntity<ApiResponse<List<CourseSnapshot>>> getRecommendedCourses(@CookieValue("accessToken") String accessToken) {
+        ServiceResult<List<CourseSnapshot>, CourseGetRecommendError> result = courseService.getRecommendedCourses(accessToken);
         if (result.isSuccess()) {
             return new ResponseEntity<>(ApiResponse.success(result.getData()), HttpStatus.OK);
         }
@@ -0,0 +1,179 @@
+package com.example.backend.course.csr;
+
+import com.example.backend.course.Course;
+import com.example.backend.course.CourseCatalogSnapshot;
+import com.example.backend.course.CourseSnapshot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+// Recommends courses that learners with the same favourites and enrollments also took, then tops the list up
+// with the most viewed courses within one difficulty level of the average favourite difficulty.
+// Courses are indexed in buckets per difficulty, each sorted by views, so a request merges only the heads of
+// the matching buckets instead of scanning and filtering the whole catalog.
+@Component
+public class CourseRecommender {
+
+    private static final Comparator<CourseSnapshot> BY_POPULARITY = Comparator
+            .comparing(CourseSnapshot::getViews).reversed()
+            .thenComparing(CourseSnapshot::getId);
+
+    private final CourseCatalog courseCatalog;
+    private final CourseCoOccurrence courseCoOccurrence;
+    private final int size;
+    private volatile Index index;
+
+    public CourseRecommender(CourseCatalog courseCatalog, CourseCoOccurrence courseCoOccurrence, @Value("${courses.recommend.size:20}") int size) {
+        this.courseCatalog = courseCatalog;
+        this.courseCoOccurrence = courseCoOccurrence;
+        this.size = size;
+    }
+
+    public List<CourseSnapshot> recommend(Long personId, Collection<Course> favoriteCourses) {
+        Set<Integer> favoriteIds = new HashSet<>();
+        for (Course course : favoriteCourses) {
+            favoriteIds.add(course.getId());
+        }
+
+        Map<Integer, Double> scores = courseCoOccurrence.scores(personId, favoriteIds);
+        if (favoriteCourses.isEmpty() && scores.isEmpty()) {
+            return List.of();
+        }
+
+        Index current = index();
+        Map<Integer, CourseSnapshot> byId = current.catalog.getById();
+        Comparator<Map.Entry<Integer, Double>> byScore = Map.Entry.<Integer, Double>comparingByValue().reversed()
+                .thenComparing(entry -> byId.get(entry.getKey()), BY_POPULARITY);
+        List<CourseSnapshot> recommended = new ArrayList<>(size);
+        Set<Integer> excluded = new HashSet<>(favoriteIds);
+        scores.entrySet().stream()
+                .filter(entry -> byId.containsKey(entry.getKey()))
+                .sorted(byScore)
+                .limit(size)
+                .forEach(entry -> {
+                    recommended.add(byId.get(entry.getKey()));
+                    excluded.add(entry.getKey());
+                });
+        if (favoriteCourses.isEmpty() || recommended.size() == size) {
+            return recommended;
+        }
+
+        int totalDifficulty = 0;
+        for (Course course : favoriteCourses) {
+            totalDifficulty += course.getDifficulty();
+        }
+        double averageDifficulty = (double) totalDifficulty / favoriteCourses.size();
+        int minDifficulty = (int) Math.max(averageDifficulty - 1, 0);
+        int maxDifficulty = (int) Math.min(averageDifficulty + 1, 5);
+
+        Collection<CourseSnapshot[]> buckets = current.buckets.subMap(minDifficulty, true, maxDifficulty, true).values();
+        PriorityQueue<Cursor> heads = new PriorityQueue<>(Math.max(1, buckets.size()), Comparator.comparing(Cursor::current, BY_POPULARITY));
+        for (CourseSnapshot[] bucket : buckets) {
+            heads.add(new Cursor(bucket));
+        }
+
+        while (!heads.isEmpty() && recommended.size() < size) {
+            Cursor cursor = heads.poll();
+            CourseSnapshot course = cursor.current();
+            if (!excluded.contains(course.getId())) {
+                recommended.add(course);
+            }
+            if (cursor.advance()) {
+                heads.add(cursor);
+            }
+        }
+        return recommended;
+    }
+
+    // Follows the catalog snapshot. View count patches only re-sort the buckets holding the changed courses,
+    // any other change to the catalog rebuilds the index
+    private Index index() {
+        CourseCatalogSnapshot catalog = courseCatalog.get();
+        Index current = index;
+        if (current == null) {
+            current = Index.build(catalog);
+            index = current;
+        } else if (current.catalog != catalog) {
+            current = current.update(catalog);
+            index = current;
+        }
+        return current;
+    }
+
+    private static final class Index {
+        private final CourseCatalogSnapshot catalog;
+        private final NavigableMap<Integer, CourseSnapshot[]> buckets;
+
+        private Index(CourseCatalogSnapshot catalog, NavigableMap<Integer, CourseSnapshot[]> buckets) {
+            this.catalog = catalog;
+            this.buckets = buckets;
+        }
+
+        private static Index build(CourseCatalogSnapshot catalog) {
+            Map<Integer, List<CourseSnapshot>> byDifficulty = new HashMap<>();
+            for (CourseSnapshot course : catalog.getCourses()) {
+                if (course.getDifficulty() != null) {
+                    byDifficulty.computeIfAbsent(course.getDifficulty(), difficulty -> new ArrayList<>()).add(course);
+                }
+            }
+            NavigableMap<Integer, CourseSnapshot[]> buckets = new TreeMap<>();
+            byDifficulty.forEach((difficulty, courses) -> {
+                CourseSnapshot[] bucket = courses.toArray(new CourseSnapshot[0]);
+                Arrays.sort(bucket, BY_POPULARITY);
+                buckets.put(difficulty, bucket);
+            });
+            return new Index(catalog, buckets);
+        }
+
+        private Index update(CourseCatalogSnapshot next) {
+            Map<Integer, CourseSnapshot> previous = catalog.getById();
+            if (next.getCourses().size() != previous.size()) {
+                return build(next);
+            }
+            Set<Integer> changedDifficulties = new HashSet<>();
+            for (CourseSnapshot course : next.getCourses()) {
+                CourseSnapshot old = previous.get(course.getId());
+                if (course.equals(old)) {
+                    continue;
+                }
+                if (old == null || !old.equals(course.withViews(old.getViews()))) {
+                    return build(next);
+                }
+                if (course.getDifficulty() != null) {
+                    changedDifficulties.add(course.getDifficulty());
+                }
+            }
+
+            NavigableMap<Integer, CourseSnapshot[]> updated = new TreeMap<>(buckets);
+            Map<Integer, CourseSnapshot> byId = next.getById();
+            for (Integer difficulty : changedDifficulties) {
+                CourseSnapshot[] bucket = buckets.get(difficulty).clone();
+                for (int i = 0; i < bucket.length; i++) {
+                    bucket[i] = byId.get(bucket[i].getId());
+                }
+                // Still nearly in order, which the merge sort handles in close to linear time
+                Arrays.sort(bucket, BY_POPULARITY);
+                updated.put(difficulty, bucket);
+            }
+            return new Index(next, updated);
+        }
+    }
+
+    private static final class Cursor {
+        private final CourseSnapshot[] bucket;
+        private int position = 0;
+
+        private Cursor(CourseSnapshot[] bucket) {
+            this.bucket = bucket;
+        }
+
+        private CourseSnapshot current() {
+            return bucket[position];
+        }
+
+        private boolean advance() {
+            return ++position < bucket.length;
+        }
+    }
+}
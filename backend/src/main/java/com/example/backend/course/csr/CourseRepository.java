@@ -1,10 +1,13 @@
 package com.example.backend.course.csr;
 
 import com.example.backend.course.Course;
+import com.example.backend.course.CourseSummaryDTO;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
 public interface CourseRepository extends JpaRepository<Course, Integer> {
-    List<Course> findTop10ByOrderByViewsDesc();
+    @Query("SELECT new com.example.backend.course.CourseSummaryDTO(c.id, c.title, c.link, c.estimatedDuration, c.difficulty, c.views) FROM Course c")
+    List<CourseSummaryDTO> findAllSummaries();
 }
@@ -1,11 +1,15 @@
 package com.example.backend.course.csr;
 
 import com.example.backend.course.Course;
+import com.example.backend.course.CourseCatalogSnapshot;
 import com.example.backend.course.CourseDTO;
+import com.example.backend.course.CourseSnapshot;
+import com.example.backend.course.CourseSummaryDTO;
 import com.example.backend.course.error.CourseCreateError;
 import com.example.backend.course.error.CourseGetAllError;
 import com.example.backend.course.error.CourseGetByIdError;
 import com.example.backend.course.error.CourseGetRecommendError;
+import com.example.backend.course.error.CourseGetSummaryError;
 import com.example.backend.util.ServiceResult;
 import com.example.backend.util.JWT;
 import com.example.backend.person.Person;
@@ -13,19 +17,31 @@ import org.springframework.stereotype.Service;
 import com.example.backend.course.error.CourseGetTrendingError;
 import com.example.backend.course.error.CourseViewError;
 
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class CourseService {
 
     private final CourseRepository courseRepository;
+    private final CourseCatalog courseCatalog;
+    private final CourseViewCounter courseViewCounter;
+    private final TrendingCourseEngine trendingCourseEngine;
+    private final CourseRecommender courseRecommender;
     private final JWT jwt;
 
-    public CourseService(JWT jwt, CourseRepository courseRepository) {
+    public CourseService(JWT jwt, CourseRepository courseRepository, CourseCatalog courseCatalog, CourseViewCounter courseViewCounter, TrendingCourseEngine trendingCourseEngine, CourseRecommender courseRecommender) {
         this.jwt = jwt;
         this.courseRepository = courseRepository;
+        this.courseCatalog = courseCatalog;
+        this.courseViewCounter = courseViewCounter;
+        this.trendingCourseEngine = trendingCourseEngine;
+        this.courseRecommender = courseRecommender;
     }
 
     public List<Course> findAll() {
@@ -45,13 +61,44 @@ public class CourseService {
         }
     }
 
-    public ServiceResult<List<Course>, CourseGetAllError> getAll() {
-        List<Course> courses = findAll();
-        if (!courses.isEmpty()) {
-            return ServiceResult.success(courses);
+    // Conditional GET, ifNoneMatch wins over ifModifiedSince, which is -1 when absent. NOT_MODIFIED still
+    // carries the catalog, the 304 has to repeat its ETag and Last-Modified
+    public ServiceResult<CourseCatalogSnapshot, CourseGetAllError> getAll(List<String> ifNoneMatch, long ifModifiedSince) {
+        CourseCatalogSnapshot catalog = courseCatalog.get();
+        if (catalog.getCourses().isEmpty()) {
+            return ServiceResult.error(CourseGetAllError.GET_ALL_COURSES_FAILED);
+        }
+        if (notModified(catalog, ifNoneMatch, ifModifiedSince)) {
+            courseCatalog.recordNotModified(catalog);
+            return new ServiceResult<>(catalog, CourseGetAllError.NOT_MODIFIED);
+        }
+
+        return ServiceResult.success(catalog);
+    }
+
+    // fields is a comma separated sparse fieldset, id is always included
+    public ServiceResult<List<Map<String, Object>>, CourseGetSummaryError> getSummaries(String fields) {
+        Set<String> selected = new HashSet<>(CourseSummaryDTO.FIELDS);
+        if (fields != null && !fields.isBlank()) {
+            selected = Arrays.stream(fields.split(","))
+                    .map(String::trim)
+                    .filter(field -> !field.isEmpty())
+                    .collect(Collectors.toSet());
+            if (!CourseSummaryDTO.FIELDS.containsAll(selected)) {
+                return ServiceResult.error(CourseGetSummaryError.INVALID_FIELDS);
+            }
+            selected.add("id");
         }
 
-        return ServiceResult.error(CourseGetAllError.GET_ALL_COURSES_FAILED);
+        try {
+            Set<String> requested = selected;
+            List<Map<String, Object>> summaries = courseCatalog.getSummaries().stream()
+                    .map(summary -> summary.select(requested))
+                    .toList();
+            return ServiceResult.success(summaries);
+        } catch (Exception e) {
+            return ServiceResult.error(CourseGetSummaryError.GET_COURSE_SUMMARIES_FAILED);
+        }
     }
 
     public ServiceResult<Course, CourseGetByIdError> getById(Integer id) {
@@ -68,9 +115,9 @@ public class CourseService {
         return ServiceResult.error(CourseGetByIdError.COURSE_NOT_FOUND);
     }
 
-    public ServiceResult<List<Course>, CourseGetTrendingError> getTrendingCourses() {
+    public ServiceResult<List<CourseSnapshot>, CourseGetTrendingError> getTrendingCourses() {
         try {
-            List<Course> trendingCourses = courseRepository.findTop10ByOrderByViewsDesc();
+            List<CourseSnapshot> trendingCourses = trendingCourseEngine.top();
             return ServiceResult.success(trendingCourses);
         } catch (Exception e) {
             return ServiceResult.error(CourseGetTrendingError.GET_TRENDING_COURSES_FAILED);
@@ -82,15 +129,13 @@ public class CourseService {
             return ServiceResult.error(CourseViewError.INVALID_ID);
         }
 
-        Optional<Course> courseOptional = findById(id);
-        if (courseOptional.isEmpty()) {
+        if (!courseCatalog.contains(id)) {
             return ServiceResult.error(CourseViewError.COURSE_NOT_FOUND);
         }
 
         try {
-            Course course = courseOptional.get();
-            course.setViews(course.getViews() + 1);
-            save(course);
+            courseViewCounter.increment(id);
+            trendingCourseEngine.recordView(id);
             return ServiceResult.success(null);
         } catch (Exception e) {
             return ServiceResult.error(CourseViewError.VIEW_INCREMENT_FAILED);
@@ -102,37 +147,34 @@ public class CourseService {
         Optional<Course> savedCourse = save(course);
         if (savedCourse.isPresent()) {
             course = savedCourse.get();
+            courseCatalog.invalidate();
+            trendingCourseEngine.catalogChanged();
             return ServiceResult.success(course);
         }
         return ServiceResult.error(CourseCreateError.COURSE_CREATION_FAILED);
     }
 
-    public ServiceResult<List<Course>, CourseGetRecommendError> getRecommendedCourses(String accessToken) {
+    public ServiceResult<List<CourseSnapshot>, CourseGetRecommendError> getRecommendedCourses(String accessToken) {
         Optional<Person> personOptional = jwt.getPersonFromToken(accessToken);
         if (personOptional.isEmpty()) {
             return ServiceResult.error(CourseGetRecommendError.INVALID_ACCESS_TOKEN);
         }
 
         Person person = personOptional.get();
-        List<Course> favoriteCourses = person.getFavoriteCourses();
-        if (favoriteCourses.isEmpty()) {
-            return ServiceResult.success(List.of());
-        }
-
-        int totalDifficulty = favoriteCourses.stream().mapToInt(Course::getDifficulty).sum();
-        double averageDifficulty = (double) totalDifficulty / favoriteCourses.size();
-        int minDifficulty = (int) Math.max(averageDifficulty - 1, 0);
-        int maxDifficulty = (int) Math.min(averageDifficulty + 1, 5);
-
-        List<Course> recommendedCourses = courseRepository.findAll().stream()
-                .filter(course -> course.getDifficulty() >= minDifficulty && course.getDifficulty() <= maxDifficulty)
-                .collect(Collectors.toList());
-        recommendedCourses.removeIf(favoriteCourses::contains);
+        return ServiceResult.success(courseRecommender.recommend(person.getId(), person.getFavoriteCourses()));
+    }
 
-        if (recommendedCourses.isEmpty()) {
-            return ServiceResult.success(List.of());
+    private static boolean notModified(CourseCatalogSnapshot catalog, List<String> ifNoneMatch, long ifModifiedSince) {
+        if (!ifNoneMatch.isEmpty()) {
+            String etag = opaqueTag(catalog.getEtag());
+            return ifNoneMatch.stream().anyMatch(tag -> tag.equals("*") || opaqueTag(tag).equals(etag));
         }
+        // HTTP dates only have second precision
+        return ifModifiedSince >= 0 && catalog.getLastModified() / 1000 <= ifModifiedSince / 1000;
+    }
 
-        return ServiceResult.success(recommendedCourses);
+    // If-None-Match uses the weak comparison, which ignores the W/ prefix
+    private static String opaqueTag(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
     }
 }
@@ -0,0 +1,93 @@
+package com.example.backend.course.csr;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Write-behind view counter: clicks only touch a striped in-memory counter and are periodically flushed
+// to course.views with one batched, atomic `views = views + ?` update per course. The batch runs in one
+// transaction, so a failed flush writes nothing and its deltas can be retried without counting any twice.
+@Component
+public class CourseViewCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseViewCounter.class);
+    private static final String FLUSH_SQL = "UPDATE course SET views = views + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CourseCatalog courseCatalog;
+    private final TrendingCourseEngine trendingCourseEngine;
+    private final Map<Integer, LongAdder> pending = new ConcurrentHashMap<>();
+
+    public CourseViewCounter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                             CourseCatalog courseCatalog, TrendingCourseEngine trendingCourseEngine) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.courseCatalog = courseCatalog;
+        this.trendingCourseEngine = trendingCourseEngine;
+    }
+
+    public void increment(Integer courseId) {
+        pending.computeIfAbsent(courseId, id -> new LongAdder()).increment();
+    }
+
+    // Views recorded but not yet written to the database
+    public long pending(Integer courseId) {
+        LongAdder adder = pending.get(courseId);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    @Scheduled(fixedDelayString = "${courses.views.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        List<Object[]> batch = new ArrayList<>();
+        for (Map.Entry<Integer, LongAdder> entry : pending.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta > 0) {
+                batch.add(new Object[]{delta, entry.getKey()});
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        long catalogLoad = courseCatalog.loadSequence();
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(FLUSH_SQL, batch));
+        } catch (Exception e) {
+            // Put the deltas back so the next flush retries them
+            for (Object[] row : batch) {
+                increment((Integer) row[1], (Long) row[0]);
+            }
+            logger.warn("Failed to flush {} course view counters", batch.size(), e);
+            return;
+        }
+
+        Map<Integer, Long> deltas = new HashMap<>();
+        for (Object[] row : batch) {
+            deltas.put((Integer) row[1], (Long) row[0]);
+        }
+        courseCatalog.addViews(deltas, catalogLoad);
+        trendingCourseEngine.catalogChanged();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void increment(Integer courseId, long delta) {
+        pending.computeIfAbsent(courseId, id -> new LongAdder()).add(delta);
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.backend.course.csr;
+
+import com.example.backend.course.CourseSnapshot;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+
+// Ranks courses by an exponentially decayed view count with a configurable half-life.
+// Uses forward decay: a view at time t adds exp(lambda * (t - landmark)), so recording a view is O(1) and
+// relative order matches the decayed score without ever touching the other counters. When the weights get
+// large every counter is rescaled once and the landmark moves forward.
+// The top K is kept as an immutable list of catalog snapshots, so reads never hit the database.
+@Component
+public class TrendingCourseEngine {
+
+    // exp(100) is far from overflowing a double while still leaving plenty of precision
+    private static final double RESCALE_EXPONENT = 100;
+
+    private static final Comparator<CourseSnapshot> BY_VIEWS = Comparator.comparing(CourseSnapshot::getViews).reversed();
+
+    private final CourseCatalog courseCatalog;
+    private final double lambda;
+    private final int size;
+    private final long refreshIntervalMillis;
+    private final LongSupplier clock;
+
+    private final Map<Integer, DoubleAdder> scores = new ConcurrentHashMap<>();
+    private final ReadWriteLock rescaleLock = new ReentrantReadWriteLock();
+    private volatile long landmark;
+
+    private volatile List<CourseSnapshot> snapshot;
+    private volatile long snapshotAt;
+    private volatile boolean dirty = true;
+
+    @Autowired
+    public TrendingCourseEngine(CourseCatalog courseCatalog,
+                                @Value("${courses.trending.half-life-minutes:60}") long halfLifeMinutes,
+                                @Value("${courses.trending.size:10}") int size,
+                                @Value("${courses.trending.refresh-interval-ms:1000}") long refreshIntervalMillis,
+                                @Value("${courses.trending.eager-refresh:false}") boolean eagerRefresh) {
+        // Eager mode rebuilds on the first read after a view, the scheduled refresh keeps its own interval
+        this(courseCatalog, halfLifeMinutes, size, eagerRefresh ? 0 : refreshIntervalMillis, System::currentTimeMillis);
+    }
+
+    TrendingCourseEngine(CourseCatalog courseCatalog, long halfLifeMinutes, int size, long refreshIntervalMillis, LongSupplier clock) {
+        this.courseCatalog = courseCatalog;
+        this.lambda = Math.log(2) / (halfLifeMinutes * 60_000d);
+        this.size = size;
+        this.refreshIntervalMillis = refreshIntervalMillis;
+        this.clock = clock;
+        this.landmark = clock.getAsLong();
+    }
+
+    public void recordView(Integer courseId) {
+        long now = clock.getAsLong();
+        double exponent;
+        rescaleLock.readLock().lock();
+        try {
+            exponent = lambda * (now - landmark);
+            scores.computeIfAbsent(courseId, id -> new DoubleAdder()).add(Math.exp(exponent));
+        } finally {
+            rescaleLock.readLock().unlock();
+        }
+        dirty = true;
+        if (exponent > RESCALE_EXPONENT) {
+            rescale(now);
+        }
+    }
+
+    // Current top K, falling back to lifetime views when fewer than K courses were viewed recently
+    public List<CourseSnapshot> top() {
+        List<CourseSnapshot> current = snapshot;
+        if (current == null || (dirty && clock.getAsLong() - snapshotAt >= refreshIntervalMillis)) {
+            return refresh();
+        }
+        return current;
+    }
+
+    @Scheduled(fixedDelayString = "${courses.trending.refresh-interval-ms:1000}")
+    public void refreshIfDirty() {
+        if (dirty) {
+            refresh();
+        }
+    }
+
+    // Course data or lifetime views changed
+    public void catalogChanged() {
+        dirty = true;
+    }
+
+    private synchronized List<CourseSnapshot> refresh() {
+        dirty = false;
+        snapshotAt = clock.getAsLong();
+
+        PriorityQueue<Map.Entry<Integer, Double>> heap = new PriorityQueue<>(size + 1, Map.Entry.comparingByValue());
+        rescaleLock.readLock().lock();
+        try {
+            for (Map.Entry<Integer, DoubleAdder> entry : scores.entrySet()) {
+                heap.offer(Map.entry(entry.getKey(), entry.getValue().sum()));
+                if (heap.size() > size) {
+                    heap.poll();
+                }
+            }
+        } finally {
+            rescaleLock.readLock().unlock();
+        }
+        List<Integer> ids = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            ids.add(heap.poll().getKey());
+        }
+        Collections.reverse(ids);
+
+        List<CourseSnapshot> trending = new ArrayList<>(size);
+        Set<Integer> seen = new HashSet<>();
+        for (Integer id : ids) {
+            Optional<CourseSnapshot> course = courseCatalog.findById(id);
+            if (course.isPresent() && seen.add(id)) {
+                trending.add(course.get());
+            }
+        }
+        if (trending.size() < size) {
+            List<CourseSnapshot> lifetimeTop = courseCatalog.findAll().stream().sorted(BY_VIEWS).toList();
+            for (CourseSnapshot course : lifetimeTop) {
+                if (trending.size() >= size) {
+                    break;
+                }
+                if (seen.add(course.getId())) {
+                    trending.add(course);
+                }
+            }
+        }
+
+        snapshot = List.copyOf(trending);
+        return snapshot;
+    }
+
+    private void rescale(long now) {
+        rescaleLock.writeLock().lock();
+        try {
+            if (lambda * (now - landmark) <= RESCALE_EXPONENT) {
+                return;
+            }
+            double factor = Math.exp(-lambda * (now - landmark));
+            scores.forEach((id, adder) -> adder.add(adder.sumThenReset() * factor));
+            // Courses without a view for dozens of half-lives no longer matter
+            scores.values().removeIf(adder -> adder.sum() < 1e-9);
+            landmark = now;
+        } finally {
+            rescaleLock.writeLock().unlock();
+        }
+    }
+}
@@ -6,7 +6,8 @@ import lombok.Getter;
 @Getter
 @AllArgsConstructor
 public enum CourseGetAllError {
-    GET_ALL_COURSES_FAILED("Failed to retrieve all courses");
+    GET_ALL_COURSES_FAILED("Failed to retrieve all courses"),
+    NOT_MODIFIED("Courses not modified");
 
     private final String message;
 }
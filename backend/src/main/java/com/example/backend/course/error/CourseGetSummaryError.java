@@ -0,0 +1,13 @@
+package com.example.backend.course.error;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum CourseGetSummaryError {
+    INVALID_FIELDS("Invalid fields requested"),
+    GET_COURSE_SUMMARIES_FAILED("Failed to retrieve course summaries");
+
+    private final String message;
+}
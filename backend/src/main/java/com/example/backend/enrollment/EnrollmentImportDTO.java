@@ -0,0 +1,13 @@
+package com.example.backend.enrollment;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class EnrollmentImportDTO {
+    private Long personId;
+    private Integer courseId;
+    private Integer timeSpent;
+    private Boolean completed;
+}
@@ -1,10 +1,28 @@
 package com.example.backend.enrollment.csr;
 
+import com.example.backend.badge.BadgeMetric;
 import com.example.backend.enrollment.Enrollment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface EnrollmentRepository extends JpaRepository<Enrollment, Integer> {
     List<Enrollment> findByPersonId(Long personId);
+
+    // Same completion rule as Enrollment.isCompleted()
+    @Query("""
+            SELECT e.person.id AS personId,
+                   SUM(CASE WHEN e.timeSpent >= c.estimatedDuration OR e.completed = true THEN 1 ELSE 0 END) AS metric
+            FROM Enrollment e
+            JOIN e.course c
+            WHERE e.person.id IN :personIds
+            GROUP BY e.person.id
+            """)
+    List<BadgeMetric> findCompletedCourseMetrics(@Param("personIds") Collection<Long> personIds);
+
+    @Query("SELECT e.person.id AS personId, COALESCE(SUM(e.timeSpent), 0) AS metric FROM Enrollment e WHERE e.person.id IN :personIds GROUP BY e.person.id")
+    List<BadgeMetric> findTimeSpentMetrics(@Param("personIds") Collection<Long> personIds);
 }
@@ -1,16 +1,22 @@
 package com.example.backend.enrollment.csr;
 
+import com.example.backend.badge.BadgeTriggerEvent;
 import com.example.backend.course.Course;
+import com.example.backend.course.csr.CourseCoOccurrence;
 import com.example.backend.course.csr.CourseService;
 import com.example.backend.enrollment.Enrollment;
+import com.example.backend.enrollment.EnrollmentImportDTO;
 import com.example.backend.enrollment.UpdateProgressDTO;
 import com.example.backend.enrollment.error.EnrollmentCreateError;
 import com.example.backend.enrollment.error.EnrollmentGetAllError;
 import com.example.backend.enrollment.error.EnrollmentGetByIdError;
 import com.example.backend.enrollment.error.EnrollmentUpdateProgressError;
+import com.example.backend.leaderboard.csr.LeaderboardEngine;
 import com.example.backend.person.Person;
+import com.example.backend.util.BulkInserter;
 import com.example.backend.util.JWT;
 import com.example.backend.util.ServiceResult;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -22,11 +28,19 @@ public class EnrollmentService {
     private final JWT jwt;
     private final CourseService courseService;
     private final EnrollmentRepository enrollmentRepository;
+    private final LeaderboardEngine leaderboardEngine;
+    private final CourseCoOccurrence courseCoOccurrence;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BulkInserter bulkInserter;
 
-    public EnrollmentService(JWT jwt, CourseService courseService, EnrollmentRepository enrollmentRepository) {
+    public EnrollmentService(JWT jwt, CourseService courseService, EnrollmentRepository enrollmentRepository, LeaderboardEngine leaderboardEngine, CourseCoOccurrence courseCoOccurrence, ApplicationEventPublisher eventPublisher, BulkInserter bulkInserter) {
         this.jwt = jwt;
         this.courseService = courseService;
         this.enrollmentRepository = enrollmentRepository;
+        this.leaderboardEngine = leaderboardEngine;
+        this.courseCoOccurrence = courseCoOccurrence;
+        this.eventPublisher = eventPublisher;
+        this.bulkInserter = bulkInserter;
     }
 
     public Optional<Enrollment> findById(Integer id) {
@@ -91,6 +105,8 @@ public class EnrollmentService {
         Optional<Enrollment> enrollmentOptional = save(enrollment);
         if (enrollmentOptional.isPresent()) {
             enrollment = enrollmentOptional.get();
+            leaderboardEngine.enrollmentsChanged(person);
+            courseCoOccurrence.record(person.getId(), course.getId());
             return ServiceResult.success(enrollment);
         }
 
@@ -115,9 +131,33 @@ public class EnrollmentService {
         Optional<Enrollment> updatedEnrollmentOptional = save(enrollment);
         if (updatedEnrollmentOptional.isPresent()) {
             Enrollment updatedEnrollment = updatedEnrollmentOptional.get();
+            leaderboardEngine.enrollmentsChanged(updatedEnrollment.getPerson());
+            eventPublisher.publishEvent(new BadgeTriggerEvent(updatedEnrollment.getPerson().getId(), "COMPLETED_COURSES", "TIME_SPENT"));
             return ServiceResult.success(updatedEnrollment);
         }
 
         return ServiceResult.error(EnrollmentUpdateProgressError.ENROLLMENT_UPDATE_FAILED);
     }
+
+    // Batched inserts for seeding (see DevDataInitializer), people and courses are referenced by id without being
+    // loaded. The leaderboard is rebuilt on its next read, course co-occurrence catches up at its scheduled rebuild
+    // and badges are awarded by a backfill. Chunks commit on their own, so the leaderboard is dropped even when a
+    // later chunk fails.
+    public int importEnrollments(List<EnrollmentImportDTO> rows) {
+        try {
+            return bulkInserter.insertAll(rows, row -> {
+                Enrollment enrollment = new Enrollment(bulkInserter.reference(Course.class, row.getCourseId()),
+                        bulkInserter.reference(Person.class, row.getPersonId()));
+                if (row.getTimeSpent() != null) {
+                    enrollment.setTimeSpent(row.getTimeSpent());
+                }
+                if (row.getCompleted() != null) {
+                    enrollment.setCompleted(row.getCompleted());
+                }
+                return enrollment;
+            });
+        } finally {
+            leaderboardEngine.invalidate();
+        }
+    }
 }
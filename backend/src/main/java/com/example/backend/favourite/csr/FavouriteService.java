@@ -1,6 +1,7 @@
 package com.example.backend.favourite.csr;
 
 import com.example.backend.course.Course;
+import com.example.backend.course.csr.CourseCoOccurrence;
 import com.example.backend.course.csr.CourseService;
 import com.example.backend.favourite.error.FavouriteCreateError;
 import com.example.backend.favourite.error.FavouriteGetAllError;
@@ -20,11 +21,13 @@ public class FavouriteService {
     private final JWT jwt;
     private final PersonService personService;
     private final CourseService courseService;
+    private final CourseCoOccurrence courseCoOccurrence;
 
-    public FavouriteService(JWT jwt, PersonService personService, CourseService courseService) {
+    public FavouriteService(JWT jwt, PersonService personService, CourseService courseService, CourseCoOccurrence courseCoOccurrence) {
         this.jwt = jwt;
         this.personService = personService;
         this.courseService = courseService;
+        this.courseCoOccurrence = courseCoOccurrence;
     }
 
     public ServiceResult<List<Course>, FavouriteGetAllError> getAll(String refreshToken) {
@@ -54,6 +57,7 @@ public class FavouriteService {
         if (personService.addFavouriteCourse(person, course).isEmpty()) {
             return ServiceResult.error(FavouriteCreateError.COURSE_ALREADY_FAVORITE);
         }
+        courseCoOccurrence.record(person.getId(), course.getId());
         return ServiceResult.success(null);
     }
 
@@ -0,0 +1,14 @@
+package com.example.backend.friend;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+// One page of the friend list. next is the after cursor for the following page, null on the last page
+@Data
+@AllArgsConstructor
+public class FriendPageDTO {
+    private List<FriendResponseDTO> friends;
+    private Long next;
+}
@@ -1,14 +1,25 @@
 package com.example.backend.friend;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
+// Streak and score are only filled in, and only serialized, when they are asked for
 @Data
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class FriendResponseDTO {
+    private Long personId;
     private String username;
     private String firstName;
     private String lastName;
     private String email;
     private String avatarLink;
+    private Integer streak;
+    private Integer score;
+
+    // Used by the friend list projection query
+    public FriendResponseDTO(Long personId, String username, String firstName, String lastName, String email, String avatarLink) {
+        this(personId, username, firstName, lastName, email, avatarLink, null, null);
+    }
 }
@@ -0,0 +1,16 @@
+package com.example.backend.friend;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class FriendSuggestionDTO {
+    private Long personId;
+    private String username;
+    private String firstName;
+    private String lastName;
+    private String avatarLink;
+    private Integer mutualFriends;
+    private Integer sharedFavourites;
+}
@@ -1,10 +1,12 @@
 package com.example.backend.friend.csr;
 
 import com.example.backend.friend.FriendDTO;
-import com.example.backend.friend.FriendResponseDTO;
+import com.example.backend.friend.FriendPageDTO;
+import com.example.backend.friend.FriendSuggestionDTO;
 import com.example.backend.friend.error.FriendAddError;
 import com.example.backend.friend.error.FriendGetAllError;
 import com.example.backend.friend.error.FriendRemoveError;
+import com.example.backend.friend.error.FriendSuggestionsError;
 import com.example.backend.util.ApiResponse;
 import com.example.backend.util.ServiceResult;
 import io.swagger.v3.oas.annotations.Operation;
@@ -26,10 +28,14 @@ public class FriendController {
         this.friendService = friendService;
     }
 
-    @Operation(summary = "Get all friends")
+    @Operation(summary = "Get a page of friends ordered by personId, at most 1000 per page, pass next as after for the following page")
     @GetMapping
-    public ResponseEntity<ApiResponse<List<FriendResponseDTO>>> getAllFriends(@CookieValue(name = "accessToken") String accessToken) {
-        ServiceResult<List<FriendResponseDTO>, FriendGetAllError> result = friendService.getAllFriends(accessToken);
+    public ResponseEntity<ApiResponse<FriendPageDTO>> getAllFriends(
+            @CookieValue(name = "accessToken") String accessToken,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "false") boolean includeStats) {
+        ServiceResult<FriendPageDTO, FriendGetAllError> result = friendService.getAllFriends(accessToken, after, limit, includeStats);
         if (result.isSuccess()) {
             return new ResponseEntity<>(ApiResponse.success(result.getData()), HttpStatus.OK);
         }
@@ -38,6 +44,27 @@ public class FriendController {
         return switch (error) {
             case INVALID_ACCESS_TOKEN ->
                     new ResponseEntity<>(ApiResponse.failed(error.getMessage()), HttpStatus.UNAUTHORIZED);
+            case INVALID_LIMIT ->
+                    new ResponseEntity<>(ApiResponse.failed(error.getMessage()), HttpStatus.BAD_REQUEST);
+        };
+    }
+
+    @Operation(summary = "Get friends of friends to add, ranked by mutual friends and shared favourite courses, at most 50")
+    @GetMapping("/suggestions")
+    public ResponseEntity<ApiResponse<List<FriendSuggestionDTO>>> getSuggestions(
+            @CookieValue(name = "accessToken") String accessToken,
+            @RequestParam(defaultValue = "10") Integer limit) {
+        ServiceResult<List<FriendSuggestionDTO>, FriendSuggestionsError> result = friendService.getSuggestions(accessToken, limit);
+        if (result.isSuccess()) {
+            return new ResponseEntity<>(ApiResponse.success(result.getData()), HttpStatus.OK);
+        }
+
+        FriendSuggestionsError error = result.getError();
+        return switch (error) {
+            case INVALID_ACCESS_TOKEN ->
+                    new ResponseEntity<>(ApiResponse.failed(error.getMessage()), HttpStatus.UNAUTHORIZED);
+            case INVALID_LIMIT ->
+                    new ResponseEntity<>(ApiResponse.failed(error.getMessage()), HttpStatus.BAD_REQUEST);
         };
     }
 
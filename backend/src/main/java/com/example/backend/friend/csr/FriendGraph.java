@@ -0,0 +1,244 @@
+package com.example.backend.friend.csr;
+
+import com.example.backend.util.LongHashSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Undirected friendship graph held in memory as primitive id sets, so membership, degree and mutual friend
+// queries never load Person entities. Loaded from person_friends at startup, where a row in either direction
+// counts as a friendship, and written through on every change with a row for each direction, so the table and
+// the graph agree on who is friends with whom. Changes to the same pair are serialized by a striped lock and
+// reach the graph only after their row is committed, so changes to different pairs never wait on each other.
+@Component
+public class FriendGraph {
+
+    private static final Logger logger = LoggerFactory.getLogger(FriendGraph.class);
+    private static final long[] NONE = new long[0];
+    private static final String SELECT_SQL = "SELECT person_id, friend_id FROM person_friends";
+    private static final String INSERT_SQL = "INSERT INTO person_friends (person_id, friend_id) VALUES (?, ?)";
+    private static final int PAIR_LOCKS = 64;
+    private static final String DELETE_SQL = "DELETE FROM person_friends WHERE (person_id = ? AND friend_id = ?) OR (person_id = ? AND friend_id = ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object[] pairLocks = new Object[PAIR_LOCKS];
+    private final Map<Long, LongHashSet> adjacency = new HashMap<>();
+    private long edges = 0;
+    private volatile boolean loaded = false;
+
+    public FriendGraph(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int i = 0; i < pairLocks.length; i++) {
+            pairLocks[i] = new Object();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            long start = System.nanoTime();
+            jdbcTemplate.query(SELECT_SQL, resultSet -> {
+                link(resultSet.getLong(1), resultSet.getLong(2));
+            });
+            loaded = true;
+            logger.info("Loaded {} friendships between {} people in {} ms",
+                    edges, adjacency.size(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // False when they already are friends
+    public boolean add(long personId, long friendId) {
+        if (personId == friendId) {
+            return false;
+        }
+        ensureLoaded();
+        synchronized (pairLock(personId, friendId)) {
+            if (areFriends(personId, friendId)) {
+                return false;
+            }
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL,
+                    List.of(new Object[]{personId, friendId}, new Object[]{friendId, personId})));
+            withWriteLock(() -> link(personId, friendId));
+            return true;
+        }
+    }
+
+    // False when they were not friends
+    public boolean remove(long personId, long friendId) {
+        ensureLoaded();
+        synchronized (pairLock(personId, friendId)) {
+            if (!areFriends(personId, friendId)) {
+                return false;
+            }
+            jdbcTemplate.update(DELETE_SQL, personId, friendId, friendId, personId);
+            withWriteLock(() -> unlink(personId, friendId));
+            return true;
+        }
+    }
+
+    public boolean areFriends(long personId, long friendId) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            LongHashSet friends = adjacency.get(personId);
+            return friends != null && friends.contains(friendId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int degree(long personId) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            LongHashSet friends = adjacency.get(personId);
+            return friends == null ? 0 : friends.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long[] friends(long personId) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            LongHashSet friends = adjacency.get(personId);
+            return friends == null ? NONE : friends.toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Walks the smaller of the two friend sets and probes the larger one
+    public int mutualCount(long personId, long otherId) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            LongHashSet first = adjacency.get(personId);
+            LongHashSet second = adjacency.get(otherId);
+            if (first == null || second == null) {
+                return 0;
+            }
+            LongHashSet smaller = first.size() <= second.size() ? first : second;
+            LongHashSet larger = smaller == first ? second : first;
+            int[] count = {0};
+            smaller.forEach(id -> {
+                if (larger.contains(id)) {
+                    count[0]++;
+                }
+            });
+            return count[0];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // People two hops away that are not friends yet, with their number of mutual friends. At most maxEdges
+    // friend-of-friend edges are scanned, spread evenly over the person's friends so a few very popular
+    // friends cannot use up the budget; beyond that the counts come from a sample of each friend's friends
+    public Map<Long, Integer> mutualFriendCounts(long personId, int maxEdges) {
+        ensureLoaded();
+        Map<Long, Integer> counts = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            LongHashSet direct = adjacency.get(personId);
+            if (direct == null) {
+                return counts;
+            }
+            int perFriend = Math.max(1, maxEdges / direct.size());
+            direct.forEach(friendId -> {
+                int[] scanned = {0};
+                adjacency.get(friendId).forEachWhile(candidateId -> {
+                    if (candidateId != personId && !direct.contains(candidateId)) {
+                        counts.merge(candidateId, 1, Integer::sum);
+                    }
+                    return ++scanned[0] < perFriend;
+                });
+            });
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long edgeCount() {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return edges;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            load();
+        }
+    }
+
+    // The same lock for both orders of the pair
+    private Object pairLock(long personId, long friendId) {
+        long low = Math.min(personId, friendId);
+        long high = Math.max(personId, friendId);
+        int hash = Long.hashCode(low * 31 + high);
+        return pairLocks[(hash ^ (hash >>> 16)) & (pairLocks.length - 1)];
+    }
+
+    private void withWriteLock(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean link(long personId, long friendId) {
+        if (personId == friendId || !adjacency.computeIfAbsent(personId, id -> new LongHashSet()).add(friendId)) {
+            return false;
+        }
+        adjacency.computeIfAbsent(friendId, id -> new LongHashSet()).add(personId);
+        edges++;
+        return true;
+    }
+
+    private boolean unlink(long personId, long friendId) {
+        LongHashSet friends = adjacency.get(personId);
+        if (friends == null || !friends.remove(friendId)) {
+            return false;
+        }
+        if (friends.isEmpty()) {
+            adjacency.remove(personId);
+        }
+        LongHashSet others = adjacency.get(friendId);
+        if (others != null) {
+            others.remove(personId);
+            if (others.isEmpty()) {
+                adjacency.remove(friendId);
+            }
+        }
+        edges--;
+        return true;
+    }
+}
@@ -1,54 +1,93 @@
 package com.example.backend.friend.csr;
 
+import com.example.backend.badge.BadgeTriggerEvent;
 import com.example.backend.friend.FriendDTO;
+import com.example.backend.friend.FriendPageDTO;
 import com.example.backend.friend.FriendResponseDTO;
+import com.example.backend.friend.FriendSuggestionDTO;
 import com.example.backend.friend.error.FriendAddError;
 import com.example.backend.friend.error.FriendGetAllError;
 import com.example.backend.friend.error.FriendRemoveError;
+import com.example.backend.friend.error.FriendSuggestionsError;
+import com.example.backend.leaderboard.LeaderboardEntry;
+import com.example.backend.leaderboard.csr.LeaderboardEngine;
 import com.example.backend.person.Person;
 import com.example.backend.person.csr.PersonService;
 import com.example.backend.util.JWT;
 import com.example.backend.util.ServiceResult;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 public class FriendService {
     
+    public static final int MAX_PAGE_SIZE = 1000;
+    
     private final JWT jwt;
     private final PersonService personService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FriendGraph friendGraph;
+    private final FriendSuggester friendSuggester;
+    private final LeaderboardEngine leaderboardEngine;
     
-    public FriendService(JWT jwt, PersonService personService) {
+    public FriendService(JWT jwt, PersonService personService, ApplicationEventPublisher eventPublisher, FriendGraph friendGraph, FriendSuggester friendSuggester, LeaderboardEngine leaderboardEngine) {
         this.jwt = jwt;
         this.personService = personService;
+        this.eventPublisher = eventPublisher;
+        this.friendGraph = friendGraph;
+        this.friendSuggester = friendSuggester;
+        this.leaderboardEngine = leaderboardEngine;
     }
     
-    public ServiceResult<List<FriendResponseDTO>, FriendGetAllError> getAllFriends(String accessToken) {
+    // Friends in person id order. A page starts after the cursor, which is the personId of the last friend
+    // on the previous page, and holds at most MAX_PAGE_SIZE friends, which is also the default
+    public ServiceResult<FriendPageDTO, FriendGetAllError> getAllFriends(String accessToken, Long after, Integer limit, boolean includeStats) {
+        if (limit != null && limit <= 0) {
+            return ServiceResult.error(FriendGetAllError.INVALID_LIMIT);
+        }
         Optional<Person> personOptional = jwt.getPersonFromToken(accessToken);
         if (personOptional.isEmpty()) {
             return ServiceResult.error(FriendGetAllError.INVALID_ACCESS_TOKEN);
         }
         
-        Person person = personOptional.get();
-        List<Person> friends = person.getFriends();
-        
-        if (friends == null || friends.isEmpty()) {
-            return ServiceResult.success(new ArrayList<>());
+        long[] friendIds = friendGraph.friends(personOptional.get().getId());
+        Arrays.sort(friendIds);
+        int from = 0;
+        if (after != null) {
+            int index = Arrays.binarySearch(friendIds, after);
+            from = index >= 0 ? index + 1 : -index - 1;
+        }
+        int pageSize = limit == null ? MAX_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        int to = Math.min(friendIds.length, from + pageSize);
+        
+        List<FriendResponseDTO> friendDTOs = from < to
+                ? new ArrayList<>(personService.findFriendSummaries(Arrays.stream(friendIds, from, to).boxed().toList()))
+                : new ArrayList<>();
+        
+        if (includeStats && !friendDTOs.isEmpty()) {
+            Map<Long, LeaderboardEntry> entries = new HashMap<>();
+            for (LeaderboardEntry entry : leaderboardEngine.entries(friendDTOs.stream().map(FriendResponseDTO::getPersonId).toList())) {
+                entries.put(entry.getPersonId(), entry);
+            }
+            for (FriendResponseDTO friendDTO : friendDTOs) {
+                LeaderboardEntry entry = entries.get(friendDTO.getPersonId());
+                if (entry != null) {
+                    friendDTO.setStreak(entry.getStreak());
+                    friendDTO.setScore(entry.getScore());
+                }
+            }
         }
         
-        List<FriendResponseDTO> friendDTOs = friends.stream()
-                .map(friend -> new FriendResponseDTO(
-                        friend.getUsername(),
-                        friend.getFirstName(),
-                        friend.getLastName(),
-                        friend.getEmail(),
-                        friend.getAvatarLink()))
-                .toList();
-        
-        return ServiceResult.success(friendDTOs);
+        Long next = to < friendIds.length ? friendIds[to - 1] : null;
+        return ServiceResult.success(new FriendPageDTO(friendDTOs, next));
     }
     
     public ServiceResult<Void, FriendAddError> addFriend(String accessToken, FriendDTO friendDTO) {
@@ -64,26 +103,23 @@ public class FriendService {
             return ServiceResult.error(FriendAddError.CANNOT_ADD_SELF);
         }
         
-        Optional<Person> friendOptional = personService.findById(friendDTO.getPersonId());
-        if (friendOptional.isEmpty()) {
+        Long friendId = friendDTO.getPersonId();
+        if (!personService.existsById(friendId)) {
             return ServiceResult.error(FriendAddError.PERSON_NOT_FOUND);
         }
         
-        Person friend = friendOptional.get();
-        
-        // Check if already friends
-        if (person.getFriends().contains(friend)) {
-            return ServiceResult.error(FriendAddError.ALREADY_FRIENDS);
-        }
-        
-        // Add friend to user's friend list
-        person.getFriends().add(friend);
-        Optional<Person> updatedPerson = personService.save(person);
-        
-        if (updatedPerson.isEmpty()) {
+        // Friendship goes both ways, the graph writes both rows
+        try {
+            if (!friendGraph.add(person.getId(), friendId)) {
+                return ServiceResult.error(FriendAddError.ALREADY_FRIENDS);
+            }
+        } catch (DataAccessException e) {
             return ServiceResult.error(FriendAddError.FRIEND_ADD_FAILED);
         }
+        friendSuggester.friendshipChanged(person.getId(), friendId);
         
+        eventPublisher.publishEvent(new BadgeTriggerEvent(person.getId(), "FRIENDS"));
+        eventPublisher.publishEvent(new BadgeTriggerEvent(friendId, "FRIENDS"));
         return ServiceResult.success(null);
     }
     
@@ -95,26 +131,32 @@ public class FriendService {
         
         Person person = personOptional.get();
         
-        Optional<Person> friendOptional = personService.findById(friendId);
-        if (friendOptional.isEmpty()) {
+        if (!personService.existsById(friendId)) {
             return ServiceResult.error(FriendRemoveError.PERSON_NOT_FOUND);
         }
         
-        Person friend = friendOptional.get();
-        
-        // Check if they are friends
-        if (!person.getFriends().contains(friend)) {
-            return ServiceResult.error(FriendRemoveError.NOT_FRIENDS);
-        }
-        
-        // Remove friend from user's friend list
-        person.getFriends().remove(friend);
-        Optional<Person> updatedPerson = personService.save(person);
-        
-        if (updatedPerson.isEmpty()) {
+        try {
+            if (!friendGraph.remove(person.getId(), friendId)) {
+                return ServiceResult.error(FriendRemoveError.NOT_FRIENDS);
+            }
+        } catch (DataAccessException e) {
             return ServiceResult.error(FriendRemoveError.FRIEND_REMOVE_FAILED);
         }
+        friendSuggester.friendshipChanged(person.getId(), friendId);
         
         return ServiceResult.success(null);
     }
-}
\ No newline at end of file
+
+    public ServiceResult<List<FriendSuggestionDTO>, FriendSuggestionsError> getSuggestions(String accessToken, Integer limit) {
+        if (limit == null || limit <= 0) {
+            return ServiceResult.error(FriendSuggestionsError.INVALID_LIMIT);
+        }
+        Optional<Person> personOptional = jwt.getPersonFromToken(accessToken);
+        if (personOptional.isEmpty()) {
+            return ServiceResult.error(FriendSuggestionsError.INVALID_ACCESS_TOKEN);
+        }
+        
+        Long personId = personOptional.get().getId();
+        return ServiceResult.success(friendSuggester.suggest(personId, Math.min(limit, FriendSuggester.MAX_SUGGESTIONS)));
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.backend.friend.csr;
+
+import com.example.backend.badge.BadgeMetric;
+import com.example.backend.friend.FriendResponseDTO;
+import com.example.backend.friend.FriendSuggestionDTO;
+import com.example.backend.person.csr.PersonRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// People to add: friends of friends ranked by mutual friends, then by favourite courses shared with the person.
+// The second degree walk runs over FriendGraph with a bounded edge budget, and only the strongest candidates
+// reach the database: one query for shared favourites and one to load the people that are returned.
+// Rankings are cached per person for a short time and dropped when a friendship within one hop changes.
+@Component
+public class FriendSuggester {
+
+    public static final int MAX_SUGGESTIONS = 50;
+    // Candidates by mutual friends whose shared favourites are looked up
+    private static final int MAX_CANDIDATES = 4 * MAX_SUGGESTIONS;
+    private static final Comparator<Map.Entry<Long, Integer>> BY_MUTUAL_FRIENDS = Map.Entry.<Long, Integer>comparingByValue()
+            .reversed()
+            .thenComparing(Map.Entry.<Long, Integer>comparingByKey());
+
+    private final FriendGraph friendGraph;
+    private final PersonRepository personRepository;
+    private final int maxEdges;
+    private final long ttlNanos;
+    private final int maxSize;
+    private final Map<Long, Ranking> rankings;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public FriendSuggester(FriendGraph friendGraph,
+                           PersonRepository personRepository,
+                           @Value("${friends.suggestions.max-edges:100000}") int maxEdges,
+                           @Value("${friends.suggestions.ttl-seconds:60}") long ttlSeconds,
+                           @Value("${friends.suggestions.cache-size:10000}") int maxSize) {
+        this.friendGraph = friendGraph;
+        this.personRepository = personRepository;
+        this.maxEdges = maxEdges;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.maxSize = maxSize;
+        this.rankings = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Ranking> eldest) {
+                return size() > FriendSuggester.this.maxSize;
+            }
+        };
+    }
+
+    public List<FriendSuggestionDTO> suggest(long personId, int limit) {
+        long now = System.nanoTime();
+        Ranking ranking;
+        synchronized (rankings) {
+            ranking = rankings.get(personId);
+        }
+        if (ranking != null && ranking.expiresAt() - now > 0) {
+            hits.increment();
+        } else {
+            misses.increment();
+            ranking = new Ranking(rank(personId), now + ttlNanos);
+            synchronized (rankings) {
+                rankings.put(personId, ranking);
+            }
+        }
+        List<FriendSuggestionDTO> suggestions = ranking.suggestions();
+        return suggestions.subList(0, Math.min(limit, suggestions.size()));
+    }
+
+    // Both people and everyone one hop from them may have gained or lost second degree connections
+    public void friendshipChanged(long personId, long friendId) {
+        long[] personFriends = friendGraph.friends(personId);
+        long[] friendFriends = friendGraph.friends(friendId);
+        synchronized (rankings) {
+            rankings.remove(personId);
+            rankings.remove(friendId);
+            for (long id : personFriends) {
+                rankings.remove(id);
+            }
+            for (long id : friendFriends) {
+                rankings.remove(id);
+            }
+        }
+    }
+
+    private List<FriendSuggestionDTO> rank(long personId) {
+        Map<Long, Integer> mutualFriends = friendGraph.mutualFriendCounts(personId, maxEdges);
+        if (mutualFriends.isEmpty()) {
+            return List.of();
+        }
+
+        // Keep the strongest candidates with a bounded heap instead of sorting every second degree connection
+        PriorityQueue<Map.Entry<Long, Integer>> strongest = new PriorityQueue<>(BY_MUTUAL_FRIENDS.reversed());
+        for (Map.Entry<Long, Integer> entry : mutualFriends.entrySet()) {
+            strongest.add(entry);
+            if (strongest.size() > MAX_CANDIDATES) {
+                strongest.poll();
+            }
+        }
+        List<Long> candidateIds = strongest.stream().map(Map.Entry::getKey).toList();
+        Map<Long, Integer> sharedFavourites = BadgeMetric.toMap(personRepository.findSharedFavoriteCounts(personId, candidateIds));
+
+        List<Long> rankedIds = candidateIds.stream()
+                .sorted(Comparator.<Long>comparingInt(mutualFriends::get).reversed()
+                        .thenComparing(Comparator.<Long>comparingInt(id -> sharedFavourites.getOrDefault(id, 0)).reversed())
+                        .thenComparing(Comparator.naturalOrder()))
+                .limit(MAX_SUGGESTIONS)
+                .toList();
+        // Projection of the shown columns only, no Person entities with their collections and password hash
+        Map<Long, FriendResponseDTO> people = personRepository.findFriendSummaries(rankedIds).stream()
+                .collect(Collectors.toMap(FriendResponseDTO::getPersonId, Function.identity()));
+
+        List<FriendSuggestionDTO> suggestions = new ArrayList<>(rankedIds.size());
+        for (Long id : rankedIds) {
+            FriendResponseDTO person = people.get(id);
+            if (person != null) {
+                suggestions.add(new FriendSuggestionDTO(
+                        id,
+                        person.getUsername(),
+                        person.getFirstName(),
+                        person.getLastName(),
+                        person.getAvatarLink(),
+                        mutualFriends.get(id),
+                        sharedFavourites.getOrDefault(id, 0)));
+            }
+        }
+        return List.copyOf(suggestions);
+    }
+
+    public int size() {
+        synchronized (rankings) {
+            return rankings.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private record Ranking(List<FriendSuggestionDTO> suggestions, long expiresAt) {
+    }
+}
@@ -6,7 +6,8 @@ import lombok.Getter;
 @Getter
 @AllArgsConstructor
 public enum FriendGetAllError {
-    INVALID_ACCESS_TOKEN("Invalid access token");
+    INVALID_ACCESS_TOKEN("Invalid access token"),
+    INVALID_LIMIT("Invalid limit");
 
     private final String message;
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.example.backend.friend.error;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum FriendSuggestionsError {
+    INVALID_ACCESS_TOKEN("Invalid access token"),
+    INVALID_LIMIT("Invalid limit");
+
+    private final String message;
+}
@@ -1,14 +1,17 @@
 package com.example.backend.goals.csr;
 
+import com.example.backend.badge.BadgeTriggerEvent;
 import com.example.backend.enrollment.Enrollment;
 import com.example.backend.enrollment.csr.EnrollmentService;
 import com.example.backend.goals.AddEnrollmentDTO;
 import com.example.backend.goals.Goal;
 import com.example.backend.goals.GoalDTO;
 import com.example.backend.goals.error.*;
+import com.example.backend.leaderboard.csr.LeaderboardEngine;
 import com.example.backend.person.Person;
 import com.example.backend.util.JWT;
 import com.example.backend.util.ServiceResult;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -20,11 +23,15 @@ public class GoalService {
     private final JWT jwt;
     private final GoalRepository goalRepository;
     private final EnrollmentService enrollmentService;
+    private final LeaderboardEngine leaderboardEngine;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public GoalService(JWT jwt, GoalRepository goalRepository, EnrollmentService enrollmentService) {
+    public GoalService(JWT jwt, GoalRepository goalRepository, EnrollmentService enrollmentService, LeaderboardEngine leaderboardEngine, ApplicationEventPublisher eventPublisher) {
         this.jwt = jwt;
         this.goalRepository = goalRepository;
         this.enrollmentService = enrollmentService;
+        this.leaderboardEngine = leaderboardEngine;
+        this.eventPublisher = eventPublisher;
     }
 
     public Optional<Goal> save(Goal goal) {
@@ -125,6 +132,8 @@ public class GoalService {
         Enrollment enrollment = enrollmentOptional.get();
         enrollment.setCompleted(!enrollment.getCompleted());
         save(goal);
+        leaderboardEngine.enrollmentsChanged(enrollment.getPerson());
+        eventPublisher.publishEvent(new BadgeTriggerEvent(enrollment.getPerson().getId(), "COMPLETED_COURSES"));
         return ServiceResult.success(goal);
     }
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.example.backend.leaderboard;
+
+// Per person score inputs, computed in the database by PersonRepository
+public interface LeaderboardAggregate {
+    Long getPersonId();
+
+    String getUsername();
+
+    Integer getStreak();
+
+    Long getCompletedDifficulty();
+
+    Long getTotalDifficulty();
+
+    Long getEnrollmentCount();
+}
@@ -6,6 +6,7 @@ import lombok.Data;
 @Data
 @AllArgsConstructor
 public class LeaderboardDTO {
+    private Integer rank;
     private String username;
     private Integer score;
 }
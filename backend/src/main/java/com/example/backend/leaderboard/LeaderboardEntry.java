@@ -0,0 +1,44 @@
+package com.example.backend.leaderboard;
+
+import lombok.Value;
+
+@Value
+public class LeaderboardEntry {
+    Long personId;
+    String username;
+    int streak;
+    int completedDifficulty;
+    int totalDifficulty;
+    int enrollmentCount;
+    int score;
+
+    public LeaderboardEntry(Long personId, String username, int streak, int completedDifficulty, int totalDifficulty, int enrollmentCount) {
+        this.personId = personId;
+        this.username = username;
+        this.streak = streak;
+        this.completedDifficulty = completedDifficulty;
+        this.totalDifficulty = totalDifficulty;
+        this.enrollmentCount = enrollmentCount;
+        this.score = calculateScore(streak, completedDifficulty, totalDifficulty, enrollmentCount);
+    }
+
+    public static LeaderboardEntry from(LeaderboardAggregate aggregate) {
+        return new LeaderboardEntry(
+                aggregate.getPersonId(),
+                aggregate.getUsername(),
+                aggregate.getStreak(),
+                aggregate.getCompletedDifficulty().intValue(),
+                aggregate.getTotalDifficulty().intValue(),
+                aggregate.getEnrollmentCount().intValue());
+    }
+
+    public LeaderboardEntry withPerson(String username, int streak) {
+        return new LeaderboardEntry(personId, username, streak, completedDifficulty, totalDifficulty, enrollmentCount);
+    }
+
+    // Completed difficulty sum * average enrolled difficulty * 20 + streak * 10 + enrollments * 5
+    public static int calculateScore(int streak, int completedDifficulty, int totalDifficulty, int enrollmentCount) {
+        double averageDifficulty = enrollmentCount == 0 ? 0 : (double) totalDifficulty / enrollmentCount;
+        return (int) ((completedDifficulty * averageDifficulty * 20) + (streak * 10) + (enrollmentCount * 5));
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.backend.leaderboard;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class LeaderboardRankDTO {
+    private Integer rank;
+    private String username;
+    private Integer score;
+    private List<LeaderboardDTO> neighbours;
+}
@@ -1,13 +1,18 @@
 package com.example.backend.leaderboard.csr;
 
 import com.example.backend.leaderboard.LeaderboardDTO;
+import com.example.backend.leaderboard.LeaderboardRankDTO;
 import com.example.backend.leaderboard.error.LeaderboardGetAllError;
+import com.example.backend.leaderboard.error.LeaderboardGetFriendsError;
+import com.example.backend.leaderboard.error.LeaderboardGetMeError;
 import com.example.backend.util.ApiResponse;
 import com.example.backend.util.ServiceResult;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CookieValue;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -26,18 +31,56 @@ public class LeaderboardController {
         this.leaderboardService = leaderboardService;
     }
 
-    @Operation(summary = "Get all leaderboard entries")
+    @Operation(summary = "Get a page of leaderboard entries, at most 100 per page")
     @GetMapping
-    public ResponseEntity<ApiResponse<List<LeaderboardDTO>>> getAll() {
-        ServiceResult<List<LeaderboardDTO>, LeaderboardGetAllError> result = leaderboardService.getAll();
+    public ResponseEntity<ApiResponse<List<LeaderboardDTO>>> getAll(@RequestParam(defaultValue = "0") Integer offset,
+                                                                    @RequestParam(defaultValue = "100") Integer limit) {
+        ServiceResult<List<LeaderboardDTO>, LeaderboardGetAllError> result = leaderboardService.getAll(offset, limit);
         if (result.isSuccess()) {
             return new ResponseEntity<>(ApiResponse.success(result.getData()), HttpStatus.OK);
         }
 
         LeaderboardGetAllError error = result.getError();
         return switch (error) {
+            case INVALID_PAGE ->
+                    new ResponseEntity<>(ApiResponse.failed(result.getError().getMessage()), HttpStatus.BAD_REQUEST);
             case LEADERBOARD_NOT_FOUND ->
                     new ResponseEntity<>(ApiResponse.failed(result.getError().getMessage()), HttpStatus.INTERNAL_SERVER_ERROR);
         };
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "Get the current user and their friends ranked among themselves")
+    @GetMapping("/friends")
+    public ResponseEntity<ApiResponse<List<LeaderboardDTO>>> getFriends(@CookieValue("accessToken") String accessToken) {
+        ServiceResult<List<LeaderboardDTO>, LeaderboardGetFriendsError> result = leaderboardService.getFriends(accessToken);
+        if (result.isSuccess()) {
+            return new ResponseEntity<>(ApiResponse.success(result.getData()), HttpStatus.OK);
+        }
+
+        LeaderboardGetFriendsError error = result.getError();
+        return switch (error) {
+            case INVALID_ACCESS_TOKEN ->
+                    new ResponseEntity<>(ApiResponse.failed(error.getMessage()), HttpStatus.UNAUTHORIZED);
+        };
+    }
+
+    @Operation(summary = "Get the current user's rank and score with the entries around it")
+    @GetMapping("/me")
+    public ResponseEntity<ApiResponse<LeaderboardRankDTO>> getMe(@CookieValue("accessToken") String accessToken,
+                                                                 @RequestParam(defaultValue = "2") Integer window) {
+        ServiceResult<LeaderboardRankDTO, LeaderboardGetMeError> result = leaderboardService.getMe(accessToken, window);
+        if (result.isSuccess()) {
+            return new ResponseEntity<>(ApiResponse.success(result.getData()), HttpStatus.OK);
+        }
+
+        LeaderboardGetMeError error = result.getError();
+        return switch (error) {
+            case INVALID_ACCESS_TOKEN ->
+                    new ResponseEntity<>(ApiResponse.failed(error.getMessage()), HttpStatus.UNAUTHORIZED);
+            case INVALID_WINDOW ->
+                    new ResponseEntity<>(ApiResponse.failed(error.getMessage()), HttpStatus.BAD_REQUEST);
+            case PERSON_NOT_RANKED ->
+                    new ResponseEntity<>(ApiResponse.failed(error.getMessage()), HttpStatus.NOT_FOUND);
+        };
+    }
+}
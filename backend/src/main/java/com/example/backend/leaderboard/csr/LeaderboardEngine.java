@@ -0,0 +1,183 @@
+package com.example.backend.leaderboard.csr;
+
+import com.example.backend.leaderboard.LeaderboardAggregate;
+import com.example.backend.leaderboard.LeaderboardEntry;
+import com.example.backend.person.Person;
+import com.example.backend.person.csr.PersonRepository;
+import com.example.backend.util.OrderStatisticTree;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+// Keeps a materialized score per person in an order-statistic tree, so leaderboard reads never touch the
+// database and rank lookups stay logarithmic.
+// The ranking is built on first read from a single aggregate query and then kept up to date by the services
+// that change its inputs.
+@Component
+public class LeaderboardEngine {
+
+    private static final Comparator<LeaderboardEntry> RANKING = Comparator
+            .comparingInt(LeaderboardEntry::getScore).reversed()
+            .thenComparing(LeaderboardEntry::getPersonId);
+
+    private final PersonRepository personRepository;
+
+    private final Map<Long, LeaderboardEntry> entries = new HashMap<>();
+    private final OrderStatisticTree<LeaderboardEntry> ranking = new OrderStatisticTree<>(RANKING);
+    // Every write and rebuild takes the next sequence number. A person's entry remembers the last one applied to it,
+    // so an aggregate read before a newer write landed is recognised as stale
+    private final Map<Long, Long> sequences = new HashMap<>();
+    private long sequence = 0;
+    private long loadedSequence = 0;
+    private boolean loaded = false;
+
+    public LeaderboardEngine(PersonRepository personRepository) {
+        this.personRepository = personRepository;
+    }
+
+    public List<LeaderboardEntry> top(int limit) {
+        return page(0, limit);
+    }
+
+    public synchronized List<LeaderboardEntry> page(int offset, int limit) {
+        ensureLoaded();
+        return ranking.range(offset, limit);
+    }
+
+    // Entries of the given people only, in ranking order. Looked up in the score table, so the cost follows
+    // the number of ids rather than the number of people on the leaderboard
+    public List<LeaderboardEntry> entries(Collection<Long> personIds) {
+        List<LeaderboardEntry> found = new ArrayList<>(personIds.size());
+        synchronized (this) {
+            ensureLoaded();
+            for (Long personId : personIds) {
+                LeaderboardEntry entry = entries.get(personId);
+                if (entry != null) {
+                    found.add(entry);
+                }
+            }
+        }
+        found.sort(RANKING);
+        return found;
+    }
+
+    public synchronized Optional<LeaderboardEntry> findByPersonId(Long personId) {
+        ensureLoaded();
+        return Optional.ofNullable(entries.get(personId));
+    }
+
+    // Zero based rank of the person, or -1 when the person is not ranked
+    public synchronized int rank(Long personId) {
+        ensureLoaded();
+        LeaderboardEntry entry = entries.get(personId);
+        return entry == null ? -1 : ranking.rank(entry);
+    }
+
+    // The person's rank and entry with up to window entries on each side, read under one lock so they agree
+    public synchronized Optional<Standing> standing(Long personId, int window) {
+        ensureLoaded();
+        LeaderboardEntry entry = entries.get(personId);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        int rank = ranking.rank(entry);
+        int offset = Math.max(0, rank - window);
+        return Optional.of(new Standing(rank, entry, offset, ranking.range(offset, rank - offset + window + 1)));
+    }
+
+    public synchronized int size() {
+        ensureLoaded();
+        return entries.size();
+    }
+
+    // Streak or username changed
+    public void personChanged(Person person) {
+        if (person == null || person.getId() == null) {
+            return;
+        }
+        synchronized (this) {
+            if (!loaded) {
+                return;
+            }
+            LeaderboardEntry existing = entries.get(person.getId());
+            if (existing != null) {
+                sequences.put(person.getId(), ++sequence);
+                put(existing.withPerson(person.getUsername(), person.getStreak()));
+                return;
+            }
+        }
+        enrollmentsChanged(person);
+    }
+
+    // An enrollment was created or its progress/completion changed. The aggregate is read outside the lock, if
+    // another write for the person or a rebuild landed meanwhile the read may be older than it and is repeated
+    public void enrollmentsChanged(Person person) {
+        if (person == null || person.getId() == null) {
+            return;
+        }
+        Long personId = person.getId();
+        while (true) {
+            long readSequence;
+            synchronized (this) {
+                if (!loaded) {
+                    return;
+                }
+                readSequence = ++sequence;
+            }
+            Optional<LeaderboardAggregate> aggregate = personRepository.findLeaderboardAggregateById(personId);
+            synchronized (this) {
+                if (!loaded) {
+                    return;
+                }
+                if (readSequence < loadedSequence || readSequence < sequences.getOrDefault(personId, 0L)) {
+                    continue;
+                }
+                sequences.put(personId, readSequence);
+                if (aggregate.isPresent()) {
+                    put(LeaderboardEntry.from(aggregate.get()));
+                } else {
+                    remove(personId);
+                }
+                return;
+            }
+        }
+    }
+
+    // Drops the ranking so the next read rebuilds it, for bulk writes that skip the per-person updates
+    public synchronized void invalidate() {
+        entries.clear();
+        ranking.clear();
+        sequences.clear();
+        loaded = false;
+    }
+
+    // Zero based rank, neighbours start at the zero based offset
+    public record Standing(int rank, LeaderboardEntry entry, int offset, List<LeaderboardEntry> neighbours) {
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        loadedSequence = ++sequence;
+        for (LeaderboardAggregate aggregate : personRepository.findLeaderboardAggregates()) {
+            put(LeaderboardEntry.from(aggregate));
+        }
+        loaded = true;
+    }
+
+    private void put(LeaderboardEntry entry) {
+        LeaderboardEntry previous = entries.put(entry.getPersonId(), entry);
+        if (previous != null) {
+            ranking.remove(previous);
+        }
+        ranking.add(entry);
+    }
+
+    private void remove(Long personId) {
+        LeaderboardEntry previous = entries.remove(personId);
+        if (previous != null) {
+            ranking.remove(previous);
+        }
+    }
+}
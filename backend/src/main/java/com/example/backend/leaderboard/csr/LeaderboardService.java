@@ -1,57 +1,92 @@
 package com.example.backend.leaderboard.csr;
 
-import com.example.backend.enrollment.Enrollment;
-import com.example.backend.enrollment.csr.EnrollmentService;
+import com.example.backend.friend.csr.FriendGraph;
 import com.example.backend.leaderboard.LeaderboardDTO;
+import com.example.backend.leaderboard.LeaderboardEntry;
+import com.example.backend.leaderboard.LeaderboardRankDTO;
 import com.example.backend.leaderboard.error.LeaderboardGetAllError;
+import com.example.backend.leaderboard.error.LeaderboardGetFriendsError;
+import com.example.backend.leaderboard.error.LeaderboardGetMeError;
 import com.example.backend.person.Person;
-import com.example.backend.person.csr.PersonService;
+import com.example.backend.util.JWT;
 import com.example.backend.util.ServiceResult;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class LeaderboardService {
 
-    private final PersonService personService;
-    private final EnrollmentService enrollmentService;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_WINDOW = 10;
 
-    public LeaderboardService(PersonService personService, EnrollmentService enrollmentService) {
-        this.personService = personService;
-        this.enrollmentService = enrollmentService;
+    private final JWT jwt;
+    private final LeaderboardEngine leaderboardEngine;
+    private final FriendGraph friendGraph;
+
+    public LeaderboardService(JWT jwt, LeaderboardEngine leaderboardEngine, FriendGraph friendGraph) {
+        this.jwt = jwt;
+        this.leaderboardEngine = leaderboardEngine;
+        this.friendGraph = friendGraph;
     }
 
-    public ServiceResult<List<LeaderboardDTO>, LeaderboardGetAllError> getAll() {
-        List<Person> persons = personService.findAll();
-        if (persons.isEmpty()) {
+    public ServiceResult<List<LeaderboardDTO>, LeaderboardGetAllError> getAll(Integer offset, Integer limit) {
+        if (offset == null || offset < 0 || limit == null || limit <= 0) {
+            return ServiceResult.error(LeaderboardGetAllError.INVALID_PAGE);
+        }
+        if (leaderboardEngine.size() == 0) {
             return ServiceResult.error(LeaderboardGetAllError.LEADERBOARD_NOT_FOUND);
         }
 
-        List<LeaderboardDTO> leaderboard = persons.stream()
-                .map(person -> new LeaderboardDTO(person.getUsername(), calculatePoints(person)))
-                .sorted((a, b) -> Integer.compare(b.getScore(), a.getScore()))
-                .toList();
-
-        return ServiceResult.success(leaderboard);
+        List<LeaderboardEntry> entries = leaderboardEngine.page(offset, Math.min(limit, MAX_PAGE_SIZE));
+        return ServiceResult.success(toDTOs(entries, offset));
     }
 
-    private Integer calculatePoints(Person person) {
-        List<Enrollment> enrollments = enrollmentService.findByPersonId(person.getId());
+    public ServiceResult<LeaderboardRankDTO, LeaderboardGetMeError> getMe(String accessToken, Integer window) {
+        if (window == null || window < 0 || window > MAX_WINDOW) {
+            return ServiceResult.error(LeaderboardGetMeError.INVALID_WINDOW);
+        }
+        Optional<Person> personOptional = jwt.getPersonFromToken(accessToken);
+        if (personOptional.isEmpty()) {
+            return ServiceResult.error(LeaderboardGetMeError.INVALID_ACCESS_TOKEN);
+        }
+
+        Optional<LeaderboardEngine.Standing> standingOptional = leaderboardEngine.standing(personOptional.get().getId(), window);
+        if (standingOptional.isEmpty()) {
+            return ServiceResult.error(LeaderboardGetMeError.PERSON_NOT_RANKED);
+        }
 
-        int completedCourses = enrollments.stream()
-                .filter(Enrollment::isCompleted)
-                .mapToInt(enrollment -> enrollment.getCourse().getDifficulty())
-                .sum();
+        LeaderboardEngine.Standing standing = standingOptional.get();
+        LeaderboardEntry entry = standing.entry();
+        return ServiceResult.success(new LeaderboardRankDTO(standing.rank() + 1, entry.getUsername(), entry.getScore(),
+                toDTOs(standing.neighbours(), standing.offset())));
+    }
 
-        double averageDifficulty = enrollments.stream()
-                .mapToInt(enrollment -> enrollment.getCourse().getDifficulty())
-                .average()
-                .orElse(0);
+    // The caller and their friends, ranked among themselves
+    public ServiceResult<List<LeaderboardDTO>, LeaderboardGetFriendsError> getFriends(String accessToken) {
+        Optional<Person> personOptional = jwt.getPersonFromToken(accessToken);
+        if (personOptional.isEmpty()) {
+            return ServiceResult.error(LeaderboardGetFriendsError.INVALID_ACCESS_TOKEN);
+        }
 
-        int streakDays = person.getStreak();
-        int enrollmentsCount = enrollments.size();
+        Long personId = personOptional.get().getId();
+        long[] friendIds = friendGraph.friends(personId);
+        List<Long> personIds = new ArrayList<>(friendIds.length + 1);
+        personIds.add(personId);
+        for (long friendId : friendIds) {
+            personIds.add(friendId);
+        }
+        return ServiceResult.success(toDTOs(leaderboardEngine.entries(personIds), 0));
+    }
 
-        return (int) ((completedCourses * averageDifficulty * 20) + (streakDays * 10) + (enrollmentsCount * 5));
+    private List<LeaderboardDTO> toDTOs(List<LeaderboardEntry> entries, int offset) {
+        List<LeaderboardDTO> leaderboard = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            LeaderboardEntry entry = entries.get(i);
+            leaderboard.add(new LeaderboardDTO(offset + i + 1, entry.getUsername(), entry.getScore()));
+        }
+        return leaderboard;
     }
 }
@@ -6,6 +6,7 @@ import lombok.Getter;
 @Getter
 @AllArgsConstructor
 public enum LeaderboardGetAllError {
+    INVALID_PAGE("Invalid limit or offset"),
     LEADERBOARD_NOT_FOUND("Leaderboard not found");
 
     private final String message;
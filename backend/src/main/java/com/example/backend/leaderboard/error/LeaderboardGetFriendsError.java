@@ -0,0 +1,12 @@
+package com.example.backend.leaderboard.error;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum LeaderboardGetFriendsError {
+    INVALID_ACCESS_TOKEN("Invalid access token");
+
+    private final String message;
+}
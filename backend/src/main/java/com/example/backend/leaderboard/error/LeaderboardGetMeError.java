@@ -0,0 +1,14 @@
+package com.example.backend.leaderboard.error;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum LeaderboardGetMeError {
+    INVALID_ACCESS_TOKEN("Invalid access token"),
+    INVALID_WINDOW("Invalid window"),
+    PERSON_NOT_RANKED("Person not found on leaderboard");
+
+    private final String message;
+}
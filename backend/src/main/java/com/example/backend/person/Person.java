@@ -2,20 +2,31 @@ package com.example.backend.person;
 
 import com.example.backend.course.Course;
 import com.example.backend.badge.Badge;
+import com.example.backend.person.csr.PersonUsernameListener;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.Immutable;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
+// Saves only write the columns that changed, the streak itself is maintained by PersonRepository.advanceStreak
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_person_username", columnNames = "username"))
+@EntityListeners(PersonUsernameListener.class)
 @Data
 @NoArgsConstructor
+@DynamicUpdate
 public class Person {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "person_seq")
+    @SequenceGenerator(name = "person_seq", sequenceName = "person_seq", allocationSize = 50)
     private Long id;
     private String username;
     private String password;
@@ -38,11 +49,16 @@ public class Person {
     @JoinTable(
             name = "person_badges",
             joinColumns = @JoinColumn(name = "person_id"),
-            inverseJoinColumns = @JoinColumn(name = "badge_id")
+            inverseJoinColumns = @JoinColumn(name = "badge_id"),
+            uniqueConstraints = @UniqueConstraint(name = "uk_person_badges", columnNames = {"person_id", "badge_id"})
     )
     private List<Badge> badges = new ArrayList<>();
 
+    // Read-only, FriendGraph writes person_friends with a row for each direction, so change friendships
+    // through the graph and ask it instead of walking this list
     @ManyToMany
+    @Immutable
+    @Setter(AccessLevel.NONE)
     @JoinTable(
             name = "person_friends",
             joinColumns = @JoinColumn(name = "person_id"),
@@ -84,4 +100,8 @@ public class Person {
         this.email = email;
         this.avatarLink = avatarLink;
     }
+
+    public List<Person> getFriends() {
+        return Collections.unmodifiableList(friends);
+    }
 }
@@ -1,10 +1,77 @@
 package com.example.backend.person.csr;
 
+import com.example.backend.badge.BadgeMetric;
+import com.example.backend.friend.FriendResponseDTO;
+import com.example.backend.leaderboard.LeaderboardAggregate;
 import com.example.backend.person.Person;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface PersonRepository extends JpaRepository<Person, Long> {
+    String LEADERBOARD_AGGREGATE_QUERY = """
+            SELECT p.id AS personId,
+                   p.username AS username,
+                   COALESCE(p.streak, 0) AS streak,
+                   COALESCE(SUM(CASE WHEN e.timeSpent >= c.estimatedDuration OR e.completed = true
+                                     THEN c.difficulty ELSE 0 END), 0) AS completedDifficulty,
+                   COALESCE(SUM(c.difficulty), 0) AS totalDifficulty,
+                   COUNT(e.id) AS enrollmentCount
+            FROM Person p
+            LEFT JOIN Enrollment e ON e.person = p
+            LEFT JOIN e.course c
+            """;
+
     Optional<Person> findByUsername(String username);
+
+    @Query(LEADERBOARD_AGGREGATE_QUERY + " GROUP BY p.id, p.username, p.streak")
+    List<LeaderboardAggregate> findLeaderboardAggregates();
+
+    @Query(LEADERBOARD_AGGREGATE_QUERY + " WHERE p.id = :personId GROUP BY p.id, p.username, p.streak")
+    Optional<LeaderboardAggregate> findLeaderboardAggregateById(@Param("personId") Long personId);
+
+    @Query("SELECT p.id AS personId, COALESCE(p.streak, 0) AS metric FROM Person p WHERE p.id IN :personIds")
+    List<BadgeMetric> findStreakMetrics(@Param("personIds") Collection<Long> personIds);
+
+    @Query("SELECT p.id AS personId, COUNT(c) AS metric FROM Person p JOIN p.favoriteCourses c WHERE p.id IN :personIds GROUP BY p.id")
+    List<BadgeMetric> findFavoriteCountMetrics(@Param("personIds") Collection<Long> personIds);
+
+    // Only the columns the friend list shows, so no Person entities or their collections are loaded
+    @Query("SELECT new com.example.backend.friend.FriendResponseDTO(p.id, p.username, p.firstName, p.lastName, p.email, p.avatarLink) FROM Person p WHERE p.id IN :personIds ORDER BY p.id")
+    List<FriendResponseDTO> findFriendSummaries(@Param("personIds") Collection<Long> personIds);
+
+    // Number of favourite courses each of the people shares with the given person
+    @Query("""
+            SELECT p.id AS personId, COUNT(c) AS metric
+            FROM Person p
+            JOIN p.favoriteCourses c
+            WHERE p.id IN :personIds
+              AND c IN (SELECT fc FROM Person me JOIN me.favoriteCourses fc WHERE me.id = :personId)
+            GROUP BY p.id
+            """)
+    List<BadgeMetric> findSharedFavoriteCounts(@Param("personId") Long personId, @Param("personIds") Collection<Long> personIds);
+
+    // Keyset pagination over person ids, pass PageRequest.of(0, size) to bound the chunk
+    @Query("SELECT p.id FROM Person p WHERE p.id > :afterId ORDER BY p.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Increments the streak after a login yesterday and resets it otherwise, at most once per day.
+    // Returns 0 when the person already logged in today, so concurrent logins cannot both increment it.
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE Person p
+            SET p.streak = CASE WHEN p.lastLoginDate = :yesterday THEN COALESCE(p.streak, 0) + 1 ELSE 1 END,
+                p.lastLoginDate = :today
+            WHERE p.id = :personId AND (p.lastLoginDate IS NULL OR p.lastLoginDate < :today)
+            """)
+    int advanceStreak(@Param("personId") Long personId, @Param("today") LocalDate today, @Param("yesterday") LocalDate yesterday);
 }
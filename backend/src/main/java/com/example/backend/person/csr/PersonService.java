@@ -1,33 +1,57 @@
 package com.example.backend.person.csr;
 
-import at.favre.lib.crypto.bcrypt.BCrypt;
+import com.example.backend.badge.BadgeTriggerEvent;
 import com.example.backend.course.Course;
+import com.example.backend.friend.FriendResponseDTO;
 import com.example.backend.person.Person;
-import com.example.backend.person.PersonDTO;
 import com.example.backend.profile.ProfileDTO;
 import com.example.backend.util.ServiceResult;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Service
 public class PersonService {
     private final PersonRepository personRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UsernameFilter usernameFilter;
 
-    public PersonService(PersonRepository personRepository) {
+    public PersonService(PersonRepository personRepository, ApplicationEventPublisher eventPublisher, UsernameFilter usernameFilter) {
         this.personRepository = personRepository;
+        this.eventPublisher = eventPublisher;
+        this.usernameFilter = usernameFilter;
     }
 
     public Optional<Person> findByUsername(String username) {
         return personRepository.findByUsername(username);
     }
 
+    // Skips the query for usernames the filter knows were never registered
+    public Optional<Person> findByUsernameIfKnown(String username) {
+        if (!usernameFilter.mightContain(username)) {
+            return Optional.empty();
+        }
+        return personRepository.findByUsername(username);
+    }
+
     public Optional<Person> findById(Long id) {
         return personRepository.findById(id);
     }
 
+    public List<FriendResponseDTO> findFriendSummaries(Collection<Long> ids) {
+        return personRepository.findFriendSummaries(ids);
+    }
+
+    public boolean existsById(Long id) {
+        return personRepository.existsById(id);
+    }
+
     public List<Person> findAll() {
         return personRepository.findAll();
     }
@@ -36,17 +60,37 @@ public class PersonService {
         return Optional.of(personRepository.save(person));
     }
 
-    public Optional<Person> saveNewPerson(PersonDTO personDTO) {
-        Person person = new Person(personDTO.getUsername(), BCrypt.withDefaults().hashToString(12, personDTO.getPassword().toCharArray()));
-        return save(person);
+    // Moves the streak forward with one conditional UPDATE instead of merging the whole person.
+    // Returns whether this call advanced it; the new values are mirrored onto the given person.
+    public boolean advanceStreak(Person person, LocalDate today) {
+        LocalDate yesterday = today.minusDays(1);
+        if (personRepository.advanceStreak(person.getId(), today, yesterday) == 0) {
+            return false;
+        }
+        // The row matched with the lastLoginDate we loaded, since any other login today would have moved it to today
+        int streak = yesterday.equals(person.getLastLoginDate()) && person.getStreak() != null ? person.getStreak() + 1 : 1;
+        person.setStreak(streak);
+        person.setLastLoginDate(today);
+        return true;
+    }
+
+    // Passwords are hashed by PasswordHasher before they get here. Empty when the username is taken
+    public Optional<Person> saveNewPerson(String username, String passwordHash) {
+        Person person = new Person(username, passwordHash);
+        try {
+            return save(person);
+        } catch (DataIntegrityViolationException e) {
+            return Optional.empty();
+        }
     }
 
-    public Optional<Person> updatePerson(Person person, ProfileDTO profileDTO) {
+    // passwordHash is null when the password does not change
+    public Optional<Person> updatePerson(Person person, ProfileDTO profileDTO, String passwordHash) {
         if (profileDTO.getUsername() != null && !profileDTO.getUsername().isEmpty()) {
             person.setUsername(profileDTO.getUsername());
         }
-        if (profileDTO.getPassword() != null && !profileDTO.getPassword().isEmpty()) {
-            person.setPassword(BCrypt.withDefaults().hashToString(12, profileDTO.getPassword().toCharArray()));
+        if (passwordHash != null) {
+            person.setPassword(passwordHash);
         }
         if (profileDTO.getFirstName() != null && !profileDTO.getFirstName().isEmpty()) {
             person.setFirstName(profileDTO.getFirstName());
@@ -60,18 +104,17 @@ public class PersonService {
         if (profileDTO.getAvatarLink() != null && !profileDTO.getAvatarLink().isEmpty()) {
             person.setAvatarLink(profileDTO.getAvatarLink());
         }
-        return save(person);
-    }
-
-    public Optional<Person> verifyPassword(PersonDTO personDTO) {
-        Optional<Person> personOptional = findByUsername(personDTO.getUsername());
-        if (personOptional.isEmpty()) {
+        try {
+            return save(person);
+        } catch (DataIntegrityViolationException e) {
+            // Renamed to a username that is already taken
             return Optional.empty();
         }
+    }
 
-        Person person = personOptional.get();
-        BCrypt.Result result = BCrypt.verifyer().verify(personDTO.getPassword().toCharArray(), person.getPassword());
-        return result.verified ? Optional.of(person) : Optional.empty();
+    public Optional<Person> updatePassword(Person person, String passwordHash) {
+        person.setPassword(passwordHash);
+        return save(person);
     }
 
     public Optional<Person> addFavouriteCourse(Person person, Course course) {
@@ -79,7 +122,9 @@ public class PersonService {
             return Optional.empty();
         }
         person.getFavoriteCourses().add(course);
-        return save(person);
+        Optional<Person> saved = save(person);
+        eventPublisher.publishEvent(new BadgeTriggerEvent(person.getId(), "FAVORITE"));
+        return saved;
     }
 
     public Optional<Person> removeFavouriteCourse(Person person, Course course) {
@@ -90,28 +135,6 @@ public class PersonService {
         return save(person);
     }
     
-    public Optional<Person> addFriend(Person person, Person friend) {
-        // Check if already friends
-        if (person.getFriends().contains(friend)) {
-            return Optional.empty();
-        }
-        person.getFriends().add(friend);
-        return save(person);
-    }
-    
-    public Optional<Person> removeFriend(Person person, Person friend) {
-        // Check if they are friends
-        if (!person.getFriends().contains(friend)) {
-            return Optional.empty();
-        }
-        person.getFriends().remove(friend);
-        return save(person);
-    }
-    
-    public List<Person> getFriends(Person person) {
-        return person.getFriends();
-    }
-
     public ServiceResult<List<Person>, Void> getAll() {
         return ServiceResult.success(findAll());
     }
@@ -0,0 +1,25 @@
+package com.example.backend.person.csr;
+
+import com.example.backend.person.Person;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+// JPA entity listener on Person, created through Spring so every insert and rename reaches the username filter.
+// Adding before commit is harmless, a rolled back name is just one more false positive.
+// The filter is looked up per call because Hibernate creates the listener while the entity manager factory is
+// built, before the DataSource beans the filter depends on may be injected.
+public class PersonUsernameListener {
+
+    private final ObjectProvider<UsernameFilter> usernameFilterProvider;
+
+    public PersonUsernameListener(ObjectProvider<UsernameFilter> usernameFilterProvider) {
+        this.usernameFilterProvider = usernameFilterProvider;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void personSaved(Person person) {
+        usernameFilterProvider.getObject().add(person.getUsername());
+    }
+}
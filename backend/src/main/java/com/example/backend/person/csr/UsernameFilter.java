@@ -0,0 +1,166 @@
+package com.example.backend.person.csr;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Bloom filter of every username, so a login for a name that was never registered can skip the database.
+// Filled from the person table at startup and kept current by PersonUsernameListener on every insert and rename.
+// Names are lower-cased because the database collation may match usernames case-insensitively.
+// Renamed-away names stay in the filter as false positives, which only cost the lookup we would have done anyway.
+// At the default 1% false positive rate it takes about 9.6 bits per user, roughly 11.4 MiB for 10M users.
+@Component
+public class UsernameFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(UsernameFilter.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long expectedUsers;
+    private final double falsePositiveRate;
+
+    // Null until loaded, everything might exist until then
+    private volatile Bits bits;
+    // Names added before a load publishes its filter. Created up front, so a signup that commits after the load
+    // query ran is kept even when it was added before the load started
+    private List<String> pending = new ArrayList<>();
+    private final Object loadLock = new Object();
+
+    public UsernameFilter(JdbcTemplate jdbcTemplate,
+                          @Value("${auth.username-filter.expected-users:1000000}") long expectedUsers,
+                          @Value("${auth.username-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.expectedUsers = expectedUsers;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        synchronized (loadLock) {
+            long start = System.nanoTime();
+            synchronized (this) {
+                if (pending == null) {
+                    pending = new ArrayList<>();
+                }
+            }
+            Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM person", Long.class);
+            // Leave room to grow before the false positive rate degrades
+            Bits loaded = new Bits(Math.max(expectedUsers, 2 * (count == null ? 0 : count)), falsePositiveRate);
+            jdbcTemplate.query("SELECT username FROM person", resultSet -> {
+                String username = resultSet.getString(1);
+                if (username != null) {
+                    loaded.put(key(username));
+                }
+            });
+            synchronized (this) {
+                for (String key : pending) {
+                    loaded.put(key);
+                }
+                pending = null;
+                bits = loaded;
+            }
+            logger.info("Loaded {} usernames into a {} KiB filter in {} ms",
+                    count, loaded.sizeBytes() / 1024, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    // Synchronized with the hand-over in load, so a name lands in the published filter or in pending, never neither
+    public synchronized void add(String username) {
+        if (username == null) {
+            return;
+        }
+        String key = key(username);
+        if (bits != null) {
+            bits.put(key);
+        }
+        if (pending != null) {
+            pending.add(key);
+        }
+    }
+
+    // False means the username was certainly never registered
+    public boolean mightContain(String username) {
+        Bits current = bits;
+        return current == null || current.mightContain(key(username));
+    }
+
+    public long sizeBytes() {
+        Bits current = bits;
+        return current == null ? 0 : current.sizeBytes();
+    }
+
+    public static long sizeBytes(long expectedUsers, double falsePositiveRate) {
+        return new Bits(expectedUsers, falsePositiveRate).sizeBytes();
+    }
+
+    private static String key(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    // Bits are set with atomic ORs, so concurrent adds and lookups need no lock
+    private static final class Bits {
+        private final long bitCount;
+        private final int hashCount;
+        private final AtomicLongArray words;
+
+        Bits(long expected, double falsePositiveRate) {
+            long n = Math.max(1, expected);
+            long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.words = new AtomicLongArray((int) ((m + 63) / 64));
+            this.bitCount = words.length() * 64L;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+        }
+
+        void put(String key) {
+            long h1 = hash(key);
+            long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                words.accumulateAndGet((int) (bit >>> 6), 1L << bit, (word, mask) -> word | mask);
+            }
+        }
+
+        boolean mightContain(String key) {
+            long h1 = hash(key);
+            long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        long sizeBytes() {
+            return bitCount / 8;
+        }
+
+        // FNV-1a over the characters, then a murmur3 finalizer to spread the bits
+        private static long hash(String key) {
+            long h = 0xcbf29ce484222325L;
+            for (int i = 0; i < key.length(); i++) {
+                h ^= key.charAt(i);
+                h *= 0x100000001b3L;
+            }
+            return mix(h);
+        }
+
+        private static long mix(long h) {
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
@@ -34,6 +34,7 @@ public class ProfileController {
         return switch (error) {
             case INVALID_ACCESS_TOKEN -> new ResponseEntity<>(ApiResponse.failed(error.getMessage()), HttpStatus.UNAUTHORIZED);
             case PROFILE_UPDATE_FAILED -> new ResponseEntity<>(ApiResponse.failed(error.getMessage()), HttpStatus.INTERNAL_SERVER_ERROR);
+            case SERVICE_BUSY -> new ResponseEntity<>(ApiResponse.failed(error.getMessage()), HttpStatus.SERVICE_UNAVAILABLE);
         };
     }   
 }
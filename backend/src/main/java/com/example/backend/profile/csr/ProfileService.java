@@ -4,11 +4,13 @@ import java.util.Optional;
 
 import org.springframework.stereotype.Service;
 
+import com.example.backend.leaderboard.csr.LeaderboardEngine;
 import com.example.backend.person.Person;
 import com.example.backend.person.csr.PersonService;
 import com.example.backend.profile.ProfileDTO;
 import com.example.backend.profile.error.ProfileUpdateError;
 import com.example.backend.util.JWT;
+import com.example.backend.util.PasswordHasher;
 import com.example.backend.util.ServiceResult;
 
 @Service
@@ -16,10 +18,14 @@ public class ProfileService {
 
     private final JWT jwt;
     private final PersonService personService;
+    private final LeaderboardEngine leaderboardEngine;
+    private final PasswordHasher passwordHasher;
 
-    public ProfileService(JWT jwt, PersonService personService) {
+    public ProfileService(JWT jwt, PersonService personService, LeaderboardEngine leaderboardEngine, PasswordHasher passwordHasher) {
         this.jwt = jwt;
         this.personService = personService;
+        this.leaderboardEngine = leaderboardEngine;
+        this.passwordHasher = passwordHasher;
     }
 
     public ServiceResult<Void, ProfileUpdateError> update(String accessToken, ProfileDTO profileDTO) {
@@ -28,8 +34,17 @@ public class ProfileService {
             return ServiceResult.error(ProfileUpdateError.INVALID_ACCESS_TOKEN);
         }
         Person person = personOptional.get();
-        personOptional = personService.updatePerson(person, profileDTO);
+        String passwordHash = null;
+        if (profileDTO.getPassword() != null && !profileDTO.getPassword().isEmpty()) {
+            Optional<String> hashOptional = passwordHasher.hash(profileDTO.getPassword());
+            if (hashOptional.isEmpty()) {
+                return ServiceResult.error(ProfileUpdateError.SERVICE_BUSY);
+            }
+            passwordHash = hashOptional.get();
+        }
+        personOptional = personService.updatePerson(person, profileDTO, passwordHash);
         if (personOptional.isPresent()) {
+            leaderboardEngine.personChanged(personOptional.get());
             return ServiceResult.success(null);
         }
         return ServiceResult.error(ProfileUpdateError.PROFILE_UPDATE_FAILED);
@@ -7,7 +7,8 @@ import lombok.Getter;
 @AllArgsConstructor
 public enum ProfileUpdateError {
     INVALID_ACCESS_TOKEN("Invalid access token"),
-    PROFILE_UPDATE_FAILED("Profile update failed");
+    PROFILE_UPDATE_FAILED("Profile update failed"),
+    SERVICE_BUSY("Server is busy, please try again later");
     
     private final String message;
 }
@@ -1,39 +1,53 @@
 package com.example.backend.util;
 
 import com.example.backend.badge.Badge;
-import com.example.backend.badge.csr.BadgeRepository;
 import com.example.backend.course.Course;
-import com.example.backend.course.csr.CourseRepository;
+import com.example.backend.enrollment.EnrollmentImportDTO;
+import com.example.backend.enrollment.csr.EnrollmentService;
+import com.example.backend.friend.csr.FriendGraph;
 import com.example.backend.person.Person;
 import com.example.backend.person.csr.PersonRepository;
 import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Component
 @Profile("dev")
 public class DevDataInitializer {
 
-    private final CourseRepository courseRepository;
-    private final BadgeRepository badgeRepository;
+    private final BulkInserter bulkInserter;
     private final PersonRepository personRepository;
+    private final EnrollmentService enrollmentService;
+    private final FriendGraph friendGraph;
+    private final boolean seedEnrollments;
 
-    public DevDataInitializer(CourseRepository courseRepository, BadgeRepository badgeRepository, PersonRepository personRepository) {
-        this.courseRepository = courseRepository;
-        this.badgeRepository = badgeRepository;
+    public DevDataInitializer(BulkInserter bulkInserter, PersonRepository personRepository, EnrollmentService enrollmentService,
+                              FriendGraph friendGraph, @Value("${dev.seed-enrollments:false}") boolean seedEnrollments) {
+        this.bulkInserter = bulkInserter;
         this.personRepository = personRepository;
+        this.enrollmentService = enrollmentService;
+        this.friendGraph = friendGraph;
+        this.seedEnrollments = seedEnrollments;
     }
 
     @PostConstruct
     public void init() {
-        initCourseData();
+        List<Course> courses = initCourseData();
         initBadgeData();
-        initPersonData();
+        List<Person> people = initPersonData();
+        if (seedEnrollments) {
+            initEnrollmentData(people, courses);
+        }
 //        initFriendRelationships();
     }
 
-    public void initCourseData() {
-        courseRepository.save(new Course("Project Management Fundamentals",
+    public List<Course> initCourseData() {
+        List<Course> courses = new ArrayList<>();
+        courses.add(new Course("Project Management Fundamentals",
                 """
                         This course introduces you to the basic principles of project management and what it takes to be a successful project manager.
 
@@ -55,7 +69,7 @@ public class DevDataInitializer {
                 240,
                 2));
 
-        courseRepository.save(new Course("AI Foundations: A Collaboration of ISTE and IBM",
+        courses.add(new Course("AI Foundations: A Collaboration of ISTE and IBM",
                 """
                         There's no doubt about the importance of artificial intelligence to future generations! Your job will most certainly use some type of AI. In this digital learning offering, created by ISTE and IBM especially for high school students, you'll learn the foundational concepts behind AI systems, consider the ethical implications of AI, explore applications of AI tools, and more.
 
@@ -71,7 +85,7 @@ public class DevDataInitializer {
                 1170,
                 3));
 
-        courseRepository.save(new Course("Cloud Computing Fundamentals",
+        courses.add(new Course("Cloud Computing Fundamentals",
                 """
                         This credential earner demonstrates knowledge of cloud computing, including cloud services, deployment models,
                         virtualization, orchestration, and cloud security. The individual is aware of cloud benefits for users and businesses.
@@ -82,7 +96,7 @@ public class DevDataInitializer {
                 600,
                 3));
 
-        courseRepository.save(new Course("Cybersecurity Fundamentals",
+        courses.add(new Course("Cybersecurity Fundamentals",
                 """
                         This course will provide you with an introduction to cybersecurity.
                         From the offense perspective, you will learn about cyberattackers,
@@ -96,7 +110,7 @@ public class DevDataInitializer {
                 420,
                 2));
 
-        courseRepository.save(new Course("Data Fundamentals",
+        courses.add(new Course("Data Fundamentals",
                 """
                 Do you love to discover meaning in facts and numbers? Learn the
                 concepts and methods of data science and how its discoveries change the world.
@@ -110,7 +124,7 @@ public class DevDataInitializer {
                 420,
                 4));
 
-        courseRepository.save(new Course("Web Development Fundamentals",
+        courses.add(new Course("Web Development Fundamentals",
                 """
                     Would you like opportunities to express yourself creatively on the internet?
                     Web development is an exciting, growing field in tech. Learn the basics about the languages, tools,
@@ -125,7 +139,7 @@ public class DevDataInitializer {
                 720,
                 4));
 
-        courseRepository.save(new Course("Explore Emerging Tech",
+        courses.add(new Course("Explore Emerging Tech",
                 """
                         Curious about tech, but not sure where to focus? You've come to the right place.
                         
@@ -139,7 +153,7 @@ public class DevDataInitializer {
                 1170,
                 2));
 
-        courseRepository.save(new Course("Open Source Origin Stories",
+        courses.add(new Course("Open Source Origin Stories",
                 """
                    Interested in a career in technology but not sure where to begin?
                    Explore ways that hybrid cloud computing, artificial intelligence,
@@ -152,7 +166,7 @@ public class DevDataInitializer {
                 300,
                 1));
 
-        courseRepository.save(new Course("Customer Engagement Fundamentals",
+        courses.add(new Course("Customer Engagement Fundamentals",
                 """
                         If you’re intrigued by the field of customer engagement,
                         this course is for you. Learn the skills to build relationships
@@ -168,7 +182,7 @@ public class DevDataInitializer {
                 900,
                 1));
 
-        courseRepository.save(new Course("Quantum Enigmas",
+        courses.add(new Course("Quantum Enigmas",
                 """
                         Embark on a journey through the key concepts of quantum computing
                         and fascinating world of quantum enigmas. These courses are designed
@@ -202,7 +216,7 @@ public class DevDataInitializer {
                 480,
                 4));
 
-        courseRepository.save(new Course("User Experience Design Fundamentals",
+        courses.add(new Course("User Experience Design Fundamentals",
                 """
                         Are you passionate about creating exceptional user experiences?
                         UX design is a dynamic and in-demand field that focuses on crafting
@@ -219,19 +233,24 @@ public class DevDataInitializer {
                 "https://students.yourlearning.ibm.com/activity/PLAN-44E67AF54225",
                 720,
                 3));
+        bulkInserter.insertAll(courses);
+        return courses;
     }
 
     public void initBadgeData() {
-        badgeRepository.save(new Badge("First Favorite", "Added your first course to favorites", "/badges/favorite-1.png", "FAVORITE", 1));
-        badgeRepository.save(new Badge("Favorites Collector", "Added 2 courses to favorites","/badges/favorite-2.png", "FAVORITE", 2));
-        badgeRepository.save(new Badge("Favorites Enthusiast", "Added 5 courses to favorites","/badges/favorite-5.png", "FAVORITE", 5));
-        badgeRepository.save(new Badge("Favorites Addict", "Added 10 courses to favorites","/badges/favorite-10.png", "FAVORITE", 10));
-        badgeRepository.save(new Badge("Streak Starter", "Maintained a 3-day streak",   "/badges/streak-3.png", "STREAK", 3));
-        badgeRepository.save(new Badge("Streak Master", "Maintained a 7-day streak","/badges/streak-7.png", "STREAK", 7));
+        List<Badge> badges = new ArrayList<>();
+        badges.add(new Badge("First Favorite", "Added your first course to favorites", "/badges/favorite-1.png", "FAVORITE", 1));
+        badges.add(new Badge("Favorites Collector", "Added 2 courses to favorites","/badges/favorite-2.png", "FAVORITE", 2));
+        badges.add(new Badge("Favorites Enthusiast", "Added 5 courses to favorites","/badges/favorite-5.png", "FAVORITE", 5));
+        badges.add(new Badge("Favorites Addict", "Added 10 courses to favorites","/badges/favorite-10.png", "FAVORITE", 10));
+        badges.add(new Badge("Streak Starter", "Maintained a 3-day streak",   "/badges/streak-3.png", "STREAK", 3));
+        badges.add(new Badge("Streak Master", "Maintained a 7-day streak","/badges/streak-7.png", "STREAK", 7));
+        bulkInserter.insertAll(badges);
     }
 
-    public void initPersonData() {
-        personRepository.save(new Person(
+    public List<Person> initPersonData() {
+        List<Person> people = new ArrayList<>();
+        people.add(new Person(
                 "sarah_dev",
                 "$2a$12$8qx5ZWZoNW8iAH1q4CTJIe.rLkUj3y9vVnXK9VCHqCS4eYRFgfLtG",
                 8,
@@ -241,7 +260,7 @@ public class DevDataInitializer {
                 "https://randomuser.me/api/portraits/women/1.jpg"
         ));
 
-        personRepository.save(new Person(
+        people.add(new Person(
                 "alex_coder",
                 "$2a$12$LQv3c1yqBWVHxkd0LHAkCOYz6TtxMQJqhN8/LewKXcQQhJD0n/14q",
                 6,
@@ -251,7 +270,7 @@ public class DevDataInitializer {
                 "https://randomuser.me/api/portraits/men/2.jpg"
         ));
 
-        personRepository.save(new Person(
+        people.add(new Person(
                 "emma_tech",
                 "$2a$12$QmKxM7xqzxMBGpVtFBp2SO5Pf/F6FAqUw8GaO3PGYVKcNAeA7wzYe",
                 9,
@@ -261,7 +280,7 @@ public class DevDataInitializer {
                 "https://randomuser.me/api/portraits/women/3.jpg"
         ));
 
-        personRepository.save(new Person(
+        people.add(new Person(
                 "marcus_js",
                 "$2a$12$rTtPfMRF9DDgQCOrYT3EyebF0X0JW3XMCDj6J3w8TgJnQvK0NH2da",
                 2,
@@ -271,7 +290,7 @@ public class DevDataInitializer {
                 "https://randomuser.me/api/portraits/men/4.jpg"
         ));
 
-        personRepository.save(new Person(
+        people.add(new Person(
                 "priya_code",
                 "$2a$12$9ZxF1g/e.0kRfZP6zvQXR.TUHBGHDXVZEvrCwgZ8r.U8D9zGqF3TG",
                 3,
@@ -281,7 +300,7 @@ public class DevDataInitializer {
                 "https://randomuser.me/api/portraits/women/5.jpg"
         ));
 
-        personRepository.save(new Person(
+        people.add(new Person(
                 "david_py",
                 "$2a$12$tX4S7wM3CK7jC2oqW1BTE.x3pJ9F0h7uQyq0tK9Jh8NIZKjJ0r1.q",
                 12,
@@ -291,7 +310,7 @@ public class DevDataInitializer {
                 "https://randomuser.me/api/portraits/men/6.jpg"
         ));
 
-        personRepository.save(new Person(
+        people.add(new Person(
                 "lisa_ux",
                 "$2a$12$KG6H8J2u8qHRqm.6i2rIKuwkUhC.v8QJh/wC.kHWNXNqpkD2NZlt2",
                 6,
@@ -301,7 +320,7 @@ public class DevDataInitializer {
                 "https://randomuser.me/api/portraits/women/7.jpg"
         ));
 
-        personRepository.save(new Person(
+        people.add(new Person(
                 "james_ai",
                 "$2a$12$1VqdrKP7YqS.ZRH90oI9zOIUFtqX9vhRzZ6oKx.0jJ0fvK1l3eJlq",
                 9,
@@ -311,7 +330,7 @@ public class DevDataInitializer {
                 "https://randomuser.me/api/portraits/men/8.jpg"
         ));
 
-        personRepository.save(new Person(
+        people.add(new Person(
                 "sofia_data",
                 "$2a$12$mKZ8P0ZyQ3X9Y8YqR.zVv.3z8x9.U8q9tfbQZ9K6kH0TvKJ.4GXEC",
                 2,
@@ -321,7 +340,7 @@ public class DevDataInitializer {
                 "https://randomuser.me/api/portraits/women/9.jpg"
         ));
 
-        personRepository.save(new Person(
+        people.add(new Person(
                 "ryan_dev",
                 "$2a$12$QK0JE/KlM0e.Z2VKvEeC8e4WgHpL7ObJ0QoRywU.JYFoX8hKX2p.2",
                 5,
@@ -330,6 +349,22 @@ public class DevDataInitializer {
                 "ryan.taylor@email.com",
                 "https://randomuser.me/api/portraits/men/10.jpg"
         ));
+        bulkInserter.insertAll(people);
+        return people;
+    }
+
+    // Three courses per person, the first one finished, so the leaderboard and recommendations have data
+    public void initEnrollmentData(List<Person> people, List<Course> courses) {
+        List<EnrollmentImportDTO> enrollments = new ArrayList<>();
+        for (int i = 0; i < people.size(); i++) {
+            for (int j = 0; j < 3; j++) {
+                Course course = courses.get((i + 4 * j) % courses.size());
+                boolean completed = j == 0;
+                int timeSpent = completed ? course.getEstimatedDuration() : course.getEstimatedDuration() * (i % 4) / 4;
+                enrollments.add(new EnrollmentImportDTO(people.get(i).getId(), course.getId(), timeSpent, completed));
+            }
+        }
+        enrollmentService.importEnrollments(enrollments);
     }
     
     public void initFriendRelationships() {
@@ -341,24 +376,17 @@ public class DevDataInitializer {
         Person priya = personRepository.findByUsername("priya_code").orElse(null);
         
         if (sarah != null && alex != null && emma != null && marcus != null && priya != null) {
-            // Add friend relationships
+            // Add friend relationships through the graph, which writes both directions
             // Sarah is friends with Alex and Emma
-            sarah.getFriends().add(alex);
-            sarah.getFriends().add(emma);
+            friendGraph.add(sarah.getId(), alex.getId());
+            friendGraph.add(sarah.getId(), emma.getId());
             
             // Alex is friends with Emma and Marcus
-            alex.getFriends().add(emma);
-            alex.getFriends().add(marcus);
+            friendGraph.add(alex.getId(), emma.getId());
+            friendGraph.add(alex.getId(), marcus.getId());
             
             // Emma is friends with Priya
-            emma.getFriends().add(priya);
-            
-            // Save the updated person entities
-            personRepository.save(sarah);
-            personRepository.save(alex);
-            personRepository.save(emma);
-            personRepository.save(marcus);
-            personRepository.save(priya);
+            friendGraph.add(emma.getId(), priya.getId());
         }
     }
 
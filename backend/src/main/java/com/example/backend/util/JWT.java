@@ -2,12 +2,16 @@ package com.example.backend.util;
 
 import com.example.backend.person.Person;
 import com.example.backend.person.csr.PersonService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
@@ -15,13 +19,22 @@ import java.util.Optional;
 
 @Service
 public class JWT {
+    private static final String REQUEST_PERSON_ATTRIBUTE = JWT.class.getName() + ".person";
+
     public final SecretKey SECRET_KEY = Keys.hmacShaKeyFor(
             "ddb1d47e1089c2131d50bf2d74b43b50630228f5e642d74a1d57e84f17d2f11e13c7daac30d748ed92c447b5042487ccdb723782ca14b95a9da203fff010b321"
                     .getBytes());
     private final PersonService personService;
+    private final TokenCache tokenCache;
+    // Immutable and thread safe, so one instance is shared by all requests
+    private final JwtParser parser;
 
-    public JWT(PersonService personService) {
+    public JWT(PersonService personService, TokenCache tokenCache) {
         this.personService = personService;
+        this.tokenCache = tokenCache;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(SECRET_KEY)
+                .build();
     }
 
 
@@ -43,16 +56,50 @@ public class JWT {
                 .compact();
     }
 
+    // The resolved person is memoized on the current request, so a request resolves its token at most once
     public Optional<Person> getPersonFromToken(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null
+                && requestAttributes.getAttribute(REQUEST_PERSON_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof ResolvedPerson resolved
+                && resolved.token().equals(token)) {
+            return resolved.person();
+        }
+
+        Optional<Person> personOptional = resolvePerson(token);
+        if (requestAttributes != null) {
+            requestAttributes.setAttribute(REQUEST_PERSON_ATTRIBUTE, new ResolvedPerson(token, personOptional), RequestAttributes.SCOPE_REQUEST);
+        }
+        return personOptional;
+    }
+
+    // Resolves the token without loading the person when the token has been seen before
+    public Optional<TokenPrincipal> getPrincipalFromToken(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        Optional<TokenPrincipal> cached = tokenCache.get(token);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        return verify(token).map(Verified::principal);
+    }
+
+    private Optional<Person> resolvePerson(String token) {
+        Optional<TokenPrincipal> cached = tokenCache.get(token);
+        if (cached.isPresent()) {
+            return personService.findById(cached.get().getPersonId());
+        }
+        return verify(token).map(Verified::person);
+    }
+
+    private Optional<Verified> verify(String token) {
         try {
-            String username = Jwts.parserBuilder()
-                    .setSigningKey(SECRET_KEY)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody()
-                    .getSubject();
-
-            return personService.findByUsername(username);
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            return personService.findByUsername(claims.getSubject())
+                    .map(person -> new Verified(person, tokenCache.put(token, person.getId(), person.getUsername(), claims.getExpiration())));
         } catch (Exception e) {
             return Optional.empty();
         }
@@ -89,4 +136,10 @@ public class JWT {
         refreshTokenCookie.setMaxAge(1000 * 60 * 60 * 24 * 365); // 1 year
         response.addCookie(refreshTokenCookie);
     }
+
+    private record Verified(Person person, TokenPrincipal principal) {
+    }
+
+    private record ResolvedPerson(String token, Optional<Person> person) {
+    }
 }
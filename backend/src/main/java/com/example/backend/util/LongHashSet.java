@@ -0,0 +1,183 @@
+package com.example.backend.util;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+
+// Open addressing hash set of primitive longs with linear probing, so an id costs 8 to 16 bytes instead of a
+// boxed Long plus a map node. Zero marks a free slot and is tracked by a flag instead.
+// Not thread safe, callers are expected to synchronize.
+public class LongHashSet {
+
+    private static final int MIN_CAPACITY = 4;
+
+    private long[] keys;
+    private int mask;
+    private int size;
+    private boolean hasZero;
+
+    public LongHashSet() {
+        this(MIN_CAPACITY / 2);
+    }
+
+    public LongHashSet(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(long key) {
+        if (key == 0) {
+            return hasZero;
+        }
+        for (int i = slot(key); ; i = (i + 1) & mask) {
+            long current = keys[i];
+            if (current == 0) {
+                return false;
+            }
+            if (current == key) {
+                return true;
+            }
+        }
+    }
+
+    public boolean add(long key) {
+        if (key == 0) {
+            if (hasZero) {
+                return false;
+            }
+            hasZero = true;
+            size++;
+            return true;
+        }
+        int i = slot(key);
+        while (keys[i] != 0) {
+            if (keys[i] == key) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        size++;
+        // Keep the table at most half full so probe sequences stay short
+        if (2 * stored() > keys.length) {
+            rehash(keys.length * 2);
+        }
+        return true;
+    }
+
+    public boolean remove(long key) {
+        if (key == 0) {
+            if (!hasZero) {
+                return false;
+            }
+            hasZero = false;
+            size--;
+            return true;
+        }
+        int gap = slot(key);
+        while (keys[gap] != key) {
+            if (keys[gap] == 0) {
+                return false;
+            }
+            gap = (gap + 1) & mask;
+        }
+        // Shift later keys of the same probe run back into the gap, so lookups never stop early
+        for (int i = (gap + 1) & mask; keys[i] != 0; i = (i + 1) & mask) {
+            if (((i - slot(keys[i])) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                gap = i;
+            }
+        }
+        keys[gap] = 0;
+        size--;
+        return true;
+    }
+
+    public void forEach(LongConsumer action) {
+        if (hasZero) {
+            action.accept(0);
+        }
+        for (long key : keys) {
+            if (key != 0) {
+                action.accept(key);
+            }
+        }
+    }
+
+    // Stops at the first key the action returns false for
+    public void forEachWhile(LongPredicate action) {
+        if (hasZero && !action.test(0)) {
+            return;
+        }
+        for (long key : keys) {
+            if (key != 0 && !action.test(key)) {
+                return;
+            }
+        }
+    }
+
+    public long[] toArray() {
+        long[] result = new long[size];
+        int[] index = {0};
+        forEach(key -> result[index[0]++] = key);
+        return result;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        size = 0;
+        hasZero = false;
+    }
+
+    private int stored() {
+        return hasZero ? size - 1 : size;
+    }
+
+    private int slot(long key) {
+        return (int) mix(key) & mask;
+    }
+
+    private void rehash(int capacity) {
+        long[] old = keys;
+        allocate(capacity);
+        for (long key : old) {
+            if (key != 0) {
+                int i = slot(key);
+                while (keys[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = key;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < 2 * expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    // murmur3 finalizer, ids are sequential so their low bits alone would cluster
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
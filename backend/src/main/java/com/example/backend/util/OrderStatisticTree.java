@@ -0,0 +1,180 @@
+package com.example.backend.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+
+// Sorted set backed by a size-augmented treap, so rank and positional lookups are O(log n).
+// Not thread safe, callers are expected to synchronize.
+public class OrderStatisticTree<T> {
+
+    private final Comparator<? super T> comparator;
+    private final Random random = new Random();
+    private Node<T> root;
+
+    public OrderStatisticTree(Comparator<? super T> comparator) {
+        this.comparator = comparator;
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    public void clear() {
+        root = null;
+    }
+
+    public boolean add(T value) {
+        if (rank(value) >= 0) {
+            return false;
+        }
+        Split<T> split = split(root, value, false);
+        root = merge(merge(split.left, new Node<>(value, random.nextInt())), split.right);
+        return true;
+    }
+
+    public boolean remove(T value) {
+        Split<T> lower = split(root, value, false);
+        Split<T> upper = split(lower.right, value, true);
+        root = merge(lower.left, upper.right);
+        return upper.left != null;
+    }
+
+    // Zero based position of the value, or -1 when it is not in the tree
+    public int rank(T value) {
+        int rank = 0;
+        Node<T> node = root;
+        while (node != null) {
+            int cmp = comparator.compare(value, node.value);
+            if (cmp < 0) {
+                node = node.left;
+            } else if (cmp > 0) {
+                rank += size(node.left) + 1;
+                node = node.right;
+            } else {
+                return rank + size(node.left);
+            }
+        }
+        return -1;
+    }
+
+    public T get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        Node<T> node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node.value;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    // In-order values starting at offset, in O(log n + limit)
+    public List<T> range(int offset, int limit) {
+        List<T> result = new ArrayList<>(Math.max(0, Math.min(limit, size() - offset)));
+        if (offset < 0 || limit <= 0) {
+            return result;
+        }
+
+        Deque<Node<T>> stack = new ArrayDeque<>();
+        Node<T> node = root;
+        int index = offset;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                stack.push(node);
+                node = node.left;
+            } else if (index == leftSize) {
+                stack.push(node);
+                break;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+
+        while (!stack.isEmpty() && result.size() < limit) {
+            Node<T> current = stack.pop();
+            result.add(current.value);
+            Node<T> next = current.right;
+            while (next != null) {
+                stack.push(next);
+                next = next.left;
+            }
+        }
+        return result;
+    }
+
+    // Splits into values before `value` and the rest; with inclusive, `value` itself goes to the left side
+    private Split<T> split(Node<T> node, T value, boolean inclusive) {
+        if (node == null) {
+            return new Split<>(null, null);
+        }
+        int cmp = comparator.compare(node.value, value);
+        if (cmp < 0 || (inclusive && cmp == 0)) {
+            Split<T> split = split(node.right, value, inclusive);
+            node.right = split.left;
+            node.update();
+            return new Split<>(node, split.right);
+        }
+        Split<T> split = split(node.left, value, inclusive);
+        node.left = split.right;
+        node.update();
+        return new Split<>(split.left, node);
+    }
+
+    private Node<T> merge(Node<T> left, Node<T> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node<T> {
+        private final T value;
+        private final int priority;
+        private Node<T> left;
+        private Node<T> right;
+        private int size = 1;
+
+        private Node(T value, int priority) {
+            this.value = value;
+            this.priority = priority;
+        }
+
+        private void update() {
+            size = 1 + size(left) + size(right);
+        }
+    }
+
+    private record Split<T>(Node<T> left, Node<T> right) {
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.backend.util;
+
+import at.favre.lib.crypto.bcrypt.BCrypt;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// BCrypt hashing and verification on the bounded passwordExecutor, so a signup or login spike can only keep
+// that many cores busy instead of one per request thread. The calling thread waits without using CPU.
+// Every method returns empty when the pool and its queue are full, which callers turn into a 503.
+@Component
+public class PasswordHasher {
+    public enum Verification { VERIFIED, REHASH_NEEDED, INVALID }
+
+    private final ThreadPoolTaskExecutor passwordExecutor;
+    private final int cost;
+    // Verified against for unknown usernames, so rejecting them costs the same as a wrong password
+    private final String dummyHash;
+
+    private final LongAdder hashes = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final LongAdder verifications = new LongAdder();
+    private final LongAdder verifyNanos = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    public PasswordHasher(@Qualifier("passwordExecutor") ThreadPoolTaskExecutor passwordExecutor,
+                          @Value("${auth.password.bcrypt-cost:12}") int cost) {
+        this.passwordExecutor = passwordExecutor;
+        this.cost = cost;
+        this.dummyHash = BCrypt.withDefaults().hashToString(cost, UUID.randomUUID().toString().toCharArray());
+    }
+
+    public Optional<String> hash(String password) {
+        return submit(() -> BCrypt.withDefaults().hashToString(cost, password.toCharArray()), hashes, hashNanos);
+    }
+
+    // REHASH_NEEDED when the password matches a hash made with a different cost than the configured one
+    public Optional<Verification> verify(String password, String hash) {
+        return submit(() -> {
+            BCrypt.Result result = BCrypt.verifyer().verify(password.toCharArray(), hash);
+            if (!result.verified) {
+                return Verification.INVALID;
+            }
+            return result.details.cost == cost ? Verification.VERIFIED : Verification.REHASH_NEEDED;
+        }, verifications, verifyNanos);
+    }
+
+    // Same work as verify for a person without a matching password, always INVALID unless the pool is saturated
+    public Optional<Verification> verifyUnknown(String password) {
+        return verify(password, dummyHash).map(verification -> Verification.INVALID);
+    }
+
+    private <T> Optional<T> submit(Supplier<T> task, LongAdder count, LongAdder nanos) {
+        Future<T> future;
+        try {
+            future = passwordExecutor.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    return task.get();
+                } finally {
+                    count.increment();
+                    nanos.add(System.nanoTime() - start);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            rejections.increment();
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(future.get());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    public long getHashes() {
+        return hashes.sum();
+    }
+
+    public double getHashSeconds() {
+        return hashNanos.sum() / 1e9;
+    }
+
+    public long getVerifications() {
+        return verifications.sum();
+    }
+
+    public double getVerifySeconds() {
+        return verifyNanos.sum() / 1e9;
+    }
+
+    public long getRejections() {
+        return rejections.sum();
+    }
+
+    public int getQueueSize() {
+        return passwordExecutor.getQueueSize();
+    }
+
+    public int getActiveCount() {
+        return passwordExecutor.getActiveCount();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.backend.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+// Bounded LRU of already verified tokens, so a token's signature is only checked once until it expires.
+// Entries live until the token's exp claim or the configured max TTL, whichever comes first.
+@Component
+public class TokenCache {
+
+    private final int maxSize;
+    private final long maxTtlMillis;
+    private final Map<String, TokenPrincipal> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public TokenCache(@Value("${jwt.cache.max-size:10000}") int maxSize,
+                      @Value("${jwt.cache.max-ttl-seconds:300}") long maxTtlSeconds) {
+        this.maxSize = maxSize;
+        this.maxTtlMillis = maxTtlSeconds * 1000;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TokenPrincipal> eldest) {
+                if (size() > TokenCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public synchronized Optional<TokenPrincipal> get(String token) {
+        TokenPrincipal principal = entries.get(token);
+        if (principal == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        if (principal.getExpiresAt() <= System.currentTimeMillis()) {
+            entries.remove(token);
+            evictions.increment();
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(principal);
+    }
+
+    public synchronized TokenPrincipal put(String token, Long personId, String username, Date expiration) {
+        long expiresAt = System.currentTimeMillis() + maxTtlMillis;
+        if (expiration != null) {
+            expiresAt = Math.min(expiresAt, expiration.getTime());
+        }
+        TokenPrincipal principal = new TokenPrincipal(personId, username, expiresAt);
+        entries.put(token, principal);
+        return principal;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.backend.util;
+
+import lombok.Value;
+
+@Value
+public class TokenPrincipal {
+    Long personId;
+    String username;
+    long expiresAt;
+}
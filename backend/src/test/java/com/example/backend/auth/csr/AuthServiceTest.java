@@ -1,14 +1,19 @@
 package com.example.backend.auth.csr;
 
 import com.example.backend.auth.error.*;
+import com.example.backend.badge.BadgeTriggerEvent;
+import com.example.backend.leaderboard.csr.LeaderboardEngine;
 import com.example.backend.person.Person;
 import com.example.backend.person.PersonDTO;
 import com.example.backend.person.csr.PersonService;
 import com.example.backend.util.JWT;
+import com.example.backend.util.PasswordHasher;
 import com.example.backend.util.ServiceResult;
+import com.example.backend.util.TokenPrincipal;
 import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.boot.test.context.SpringBootTest;
 
 import java.time.LocalDate;
@@ -23,55 +28,211 @@ public class AuthServiceTest {
     private AuthService authService;
     private PersonService personService;
     private JWT jwt;
+    private LeaderboardEngine leaderboardEngine;
+    private ApplicationEventPublisher eventPublisher;
+    private StreakDayMarker streakDayMarker;
+    private PasswordHasher passwordHasher;
+    private LoginRateLimiter loginRateLimiter;
     private HttpServletResponse response;
 
     @BeforeEach
     public void setUp() {
         personService = mock(PersonService.class);
         jwt = mock(JWT.class);
+        leaderboardEngine = mock(LeaderboardEngine.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        streakDayMarker = new StreakDayMarker(100);
+        passwordHasher = mock(PasswordHasher.class);
+        loginRateLimiter = new LoginRateLimiter(5, 5, 20, 20, 1000);
         response = mock(HttpServletResponse.class);
-        authService = new AuthService(personService, jwt);
+        authService = new AuthService(personService, jwt, leaderboardEngine, eventPublisher, streakDayMarker, passwordHasher, loginRateLimiter);
     }
 
     @Test
     public void testSignup() {
         PersonDTO personDTO = new PersonDTO("testUser", "testPass");
 
-        when(personService.findByUsername("testUser")).thenReturn(Optional.empty());
-        when(personService.saveNewPerson(personDTO)).thenReturn(Optional.of(new Person()));
+        Person person = new Person();
+        person.setId(1L);
+        when(passwordHasher.hash("testPass")).thenReturn(Optional.of("hashedPass"));
+        when(personService.saveNewPerson("testUser", "hashedPass")).thenReturn(Optional.of(person));
 
         ServiceResult<Void, AuthSignupError> result = authService.signup(personDTO, response);
         assertTrue(result.isSuccess());
     }
 
+    @Test
+    public void testSignupWithTakenUsername() {
+        PersonDTO personDTO = new PersonDTO("testUser", "testPass");
+
+        when(passwordHasher.hash("testPass")).thenReturn(Optional.of("hashedPass"));
+        when(personService.saveNewPerson("testUser", "hashedPass")).thenReturn(Optional.empty());
+
+        ServiceResult<Void, AuthSignupError> result = authService.signup(personDTO, response);
+        assertFalse(result.isSuccess());
+        assertEquals(AuthSignupError.USERNAME_ALREADY_EXISTS, result.getError());
+        verify(personService, never()).findByUsername(any());
+        verify(jwt, never()).generateAccessTokenCookie(any(), any());
+    }
+
+    @Test
+    public void testSignupWhenHasherIsBusy() {
+        PersonDTO personDTO = new PersonDTO("testUser", "testPass");
+
+        when(passwordHasher.hash("testPass")).thenReturn(Optional.empty());
+
+        ServiceResult<Void, AuthSignupError> result = authService.signup(personDTO, response);
+        assertFalse(result.isSuccess());
+        assertEquals(AuthSignupError.SERVICE_BUSY, result.getError());
+        verify(personService, never()).saveNewPerson(any(), any());
+    }
+
     @Test
     public void testLogin() {
         PersonDTO personDTO = new PersonDTO("testUser", "testPass");
 
         Person person = new Person();
+        person.setId(1L);
         person.setUsername("testUser");
 
-        when(personService.verifyPassword(personDTO)).thenReturn(Optional.of(person));
+        person.setPassword("hashedPass");
+
+        when(personService.findByUsernameIfKnown("testUser")).thenReturn(Optional.of(person));
+        when(passwordHasher.verify("testPass", "hashedPass")).thenReturn(Optional.of(PasswordHasher.Verification.VERIFIED));
 
-        ServiceResult<Void, AuthLoginError> result = authService.login(personDTO, response);
+        ServiceResult<Void, AuthLoginError> result = authService.login(personDTO, "127.0.0.1", response);
         assertTrue(result.isSuccess());
         verify(jwt).generateRefreshTokenCookie(response, "testUser");
         verify(jwt).generateAccessTokenCookie(response, "testUser");
+        verify(passwordHasher, never()).hash(any());
+    }
+
+    @Test
+    public void testLoginWrongPassword() {
+        PersonDTO personDTO = new PersonDTO("testUser", "wrongPass");
+        Person person = new Person("testUser", "hashedPass");
+
+        when(personService.findByUsernameIfKnown("testUser")).thenReturn(Optional.of(person));
+        when(passwordHasher.verify("wrongPass", "hashedPass")).thenReturn(Optional.of(PasswordHasher.Verification.INVALID));
+
+        ServiceResult<Void, AuthLoginError> result = authService.login(personDTO, "127.0.0.1", response);
+        assertFalse(result.isSuccess());
+        assertEquals(AuthLoginError.INVALID_USERNAME_OR_PASSWORD, result.getError());
+    }
+
+    @Test
+    public void testLoginRehashesWhenCostChanged() {
+        PersonDTO personDTO = new PersonDTO("testUser", "testPass");
+        Person person = new Person("testUser", "oldHash");
+        person.setId(1L);
+
+        when(personService.findByUsernameIfKnown("testUser")).thenReturn(Optional.of(person));
+        when(passwordHasher.verify("testPass", "oldHash")).thenReturn(Optional.of(PasswordHasher.Verification.REHASH_NEEDED));
+        when(passwordHasher.hash("testPass")).thenReturn(Optional.of("newHash"));
+
+        ServiceResult<Void, AuthLoginError> result = authService.login(personDTO, "127.0.0.1", response);
+        assertTrue(result.isSuccess());
+        verify(personService).updatePassword(person, "newHash");
+    }
+
+    @Test
+    public void testLoginWhenHasherIsBusy() {
+        PersonDTO personDTO = new PersonDTO("testUser", "testPass");
+        Person person = new Person("testUser", "hashedPass");
+
+        when(personService.findByUsernameIfKnown("testUser")).thenReturn(Optional.of(person));
+        when(passwordHasher.verify("testPass", "hashedPass")).thenReturn(Optional.empty());
+
+        ServiceResult<Void, AuthLoginError> result = authService.login(personDTO, "127.0.0.1", response);
+        assertFalse(result.isSuccess());
+        assertEquals(AuthLoginError.SERVICE_BUSY, result.getError());
+        verify(jwt, never()).generateAccessTokenCookie(any(), any());
+    }
+
+    @Test
+    public void testLoginUnknownUserCostsAVerification() {
+        PersonDTO personDTO = new PersonDTO("unknownUser", "testPass");
+
+        when(personService.findByUsernameIfKnown("unknownUser")).thenReturn(Optional.empty());
+        when(passwordHasher.verifyUnknown("testPass")).thenReturn(Optional.of(PasswordHasher.Verification.INVALID));
+
+        ServiceResult<Void, AuthLoginError> result = authService.login(personDTO, "127.0.0.1", response);
+        assertFalse(result.isSuccess());
+        assertEquals(AuthLoginError.INVALID_USERNAME_OR_PASSWORD, result.getError());
+        verify(passwordHasher).verifyUnknown("testPass");
+    }
+
+    @Test
+    public void testLoginIsThrottledBeforeAnyPasswordWork() {
+        PersonDTO personDTO = new PersonDTO("testUser", "wrongPass");
+        Person person = new Person("testUser", "hashedPass");
+
+        when(personService.findByUsernameIfKnown("testUser")).thenReturn(Optional.of(person));
+        when(passwordHasher.verify("wrongPass", "hashedPass")).thenReturn(Optional.of(PasswordHasher.Verification.INVALID));
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(AuthLoginError.INVALID_USERNAME_OR_PASSWORD, authService.login(personDTO, "127.0.0.1", response).getError());
+        }
+        ServiceResult<Void, AuthLoginError> result = authService.login(personDTO, "10.0.0.1", response);
+        assertFalse(result.isSuccess());
+        assertEquals(AuthLoginError.TOO_MANY_ATTEMPTS, result.getError());
+        verify(passwordHasher, times(5)).verify(any(), any());
+        verify(personService, times(5)).findByUsernameIfKnown("testUser");
     }
 
     @Test
     public void testRefresh() {
         Person person = new Person();
+        person.setId(1L);
         person.setUsername("testUser");
 
+        when(jwt.getPrincipalFromToken("validToken")).thenReturn(Optional.of(new TokenPrincipal(1L, "testUser", Long.MAX_VALUE)));
         when(jwt.getPersonFromToken("validToken")).thenReturn(Optional.of(person));
 
         ServiceResult<Void, AuthRefreshError> result = authService.refresh("validToken", response);
         assertTrue(result.isSuccess());
+        verify(personService).advanceStreak(person, LocalDate.now());
         verify(jwt).generateAccessTokenCookie(response, "testUser");
         verify(jwt).generateRefreshTokenCookie(response, "testUser");
     }
 
+    @Test
+    public void testRefreshSkipsStreakAlreadyProcessedToday() {
+        when(jwt.getPrincipalFromToken("validToken")).thenReturn(Optional.of(new TokenPrincipal(1L, "testUser", Long.MAX_VALUE)));
+        streakDayMarker.mark(1L, LocalDate.now());
+
+        ServiceResult<Void, AuthRefreshError> result = authService.refresh("validToken", response);
+        assertTrue(result.isSuccess());
+        verify(jwt, never()).getPersonFromToken(any());
+        verifyNoInteractions(personService);
+        verify(jwt).generateAccessTokenCookie(response, "testUser");
+        verify(jwt).generateRefreshTokenCookie(response, "testUser");
+    }
+
+    @Test
+    public void testRefreshOnANewDayUpdatesStreak() {
+        Person person = new Person("testUser", "password", 2, LocalDate.now().minusDays(1));
+        person.setId(1L);
+        when(jwt.getPrincipalFromToken("validToken")).thenReturn(Optional.of(new TokenPrincipal(1L, "testUser", Long.MAX_VALUE)));
+        when(jwt.getPersonFromToken("validToken")).thenReturn(Optional.of(person));
+        streakDayMarker.mark(1L, LocalDate.now().minusDays(1));
+
+        authService.refresh("validToken", response);
+        authService.refresh("validToken", response);
+
+        verify(personService, times(1)).advanceStreak(person, LocalDate.now());
+        assertTrue(streakDayMarker.isMarked(1L, LocalDate.now()));
+    }
+
+    @Test
+    public void testRefreshInvalidToken() {
+        when(jwt.getPrincipalFromToken("invalidToken")).thenReturn(Optional.empty());
+
+        ServiceResult<Void, AuthRefreshError> result = authService.refresh("invalidToken", response);
+        assertFalse(result.isSuccess());
+        assertEquals(AuthRefreshError.INVALID_REFRESH_TOKEN, result.getError());
+    }
+
     @Test
     public void testLogout() {
         Person person = new Person();
@@ -97,78 +258,47 @@ public class AuthServiceTest {
     }
 
     @Test
-    public void testUpdateStreakNewUser() {
-        Person person = new Person("newUser", "password");
-        authService.updateStreak(person);
-        assertEquals(1, person.getStreak());
-        assertEquals(LocalDate.now(), person.getLastLoginDate());
-    }
-
-    @Test
-    public void testUpdateStreakConsecutiveDays() {
+    public void testUpdateStreakAdvanced() {
         Person person = new Person("consecutiveUser", "password", 2, LocalDate.now().minusDays(1));
-        authService.updateStreak(person);
-        assertEquals(3, person.getStreak());
-        assertEquals(LocalDate.now(), person.getLastLoginDate());
-    }
+        person.setId(1L);
+        when(personService.advanceStreak(person, LocalDate.now())).thenReturn(true);
 
-    @Test
-    public void testUpdateStreakNonConsecutiveDays() {
-        Person person = new Person("nonConsecutiveUser", "password", 2, LocalDate.now().minusDays(3));
-        authService.updateStreak(person);
-        assertEquals(1, person.getStreak());
-        assertEquals(LocalDate.now(), person.getLastLoginDate());
+        ServiceResult<Void, AuthUpdateStreakError> result = authService.updateStreak(person);
+        assertTrue(result.isSuccess());
+        assertNull(result.getError());
+        verify(leaderboardEngine).personChanged(person);
+        verify(eventPublisher).publishEvent(new BadgeTriggerEvent(1L, "STREAK"));
     }
 
     @Test
     public void testUpdateStreakSameDay() {
         Person person = new Person("sameDayUser", "password", 2, LocalDate.now());
-        authService.updateStreak(person);
-        assertEquals(2, person.getStreak());
-        assertEquals(LocalDate.now(), person.getLastLoginDate());
-    }
+        person.setId(1L);
+        when(personService.advanceStreak(person, LocalDate.now())).thenReturn(false);
 
-    @Test
-    public void testUpdateStreakFirstLogin() {
-        Person person = new Person("firstLoginUser", "password");
-        authService.updateStreak(person);
-        assertEquals(1, person.getStreak());
-        assertEquals(LocalDate.now(), person.getLastLoginDate());
+        ServiceResult<Void, AuthUpdateStreakError> result = authService.updateStreak(person);
+        assertTrue(result.isSuccess());
+        verify(leaderboardEngine, never()).personChanged(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 
     @Test
-    public void testUpdateStreakMultipleDaysMissed() {
-        Person person = new Person("missedDaysUser", "password", 3, LocalDate.now().minusDays(5));
-        authService.updateStreak(person);
-        assertEquals(1, person.getStreak());
-        assertEquals(LocalDate.now(), person.getLastLoginDate());
-    }
+    public void testUpdateStreakNeverMergesThePerson() {
+        Person person = new Person("testUser", "password", 2, LocalDate.now().minusDays(1));
+        person.setId(1L);
+        when(personService.advanceStreak(person, LocalDate.now())).thenReturn(true);
 
-    @Test
-    public void testUpdateStreakMultipleLoginsSameDay() {
-        Person person = new Person("sameDayUser", "password", 2, LocalDate.now());
         authService.updateStreak(person);
-        assertEquals(2, person.getStreak());
-        assertEquals(LocalDate.now(), person.getLastLoginDate());
+        verify(personService, never()).save(any());
     }
 
     @Test
     public void testUpdateStreakFailed() {
         Person person = new Person("testUser", "password", 2, LocalDate.now().minusDays(1));
-        when(personService.save(person)).thenReturn(Optional.empty());
 
         ServiceResult<Void, AuthUpdateStreakError> result = authService.updateStreak(person);
         assertFalse(result.isSuccess());
         assertEquals(AuthUpdateStreakError.STREAK_UPDATE_FAILED.getMessage(), result.getError().getMessage());
+        verify(personService, never()).advanceStreak(any(), any());
     }
-
-    @Test
-    public void testUpdateStreakSuccess() {
-        Person person = new Person("testUser", "password", 2, LocalDate.now().minusDays(1));
-        when(personService.save(person)).thenReturn(Optional.of(person));
-
-        ServiceResult<Void, AuthUpdateStreakError> result = authService.updateStreak(person);
-        assertTrue(result.isSuccess());
-        assertNull(result.getError());
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,72 @@
+package com.example.backend.auth.csr;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoginRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void testBurstThenRefill() {
+        // 3 attempts at once, then one every 20 seconds
+        LoginRateLimiter limiter = new LoginRateLimiter(3, 3, 100, 100, 1000);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire("alice", "1.1.1.1", 0));
+        }
+        assertFalse(limiter.tryAcquire("alice", "1.1.1.1", 0));
+        assertFalse(limiter.tryAcquire("alice", "1.1.1.1", 19 * SECOND));
+        assertTrue(limiter.tryAcquire("alice", "1.1.1.1", 20 * SECOND));
+        assertFalse(limiter.tryAcquire("alice", "1.1.1.1", 20 * SECOND));
+        assertEquals(3, limiter.getLimited());
+    }
+
+    @Test
+    public void testUsernamesAreLimitedSeparately() {
+        LoginRateLimiter limiter = new LoginRateLimiter(1, 1, 100, 100, 1000);
+        assertTrue(limiter.tryAcquire("alice", "1.1.1.1", 0));
+        assertFalse(limiter.tryAcquire("ALICE", "2.2.2.2", 0));
+        assertTrue(limiter.tryAcquire("bob", "1.1.1.1", 0));
+    }
+
+    @Test
+    public void testOneAddressSprayingUsernamesIsLimited() {
+        LoginRateLimiter limiter = new LoginRateLimiter(5, 5, 10, 10, 1000);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire("user" + i, "6.6.6.6", 0));
+        }
+        assertFalse(limiter.tryAcquire("user10", "6.6.6.6", 0));
+        // The rejected attempt did not take a token from user10's own bucket
+        assertTrue(limiter.tryAcquire("user10", "7.7.7.7", 0));
+    }
+
+    @Test
+    public void testRefilledBucketsAreSwept() {
+        LoginRateLimiter limiter = new LoginRateLimiter(5, 60, 5, 60, 1000);
+        limiter.tryAcquire("alice", "1.1.1.1", System.nanoTime() - 2 * SECOND);
+        assertEquals(2, limiter.size());
+
+        limiter.sweep();
+
+        assertEquals(0, limiter.size());
+    }
+
+    @Test
+    public void testFullLimiterStillLimitsNewKeys() {
+        LoginRateLimiter limiter = new LoginRateLimiter(1, 1, 100, 100, 2);
+        long now = System.nanoTime();
+        assertTrue(limiter.tryAcquire("alice", "1.1.1.1", now));
+        assertTrue(limiter.tryAcquire("bob", "1.1.1.1", now + SECOND));
+
+        // Alice's bucket refills first, so it makes room for carol
+        assertTrue(limiter.tryAcquire("carol", "1.1.1.1", now + 2 * SECOND));
+        assertFalse(limiter.tryAcquire("carol", "1.1.1.1", now + 2 * SECOND));
+        assertFalse(limiter.tryAcquire("bob", "1.1.1.1", now + 2 * SECOND));
+        assertEquals(1, limiter.getOverflows());
+        // bob and carol, plus the address
+        assertEquals(3, limiter.size());
+    }
+}
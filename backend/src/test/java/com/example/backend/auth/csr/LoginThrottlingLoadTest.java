@@ -0,0 +1,115 @@
+package com.example.backend.auth.csr;
+
+import com.example.backend.auth.error.AuthLoginError;
+import com.example.backend.person.Person;
+import com.example.backend.person.PersonDTO;
+import com.example.backend.person.csr.PersonRepository;
+import com.example.backend.util.PasswordHasher;
+import com.example.backend.util.ServiceResult;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Run with: mvn test -Pbenchmark
+@Tag("benchmark")
+@SpringBootTest(properties = "auth.password.bcrypt-cost=10")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class LoginThrottlingLoadTest {
+
+    private static final int USERS = 10;
+    private static final int VICTIMS = 20;
+    private static final int ATTACKERS = 8;
+    private static final int ATTACKER_IPS = 4;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Test
+    public void legitimateLoginLatencyStaysFlatDuringCredentialStuffing() throws Exception {
+        for (int i = 0; i < USERS; i++) {
+            personRepository.save(new Person("user" + i, passwordHasher.hash("password").orElseThrow()));
+        }
+        for (int i = 0; i < VICTIMS; i++) {
+            personRepository.save(new Person("victim" + i, passwordHasher.hash("secret").orElseThrow()));
+        }
+
+        long[] baseline = legitimateLogins();
+
+        AtomicBoolean attacking = new AtomicBoolean(true);
+        AtomicLong attempts = new AtomicLong();
+        AtomicLong throttled = new AtomicLong();
+        ExecutorService attackers = Executors.newFixedThreadPool(ATTACKERS);
+        for (int t = 0; t < ATTACKERS; t++) {
+            String ip = "10.0.0." + (t % ATTACKER_IPS);
+            attackers.execute(() -> {
+                while (attacking.get()) {
+                    String victim = "victim" + ThreadLocalRandom.current().nextInt(VICTIMS);
+                    ServiceResult<Void, AuthLoginError> result = authService.login(new PersonDTO(victim, "guess"), ip, new MockHttpServletResponse());
+                    attempts.incrementAndGet();
+                    if (result.getError() == AuthLoginError.TOO_MANY_ATTEMPTS) {
+                        throttled.incrementAndGet();
+                    }
+                }
+            });
+        }
+        // Let the attackers use up their bursts first
+        Thread.sleep(4000);
+        long[] underAttack = legitimateLogins();
+        attacking.set(false);
+        attackers.shutdown();
+        assertTrue(attackers.awaitTermination(30, TimeUnit.SECONDS));
+
+        System.out.printf("Legitimate login p50/p95: %.1f/%.1f ms before, %.1f/%.1f ms during an attack of %d attempts (%d throttled)%n",
+                millis(percentile(baseline, 50)), millis(percentile(baseline, 95)),
+                millis(percentile(underAttack, 50)), millis(percentile(underAttack, 95)),
+                attempts.get(), throttled.get());
+        assertTrue(throttled.get() > attempts.get() * 0.9, "most attacker attempts should be throttled");
+        assertTrue(percentile(underAttack, 95) < percentile(baseline, 95) * 3 + TimeUnit.MILLISECONDS.toNanos(50),
+                "legitimate logins slowed down under attack");
+    }
+
+    // Two logins per user, each from the user's own address
+    private long[] legitimateLogins() {
+        List<Long> latencies = new ArrayList<>();
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < USERS; i++) {
+                long start = System.nanoTime();
+                ServiceResult<Void, AuthLoginError> result = authService.login(new PersonDTO("user" + i, "password"), "192.168.0." + i, new MockHttpServletResponse());
+                latencies.add(System.nanoTime() - start);
+                assertTrue(result.isSuccess(), "legitimate login failed: " + result.getError());
+            }
+        }
+        return latencies.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static long percentile(long[] values, int percentile) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[Math.min(sorted.length - 1, sorted.length * percentile / 100)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
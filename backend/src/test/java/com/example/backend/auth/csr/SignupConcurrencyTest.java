@@ -0,0 +1,73 @@
+package com.example.backend.auth.csr;
+
+import com.example.backend.auth.error.AuthSignupError;
+import com.example.backend.person.PersonDTO;
+import com.example.backend.person.csr.PersonRepository;
+import com.example.backend.util.ServiceResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Queue sized so every signup gets hashed and reaches the insert
+@SpringBootTest(properties = "auth.password.queue-capacity=200")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class SignupConcurrencyTest {
+
+    private static final int THREADS = 100;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Test
+    public void testParallelSignupsWithTheSameUsernameCreateOnePerson() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch ready = new CountDownLatch(THREADS);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<ServiceResult<Void, AuthSignupError>>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    ready.countDown();
+                    go.await();
+                    return authService.signup(new PersonDTO("sameName", "password"), new MockHttpServletResponse());
+                }));
+            }
+            ready.await();
+            go.countDown();
+
+            int succeeded = 0;
+            int taken = 0;
+            for (Future<ServiceResult<Void, AuthSignupError>> future : futures) {
+                ServiceResult<Void, AuthSignupError> result = future.get();
+                if (result.isSuccess()) {
+                    succeeded++;
+                } else if (result.getError() == AuthSignupError.USERNAME_ALREADY_EXISTS) {
+                    taken++;
+                }
+            }
+            assertEquals(1, succeeded);
+            assertEquals(THREADS - 1, taken);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long rows = personRepository.findAll().stream()
+                .filter(person -> "sameName".equals(person.getUsername()))
+                .count();
+        assertEquals(1, rows);
+    }
+}
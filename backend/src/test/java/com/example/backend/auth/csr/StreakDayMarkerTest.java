@@ -0,0 +1,40 @@
+package com.example.backend.auth.csr;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StreakDayMarkerTest {
+
+    @Test
+    public void testMarkIsOnlyValidForThatDay() {
+        StreakDayMarker marker = new StreakDayMarker(10);
+        LocalDate today = LocalDate.now();
+        assertFalse(marker.isMarked(1L, today));
+
+        marker.mark(1L, today.minusDays(1));
+        assertFalse(marker.isMarked(1L, today));
+
+        marker.mark(1L, today);
+        assertTrue(marker.isMarked(1L, today));
+        assertFalse(marker.isMarked(2L, today));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() {
+        StreakDayMarker marker = new StreakDayMarker(2);
+        LocalDate today = LocalDate.now();
+        marker.mark(1L, today);
+        marker.mark(2L, today);
+        marker.isMarked(1L, today);
+
+        marker.mark(3L, today);
+
+        assertEquals(2, marker.size());
+        assertTrue(marker.isMarked(1L, today));
+        assertFalse(marker.isMarked(2L, today));
+        assertTrue(marker.isMarked(3L, today));
+    }
+}
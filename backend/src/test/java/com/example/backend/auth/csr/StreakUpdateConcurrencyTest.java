@@ -0,0 +1,85 @@
+package com.example.backend.auth.csr;
+
+import com.example.backend.person.Person;
+import com.example.backend.person.csr.PersonRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class StreakUpdateConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Test
+    public void testParallelRefreshesIncrementAtMostOnce() throws Exception {
+        Long personId = personRepository.save(new Person("streakUser", "password", 4, LocalDate.now().minusDays(1))).getId();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch ready = new CountDownLatch(THREADS);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<Integer>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    // Every refresh loads its own copy, as separate requests would
+                    Person person = personRepository.findById(personId).orElseThrow();
+                    ready.countDown();
+                    go.await();
+                    assertTrue(authService.updateStreak(person).isSuccess());
+                    return person.getStreak();
+                }));
+            }
+            ready.await();
+            go.countDown();
+
+            int advanced = 0;
+            for (Future<Integer> future : futures) {
+                if (future.get() == 5) {
+                    advanced++;
+                }
+            }
+            assertEquals(1, advanced);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Person person = personRepository.findById(personId).orElseThrow();
+        assertEquals(5, person.getStreak());
+        assertEquals(LocalDate.now(), person.getLastLoginDate());
+    }
+
+    @Test
+    public void testStreakRulesInTheDatabase() {
+        Person yesterday = personRepository.save(new Person("yesterdayUser", "password", 2, LocalDate.now().minusDays(1)));
+        Person missed = personRepository.save(new Person("missedUser", "password", 7, LocalDate.now().minusDays(3)));
+        Person today = personRepository.save(new Person("todayUser", "password", 3, LocalDate.now()));
+
+        for (Person person : List.of(yesterday, missed, today)) {
+            assertTrue(authService.updateStreak(person).isSuccess());
+        }
+
+        assertEquals(3, personRepository.findById(yesterday.getId()).orElseThrow().getStreak());
+        assertEquals(1, personRepository.findById(missed.getId()).orElseThrow().getStreak());
+        assertEquals(3, personRepository.findById(today.getId()).orElseThrow().getStreak());
+        assertEquals(LocalDate.now(), personRepository.findById(missed.getId()).orElseThrow().getLastLoginDate());
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.backend.badge.csr;
+
+import com.example.backend.badge.Badge;
+import com.example.backend.badge.BadgeTriggerEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class BadgeAwarderTest {
+
+    @Mock
+    private BadgeRuleEngine badgeRuleEngine;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PersonBadgeWriter personBadgeWriter;
+
+    private BadgeAwarder badgeAwarder;
+
+    private Badge streakBadge;
+    private Badge favoriteBadge;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        streakBadge = new Badge(1, "Streak Badge", "3-day streak", "badge.png", "STREAK", 3);
+        favoriteBadge = new Badge(2, "Favorite Badge", "1 favorite", "badge.png", "FAVORITE", 1);
+
+        when(jdbcTemplate.queryForList(anyString(), eq(Integer.class), eq(1L))).thenReturn(List.of());
+        badgeAwarder = new BadgeAwarder(badgeRuleEngine, jdbcTemplate, personBadgeWriter);
+    }
+
+    @Test
+    void testAwardsEarnedBadges() {
+        when(badgeRuleEngine.earned(List.of(1L), Set.of("STREAK", "FAVORITE"))).thenReturn(Map.of(1L, List.of(streakBadge, favoriteBadge)));
+
+        badgeAwarder.onBadgeTrigger(new BadgeTriggerEvent(1L, "STREAK", "FAVORITE"));
+
+        assertEquals(List.of(List.of(1L, 1), List.of(1L, 2)), insertedRows());
+    }
+
+    @Test
+    void testHeldBadgesAreNotAwardedAgain() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Integer.class), eq(1L))).thenReturn(List.of(1));
+        when(badgeRuleEngine.earned(List.of(1L), Set.of("STREAK", "FAVORITE"))).thenReturn(Map.of(1L, List.of(streakBadge, favoriteBadge)));
+
+        badgeAwarder.onBadgeTrigger(new BadgeTriggerEvent(1L, "STREAK", "FAVORITE"));
+
+        assertEquals(List.of(List.of(1L, 2)), insertedRows());
+    }
+
+    @Test
+    void testNothingEarnedSkipsTheDatabase() {
+        when(badgeRuleEngine.earned(List.of(1L), Set.of("STREAK"))).thenReturn(Map.of());
+
+        badgeAwarder.onBadgeTrigger(new BadgeTriggerEvent(1L, "STREAK"));
+
+        verifyNoInteractions(jdbcTemplate, personBadgeWriter);
+    }
+
+    private List<List<Object>> insertedRows() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(personBadgeWriter).insert(rows.capture());
+        return rows.getValue().stream().map(List::of).toList();
+    }
+}
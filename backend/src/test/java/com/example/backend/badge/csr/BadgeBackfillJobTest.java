@@ -0,0 +1,116 @@
+package com.example.backend.badge.csr;
+
+import com.example.backend.badge.Badge;
+import com.example.backend.badge.BadgeBackfill;
+import com.example.backend.person.Person;
+import com.example.backend.person.csr.PersonRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "badges.backfill.chunk-size=10")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class BadgeBackfillJobTest {
+
+    private static final int PEOPLE = 25;
+
+    @Autowired
+    private BadgeBackfillJob badgeBackfillJob;
+
+    @Autowired
+    private BadgeBackfillRepository badgeBackfillRepository;
+
+    @Autowired
+    private BadgeRepository badgeRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Badge streakBadge;
+    private List<Person> people;
+
+    @BeforeEach
+    void setUp() {
+        streakBadge = badgeRepository.save(new Badge("Streak", "5-day streak", "/badges/streak-5.png", "STREAK", 5));
+        // Streaks 1..25, so people 5..25 qualify
+        people = new ArrayList<>();
+        for (int i = 1; i <= PEOPLE; i++) {
+            people.add(personRepository.save(new Person("user" + i, "password", i, LocalDate.now())));
+        }
+        jdbcTemplate.update("INSERT INTO person_badges (person_id, badge_id) VALUES (?, ?)", people.get(9).getId(), streakBadge.getId());
+    }
+
+    @Test
+    public void testAwardsQualifyingPeopleInChunks() throws Exception {
+        BadgeBackfill started = badgeBackfillJob.start(streakBadge).orElseThrow();
+        assertEquals(PEOPLE, started.getTotalPersons());
+        awaitCompletion();
+
+        BadgeBackfill backfill = badgeBackfillRepository.findByBadgeId(streakBadge.getId()).orElseThrow();
+        assertEquals(BadgeBackfill.Status.COMPLETED, backfill.getStatus());
+        assertEquals(PEOPLE, backfill.getProcessedPersons());
+        // Person 10 already held the badge
+        assertEquals(20, backfill.getAwardedPersons());
+        assertEquals(people.getLast().getId(), backfill.getLastPersonId());
+        assertNotNull(backfill.getFinishedAt());
+        assertEquals(21, holders());
+    }
+
+    @Test
+    public void testResumesFromTheCheckpoint() throws Exception {
+        BadgeBackfill checkpoint = new BadgeBackfill(streakBadge.getId());
+        checkpoint.restart(PEOPLE);
+        checkpoint.setStatus(BadgeBackfill.Status.FAILED);
+        checkpoint.setLastPersonId(people.get(19).getId());
+        checkpoint.setProcessedPersons(20L);
+        badgeBackfillRepository.save(checkpoint);
+
+        badgeBackfillJob.start(streakBadge).orElseThrow();
+        awaitCompletion();
+
+        BadgeBackfill backfill = badgeBackfillRepository.findByBadgeId(streakBadge.getId()).orElseThrow();
+        assertEquals(BadgeBackfill.Status.COMPLETED, backfill.getStatus());
+        assertNull(backfill.getError());
+        assertEquals(PEOPLE, backfill.getProcessedPersons());
+        // Only people 21..25 are past the checkpoint
+        assertEquals(5, backfill.getAwardedPersons());
+        assertEquals(6, holders());
+    }
+
+    @Test
+    public void testRunningAgainAwardsNothingNew() throws Exception {
+        badgeBackfillJob.start(streakBadge).orElseThrow();
+        awaitCompletion();
+
+        badgeBackfillJob.start(streakBadge).orElseThrow();
+        awaitCompletion();
+
+        BadgeBackfill backfill = badgeBackfillRepository.findByBadgeId(streakBadge.getId()).orElseThrow();
+        assertEquals(BadgeBackfill.Status.COMPLETED, backfill.getStatus());
+        assertEquals(0, backfill.getAwardedPersons());
+        assertEquals(21, holders());
+    }
+
+    private void awaitCompletion() throws InterruptedException {
+        for (int attempt = 0; attempt < 100 && badgeBackfillJob.isRunning(streakBadge.getId()); attempt++) {
+            Thread.sleep(50);
+        }
+        assertFalse(badgeBackfillJob.isRunning(streakBadge.getId()), "Backfill did not finish");
+    }
+
+    private int holders() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM person_badges WHERE badge_id = ?", Integer.class, streakBadge.getId());
+    }
+}
@@ -1,7 +1,9 @@
 package com.example.backend.badge.csr;
 
 import com.example.backend.badge.Badge;
+import com.example.backend.course.CourseDTO;
 import com.example.backend.person.PersonDTO;
+import com.example.backend.person.csr.PersonService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.Cookie;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,8 +13,13 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mockingDetails;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -32,6 +39,9 @@ public class BadgeControllerTest {
     @Autowired
     private BadgeRepository badgeRepository;
 
+    @MockitoSpyBean
+    private PersonService personService;
+
 
     private Cookie[] cookies;
 
@@ -95,6 +105,45 @@ public class BadgeControllerTest {
                 .andReturn();
     }
 
+    @Test
+    public void testFavouriteAwardsBadgeInTheBackground() throws Exception {
+        badgeRepository.save(new Badge("First Favorite", "Added your first course to favorites", "/badges/favorite-1.png", "FAVORITE", 1));
+        mockMvc.perform(post("/courses")
+                        .cookie(cookies)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CourseDTO("Course 1", "Description 1", "http://link1.com", 10, 1))))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/favourites/{id}", 1)
+                        .cookie(cookies))
+                .andExpect(status().isOk());
+
+        for (int attempt = 0; attempt < 50; attempt++) {
+            String body = mockMvc.perform(get("/badges/user/1")
+                            .cookie(cookies))
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+            if (objectMapper.readTree(body).get("data").size() == 1) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+        fail("Favourite badge was not awarded");
+    }
+
+    @Test
+    public void testGetUserBadges_ResolvesPersonOncePerRequest() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            clearInvocations(personService);
+            mockMvc.perform(get("/badges/user/1")
+                            .cookie(cookies))
+                    .andExpect(status().isOk());
+            assertEquals(1, personLookups());
+        }
+    }
+
     @Test
     public void testGetUserBadges_InvalidToken() throws Exception {
         mockMvc.perform(get("/badges/user/1")
@@ -102,4 +151,60 @@ public class BadgeControllerTest {
                 .andExpect(status().isUnauthorized())
                 .andExpect(jsonPath("$.message").value("Invalid access token"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testBackfillAwardsExistingUsers() throws Exception {
+        badgeRepository.save(new Badge("First Login", "Logged in for the first time", "/badges/streak-1.png", "STREAK", 1));
+        mockMvc.perform(post("/badges/1/backfill")
+                        .cookie(cookies))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.data.badgeId").value(1));
+
+        for (int attempt = 0; attempt < 50; attempt++) {
+            String body = mockMvc.perform(get("/badges/1/backfill"))
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+            if (objectMapper.readTree(body).get("data").get("status").asText().equals("COMPLETED")) {
+                mockMvc.perform(get("/badges/user/1")
+                                .cookie(cookies))
+                        .andExpect(jsonPath("$.data[0].id").value(1));
+                return;
+            }
+            Thread.sleep(100);
+        }
+        fail("Backfill did not complete");
+    }
+
+    @Test
+    public void testBackfill_InvalidToken() throws Exception {
+        badgeRepository.save(new Badge("First Login", "Logged in for the first time", "/badges/streak-1.png", "STREAK", 1));
+        mockMvc.perform(post("/badges/1/backfill")
+                        .cookie(new Cookie("accessToken", "invalidToken")))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Invalid access token"));
+    }
+
+    @Test
+    public void testBackfill_BadgeNotFound() throws Exception {
+        mockMvc.perform(post("/badges/999/backfill")
+                        .cookie(cookies))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Badge not found"));
+    }
+
+    @Test
+    public void testGetBackfill_NotFound() throws Exception {
+        mockMvc.perform(get("/badges/1/backfill"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("No backfill found for this badge"));
+    }
+
+    private long personLookups() {
+        return mockingDetails(personService).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals("findById")
+                        || invocation.getMethod().getName().equals("findByUsername"))
+                .count();
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.backend.badge.csr;
+
+import com.example.backend.comment.Comment;
+import com.example.backend.comment.csr.CommentRepository;
+import com.example.backend.course.Course;
+import com.example.backend.course.csr.CourseRepository;
+import com.example.backend.enrollment.Enrollment;
+import com.example.backend.enrollment.csr.EnrollmentRepository;
+import com.example.backend.friend.csr.FriendGraph;
+import com.example.backend.person.Person;
+import com.example.backend.person.csr.PersonRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class BadgeCriteriaQueryTest {
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private FriendGraph friendGraph;
+
+    @Autowired
+    private List<BadgeCriteriaEvaluator> evaluators;
+
+    @Test
+    public void testEvaluatorsMatchEntityCounts() {
+        Course short1 = courseRepository.save(new Course("Short", "Description", "http://link.com", 10, 1));
+        Course long1 = courseRepository.save(new Course("Long", "Description", "http://link.com", 100, 3));
+        Person alice = personRepository.save(new Person("alice", "password", 4, LocalDate.now()));
+        Person bob = personRepository.save(new Person("bob", "password", 1, LocalDate.now()));
+        Person carol = personRepository.save(new Person("carol", "password", 2, LocalDate.now()));
+
+        alice.getFavoriteCourses().addAll(List.of(short1, long1));
+        bob.getFavoriteCourses().add(short1);
+        personRepository.saveAll(List.of(alice, bob));
+        // The friend graph writes through JDBC, so the people must be in the table first
+        personRepository.flush();
+        friendGraph.add(alice.getId(), bob.getId());
+        friendGraph.add(alice.getId(), carol.getId());
+
+        // Completed by time spent, completed by flag, and in progress
+        Enrollment byTime = new Enrollment(short1, alice);
+        byTime.setTimeSpent(15);
+        Enrollment byFlag = new Enrollment(long1, alice);
+        byFlag.setTimeSpent(5);
+        byFlag.setCompleted(true);
+        Enrollment inProgress = new Enrollment(long1, bob);
+        inProgress.setTimeSpent(30);
+        enrollmentRepository.saveAll(List.of(byTime, byFlag, inProgress));
+
+        commentRepository.save(new Comment("First", bob, short1));
+        commentRepository.save(new Comment("Second", bob, long1));
+
+        List<Long> ids = List.of(alice.getId(), bob.getId(), carol.getId());
+        assertEquals(Map.of(alice.getId(), 4, bob.getId(), 1, carol.getId(), 2), evaluate("STREAK", ids));
+        assertEquals(Map.of(alice.getId(), 2, bob.getId(), 1), evaluate("FAVORITE", ids));
+        assertEquals(Map.of(alice.getId(), 2, bob.getId(), 1, carol.getId(), 1), evaluate("FRIENDS", ids));
+        assertEquals(Map.of(alice.getId(), 2, bob.getId(), 0), evaluate("COMPLETED_COURSES", ids));
+        assertEquals(Map.of(alice.getId(), 20, bob.getId(), 30), evaluate("TIME_SPENT", ids));
+        assertEquals(Map.of(bob.getId(), 2), evaluate("COMMENTS", ids));
+        assertEquals(Map.of(), evaluate("COMMENTS", List.of(carol.getId())));
+    }
+
+    private Map<Long, Integer> evaluate(String criteriaType, List<Long> personIds) {
+        return evaluators.stream()
+                .filter(evaluator -> evaluator.criteriaType().equals(criteriaType))
+                .findFirst()
+                .orElseThrow()
+                .evaluate(personIds);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.backend.badge.csr;
+
+import com.example.backend.badge.Badge;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Run with: mvn test -Pbenchmark
+@Tag("benchmark")
+public class BadgeRuleEngineBenchmarkTest {
+
+    private static final List<String> TYPES = List.of("STREAK", "FAVORITE", "COMPLETED_COURSES", "TIME_SPENT", "FRIENDS", "COMMENTS");
+    private static final int BADGES = 100;
+    private static final int PEOPLE = 100_000;
+
+    @Test
+    public void benchmarkHundredBadgesAgainstHundredThousandPeople() {
+        Random random = new Random(42);
+        List<Badge> badges = new ArrayList<>();
+        for (int i = 0; i < BADGES; i++) {
+            badges.add(new Badge(i + 1, "Badge " + i, "Description", "badge.png", TYPES.get(i % TYPES.size()), 1 + random.nextInt(500)));
+        }
+        BadgeRepository badgeRepository = mock(BadgeRepository.class);
+        when(badgeRepository.findAll()).thenReturn(badges);
+
+        List<Long> personIds = new ArrayList<>(PEOPLE);
+        for (long id = 1; id <= PEOPLE; id++) {
+            personIds.add(id);
+        }
+        // The metric queries are stubbed, this measures the in-memory matching only
+        List<BadgeCriteriaEvaluator> evaluators = new ArrayList<>();
+        for (String type : TYPES) {
+            Map<Long, Integer> metrics = new HashMap<>();
+            for (Long personId : personIds) {
+                metrics.put(personId, random.nextInt(600));
+            }
+            evaluators.add(new BadgeCriteriaEvaluator() {
+                @Override
+                public String criteriaType() {
+                    return type;
+                }
+
+                @Override
+                public Map<Long, Integer> evaluate(Collection<Long> ids) {
+                    return metrics;
+                }
+            });
+        }
+        BadgeRuleEngine badgeRuleEngine = new BadgeRuleEngine(evaluators, new BadgeDefinitions(badgeRepository));
+
+        // Warm up, then measure
+        for (int i = 0; i < 5; i++) {
+            badgeRuleEngine.earned(personIds);
+        }
+        long start = System.nanoTime();
+        Map<Long, List<Badge>> earned = badgeRuleEngine.earned(personIds);
+        double millis = (System.nanoTime() - start) / 1_000_000.0;
+
+        long awarded = earned.values().stream().mapToLong(List::size).sum();
+        System.out.printf("Evaluated %d badges against %d people in %.1f ms (%d awards)%n", BADGES, PEOPLE, millis, awarded);
+        assertTrue(awarded > 0);
+        assertTrue(millis < 5_000, "evaluation took " + millis + " ms");
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.backend.badge.csr;
+
+import com.example.backend.badge.Badge;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+public class BadgeRuleEngineTest {
+
+    @Mock
+    private BadgeRepository badgeRepository;
+
+    @Mock
+    private BadgeCriteriaEvaluator streakEvaluator;
+
+    @Mock
+    private BadgeCriteriaEvaluator commentsEvaluator;
+
+    private BadgeDefinitions badgeDefinitions;
+    private BadgeRuleEngine badgeRuleEngine;
+
+    private Badge streakBadge;
+    private Badge longStreakBadge;
+    private Badge commentBadge;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        streakBadge = new Badge(1, "Streak Badge", "3-day streak", "badge.png", "STREAK", 3);
+        longStreakBadge = new Badge(2, "Long Streak Badge", "7-day streak", "badge.png", "STREAK", 7);
+        commentBadge = new Badge(3, "Commenter", "1 comment", "badge.png", "COMMENTS", 1);
+        Badge unknownBadge = new Badge(4, "Unknown", "No evaluator", "badge.png", "UNKNOWN", 0);
+        when(badgeRepository.findAll()).thenReturn(List.of(longStreakBadge, commentBadge, unknownBadge, streakBadge));
+
+        when(streakEvaluator.criteriaType()).thenReturn("STREAK");
+        when(commentsEvaluator.criteriaType()).thenReturn("COMMENTS");
+        when(streakEvaluator.evaluate(anyCollection())).thenReturn(Map.of(1L, 3, 2L, 10, 3L, 1));
+        when(commentsEvaluator.evaluate(anyCollection())).thenReturn(Map.of(2L, 4));
+
+        badgeDefinitions = new BadgeDefinitions(badgeRepository);
+        badgeRuleEngine = new BadgeRuleEngine(List.of(streakEvaluator, commentsEvaluator), badgeDefinitions);
+    }
+
+    @Test
+    void testDefinitionsAreSortedByCriteriaValue() {
+        assertEquals(List.of(), badgeDefinitions.earned("STREAK", 2));
+        assertEquals(List.of(streakBadge), badgeDefinitions.earned("STREAK", 3));
+        assertEquals(List.of(streakBadge, longStreakBadge), badgeDefinitions.earned("STREAK", 30));
+        assertEquals(List.of(), badgeDefinitions.earned("MISSING", 30));
+        verify(badgeRepository, times(1)).findAll();
+    }
+
+    @Test
+    void testDefinitionsReloadAfterInvalidate() {
+        badgeDefinitions.earned("STREAK", 3);
+        badgeDefinitions.invalidate();
+        badgeDefinitions.earned("STREAK", 3);
+
+        verify(badgeRepository, times(2)).findAll();
+    }
+
+    @Test
+    void testEvaluatesEveryTypeOnceForAllPeople() {
+        Map<Long, List<Badge>> earned = badgeRuleEngine.earned(List.of(1L, 2L, 3L, 4L));
+
+        assertEquals(List.of(streakBadge), earned.get(1L));
+        assertEquals(Set.of(streakBadge, longStreakBadge, commentBadge), Set.copyOf(earned.get(2L)));
+        assertFalse(earned.containsKey(3L));
+        assertFalse(earned.containsKey(4L));
+        verify(streakEvaluator, times(1)).evaluate(List.of(1L, 2L, 3L, 4L));
+        verify(commentsEvaluator, times(1)).evaluate(List.of(1L, 2L, 3L, 4L));
+    }
+
+    @Test
+    void testOnlyRequestedTypesAreEvaluated() {
+        Map<Long, List<Badge>> earned = badgeRuleEngine.earned(List.of(2L), Set.of("COMMENTS"));
+
+        assertEquals(Map.of(2L, List.of(commentBadge)), earned);
+        verify(streakEvaluator, never()).evaluate(anyCollection());
+    }
+
+    @Test
+    void testTypesWithoutBadgesSkipTheQuery() {
+        when(badgeRepository.findAll()).thenReturn(List.of(streakBadge));
+        badgeDefinitions.invalidate();
+
+        badgeRuleEngine.earned(List.of(2L));
+
+        verify(commentsEvaluator, never()).evaluate(anyCollection());
+    }
+
+    @Test
+    void testDuplicateEvaluatorsAreRejected() {
+        assertThrows(IllegalStateException.class, () -> new BadgeRuleEngine(List.of(streakEvaluator, streakEvaluator), badgeDefinitions));
+    }
+}
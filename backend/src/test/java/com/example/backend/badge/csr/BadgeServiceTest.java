@@ -1,6 +1,9 @@
 package com.example.backend.badge.csr;
 
 import com.example.backend.badge.Badge;
+import com.example.backend.badge.BadgeBackfill;
+import com.example.backend.badge.error.BadgeBackfillError;
+import com.example.backend.badge.error.BadgeGetBackfillError;
 import com.example.backend.badge.error.BadgeGetByIdError;
 import com.example.backend.badge.error.BadgeGetByUserError;
 import com.example.backend.course.Course;
@@ -8,6 +11,7 @@ import com.example.backend.person.Person;
 import com.example.backend.person.csr.PersonService;
 import com.example.backend.util.JWT;
 import com.example.backend.util.ServiceResult;
+import com.example.backend.util.TokenPrincipal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -34,6 +38,12 @@ public class BadgeServiceTest {
     @Mock
     private BadgeRepository badgeRepository;
 
+    @Mock
+    private BadgeBackfillJob badgeBackfillJob;
+
+    @Mock
+    private BadgeBackfillRepository badgeBackfillRepository;
+
     @InjectMocks
     private BadgeService badgeService;
 
@@ -56,6 +66,8 @@ public class BadgeServiceTest {
 
         when(jwt.getPersonFromToken(validToken)).thenReturn(Optional.of(testPerson));
         when(jwt.getPersonFromToken("invalidToken")).thenReturn(Optional.empty());
+        when(jwt.getPrincipalFromToken(validToken)).thenReturn(Optional.of(new TokenPrincipal(1L, "testuser", Long.MAX_VALUE)));
+        when(jwt.getPrincipalFromToken("invalidToken")).thenReturn(Optional.empty());
     }
 
     @Test
@@ -115,37 +127,69 @@ public class BadgeServiceTest {
     }
 
     @Test
-    void testCheckAndAwardStreakBadges() {
-        when(badgeRepository.findByCriteriaType("STREAK")).thenReturn(List.of(streakBadge));
-        
-        badgeService.getUserBadges(validToken); // This will trigger updateBadges internally
+    void testGetUserBadges_IsReadOnly() {
+        testPerson.getFavoriteCourses().add(mock(Course.class));
 
-        verify(personService, times(1)).save(testPerson);
-        assertTrue(testPerson.getBadges().contains(streakBadge));
+        badgeService.getUserBadges(validToken);
+
+        verifyNoInteractions(personService, badgeRepository);
+        assertTrue(testPerson.getBadges().isEmpty());
     }
 
     @Test
-    void testCheckAndAwardFavoriteBadges() {
-        testPerson.getFavoriteCourses().add(mock(Course.class));
-        when(badgeRepository.findByCriteriaType("FAVORITE")).thenReturn(List.of(favoriteBadge));
-        
-        badgeService.getUserBadges(validToken); // This will trigger updateBadges internally
+    void testStartBackfill_Success() {
+        BadgeBackfill backfill = new BadgeBackfill(1);
+        when(badgeRepository.findById(1)).thenReturn(Optional.of(streakBadge));
+        when(badgeBackfillJob.supports(streakBadge)).thenReturn(true);
+        when(badgeBackfillJob.start(streakBadge)).thenReturn(Optional.of(backfill));
+
+        ServiceResult<BadgeBackfill, BadgeBackfillError> result = badgeService.startBackfill(validToken, 1);
 
-        verify(personService, times(1)).save(testPerson);
-        assertTrue(testPerson.getBadges().contains(favoriteBadge));
+        assertTrue(result.isSuccess());
+        assertEquals(backfill, result.getData());
     }
 
     @Test
-    void testCheckAndAwardBadges_NoQualifyingBadges() {
-        testPerson.setStreak(1); // Not enough for streak badge
-        testPerson.getFavoriteCourses().clear(); // No favorites
-        
-        when(badgeRepository.findByCriteriaType("STREAK")).thenReturn(List.of(streakBadge));
-        when(badgeRepository.findByCriteriaType("FAVORITE")).thenReturn(List.of(favoriteBadge));
-        
-        badgeService.getUserBadges(validToken);
-        
-        assertTrue(testPerson.getBadges().isEmpty());
-        verify(personService, times(1)).save(testPerson);
+    void testStartBackfill_InvalidToken() {
+        ServiceResult<BadgeBackfill, BadgeBackfillError> result = badgeService.startBackfill("invalidToken", 1);
+
+        assertFalse(result.isSuccess());
+        assertEquals(BadgeBackfillError.INVALID_ACCESS_TOKEN, result.getError());
+        verifyNoInteractions(badgeBackfillJob);
+    }
+
+    @Test
+    void testStartBackfill_UnsupportedCriteriaType() {
+        Badge unknownBadge = new Badge(3, "Unknown", "Unknown", "badge.png", "UNKNOWN", 1);
+        when(badgeRepository.findById(3)).thenReturn(Optional.of(unknownBadge));
+        when(badgeBackfillJob.supports(unknownBadge)).thenReturn(false);
+
+        ServiceResult<BadgeBackfill, BadgeBackfillError> result = badgeService.startBackfill(validToken, 3);
+
+        assertFalse(result.isSuccess());
+        assertEquals(BadgeBackfillError.UNSUPPORTED_CRITERIA_TYPE, result.getError());
+        verify(badgeBackfillJob, never()).start(any());
+    }
+
+    @Test
+    void testStartBackfill_AlreadyRunning() {
+        when(badgeRepository.findById(1)).thenReturn(Optional.of(streakBadge));
+        when(badgeBackfillJob.supports(streakBadge)).thenReturn(true);
+        when(badgeBackfillJob.start(streakBadge)).thenReturn(Optional.empty());
+
+        ServiceResult<BadgeBackfill, BadgeBackfillError> result = badgeService.startBackfill(validToken, 1);
+
+        assertFalse(result.isSuccess());
+        assertEquals(BadgeBackfillError.BACKFILL_ALREADY_RUNNING, result.getError());
+    }
+
+    @Test
+    void testGetBackfill_NotFound() {
+        when(badgeBackfillRepository.findByBadgeId(1)).thenReturn(Optional.empty());
+
+        ServiceResult<BadgeBackfill, BadgeGetBackfillError> result = badgeService.getBackfill(1);
+
+        assertFalse(result.isSuccess());
+        assertEquals(BadgeGetBackfillError.BACKFILL_NOT_FOUND, result.getError());
     }
-}
\ No newline at end of file
+}
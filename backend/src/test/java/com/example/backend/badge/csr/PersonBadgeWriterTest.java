@@ -0,0 +1,82 @@
+package com.example.backend.badge.csr;
+
+import com.example.backend.badge.Badge;
+import com.example.backend.person.Person;
+import com.example.backend.person.csr.PersonRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class PersonBadgeWriterTest {
+
+    @Autowired
+    private PersonBadgeWriter personBadgeWriter;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private BadgeRepository badgeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testDuplicatesAreSkipped() {
+        long personId = personRepository.save(new Person("alice", "password")).getId();
+        int first = badgeRepository.save(new Badge("First", "Description", "badge.png", "STREAK", 1)).getId();
+        int second = badgeRepository.save(new Badge("Second", "Description", "badge.png", "STREAK", 2)).getId();
+
+        assertEquals(1, personBadgeWriter.insert(List.<Object[]>of(new Object[]{personId, first})));
+        assertEquals(1, personBadgeWriter.insert(List.of(new Object[]{personId, first}, new Object[]{personId, second})));
+
+        assertEquals(2, countRows(personId));
+    }
+
+    @Test
+    public void testConcurrentAwardsInsertOneRow() throws Exception {
+        long personId = personRepository.save(new Person("alice", "password")).getId();
+        int badgeId = badgeRepository.save(new Badge("First", "Description", "badge.png", "STREAK", 1)).getId();
+        int threads = 8;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> writers = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                writers.add(executor.submit(() -> {
+                    start.await();
+                    return personBadgeWriter.insert(List.<Object[]>of(new Object[]{personId, badgeId}));
+                }));
+            }
+            start.countDown();
+            int inserted = 0;
+            for (Future<Integer> writer : writers) {
+                inserted += writer.get(30, TimeUnit.SECONDS);
+            }
+            assertEquals(1, inserted);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, countRows(personId));
+    }
+
+    private int countRows(long personId) {
+        Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM person_badges WHERE person_id = ?", Integer.class, personId);
+        return rows == null ? 0 : rows;
+    }
+}
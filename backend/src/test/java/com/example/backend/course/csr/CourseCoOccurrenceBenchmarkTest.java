@@ -0,0 +1,42 @@
+package com.example.backend.course.csr;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Run with: mvn test -Pbenchmark
+@Tag("benchmark")
+public class CourseCoOccurrenceBenchmarkTest {
+
+    private static final int ENROLLMENTS = 1_000_000;
+    private static final int PEOPLE = 100_000;
+    private static final int COURSES = 5_000;
+
+    @Test
+    public void benchmarkRebuildForOneMillionEnrollments() {
+        Random random = new Random(42);
+        long[] personIds = new long[ENROLLMENTS];
+        int[] courseIds = new int[ENROLLMENTS];
+        for (int i = 0; i < ENROLLMENTS; i++) {
+            personIds[i] = 1 + random.nextInt(PEOPLE);
+            // Skewed towards low ids so some courses are far more popular than others
+            courseIds[i] = 1 + (int) (COURSES * Math.pow(random.nextDouble(), 2));
+        }
+
+        // Warm up, then measure
+        for (int i = 0; i < 3; i++) {
+            CoOccurrenceMatrix.build(personIds, courseIds, ENROLLMENTS, 100);
+        }
+        long start = System.nanoTime();
+        CoOccurrenceMatrix matrix = CoOccurrenceMatrix.build(personIds, courseIds, ENROLLMENTS, 100);
+        double millis = (System.nanoTime() - start) / 1_000_000.0;
+
+        System.out.printf("Rebuild for %d enrollments: %.1f ms (%d courses, %d people, %d entries)%n",
+                ENROLLMENTS, millis, matrix.courseCount(), matrix.personCount(), matrix.nonZeroCount());
+        assertTrue(matrix.nonZeroCount() <= matrix.courseCount() * 100);
+        assertTrue(millis < 10_000, "rebuild took " + millis + " ms");
+    }
+}
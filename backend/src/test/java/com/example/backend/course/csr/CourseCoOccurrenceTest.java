@@ -0,0 +1,162 @@
+package com.example.backend.course.csr;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class CourseCoOccurrenceTest {
+
+    // Person 1 took 10, 20 and 30, person 2 took 10 and 20, person 3 took 20 and 40
+    private static final long REPLAY_WINDOW_MILLIS = 60_000;
+    private static final long[][] PAIRS = {{1, 10}, {1, 20}, {1, 30}, {1, 10}, {2, 10}, {2, 20}, {3, 20}, {3, 40}};
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+
+    private CourseCoOccurrence courseCoOccurrence;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (long[] pair : PAIRS) {
+                ResultSet resultSet = mock(ResultSet.class);
+                when(resultSet.getLong(1)).thenReturn(pair[0]);
+                when(resultSet.getInt(2)).thenReturn((int) pair[1]);
+                handler.processRow(resultSet);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+        courseCoOccurrence = new CourseCoOccurrence(jdbcTemplate, 100, REPLAY_WINDOW_MILLIS, now::get);
+        courseCoOccurrence.rebuild();
+    }
+
+    @Test
+    public void testMatrixCountsEachPairOnce() {
+        CoOccurrenceMatrix matrix = build(PAIRS, 0);
+
+        assertEquals(4, matrix.courseCount());
+        assertEquals(3, matrix.personCount());
+        assertEquals(2, matrix.support(10));
+        assertEquals(3, matrix.support(20));
+        assertEquals(2, matrix.count(10, 20));
+        assertEquals(2, matrix.count(20, 10));
+        assertEquals(1, matrix.count(20, 40));
+        assertEquals(0, matrix.count(10, 40));
+        assertTrue(matrix.contains(3, 40));
+        assertFalse(matrix.contains(2, 40));
+    }
+
+    @Test
+    public void testMatrixRowsAreOrderedAndCapped() {
+        List<Integer> neighbours = new ArrayList<>();
+        build(PAIRS, 0).forEachNeighbour(20, (courseId, count, support) -> neighbours.add(courseId));
+        assertEquals(List.of(10, 30, 40), neighbours);
+
+        CoOccurrenceMatrix capped = build(PAIRS, 1);
+        assertEquals(2, capped.count(20, 10));
+        assertEquals(0, capped.count(20, 30));
+    }
+
+    @Test
+    public void testScoresExcludeCoursesThePersonHas() {
+        Map<Integer, Double> scores = courseCoOccurrence.scores(2L, Set.of());
+
+        // 30 co-occurs with both of person 2's courses, 40 only with 20
+        assertEquals(Set.of(30, 40), scores.keySet());
+        assertEquals(1 / Math.sqrt(2) + 1 / Math.sqrt(3), scores.get(30), 1e-9);
+        assertEquals(1 / Math.sqrt(3), scores.get(40), 1e-9);
+    }
+
+    @Test
+    public void testRecordedCoursesCountBeforeTheNextRebuild() {
+        courseCoOccurrence.record(2L, 40);
+        assertEquals(Set.of(30), courseCoOccurrence.scores(2L, Set.of()).keySet());
+
+        // A new learner of 10 now lowers the cosine weight of everything related to 10
+        courseCoOccurrence.record(4L, 10);
+        Map<Integer, Double> scores = courseCoOccurrence.scores(4L, Set.of());
+        assertEquals(2 / Math.sqrt(3 * 3), scores.get(20), 1e-9);
+        assertEquals(1 / Math.sqrt(3), scores.get(30), 1e-9);
+        assertEquals(1 / Math.sqrt(3 * 2), scores.get(40), 1e-9);
+    }
+
+    @Test
+    public void testRecordingAKnownPairIsIgnored() {
+        Map<Integer, Double> before = courseCoOccurrence.scores(3L, Set.of());
+
+        courseCoOccurrence.record(1L, 10);
+
+        assertEquals(before, courseCoOccurrence.scores(3L, Set.of()));
+    }
+
+    @Test
+    public void testRebuildReplacesRecordedCourses() {
+        courseCoOccurrence.record(4L, 10);
+        assertFalse(courseCoOccurrence.scores(4L, Set.of()).isEmpty());
+
+        now.addAndGet(REPLAY_WINDOW_MILLIS + 1);
+        courseCoOccurrence.rebuild();
+
+        // Person 4 is not in the database, so only the seeds passed in count
+        assertTrue(courseCoOccurrence.scores(4L, Set.of()).isEmpty());
+        assertEquals(Set.of(10, 30, 40), courseCoOccurrence.scores(4L, Set.of(20)).keySet());
+    }
+
+    @Test
+    public void testRecordedJustBeforeRebuildSurvivesIt() {
+        // Recorded before the rebuild, but its transaction commits after the rebuild query read the table
+        courseCoOccurrence.record(4L, 10);
+        now.addAndGet(REPLAY_WINDOW_MILLIS / 2);
+
+        courseCoOccurrence.rebuild();
+
+        assertFalse(courseCoOccurrence.scores(4L, Set.of()).isEmpty());
+    }
+
+    @Test
+    public void testRecordedDuringRebuildSurvivesIt() {
+        doAnswer(invocation -> {
+            courseCoOccurrence.record(5L, 40);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+
+        now.addAndGet(REPLAY_WINDOW_MILLIS + 1);
+        courseCoOccurrence.rebuild();
+
+        assertEquals(Set.of(), courseCoOccurrence.scores(5L, Set.of()).keySet());
+        assertTrue(courseCoOccurrence.scores(null, Set.of(40)).isEmpty());
+        courseCoOccurrence.record(6L, 40);
+        courseCoOccurrence.record(6L, 10);
+        // Person 5 still counts towards the support of course 40
+        assertEquals(1 / Math.sqrt(2), courseCoOccurrence.scores(null, Set.of(10)).get(40), 1e-9);
+    }
+
+    private static CoOccurrenceMatrix build(long[][] pairs, int maxNeighbours) {
+        long[] personIds = new long[pairs.length];
+        int[] courseIds = new int[pairs.length];
+        for (int i = 0; i < pairs.length; i++) {
+            personIds[i] = pairs[i][0];
+            courseIds[i] = (int) pairs[i][1];
+        }
+        return CoOccurrenceMatrix.build(personIds, courseIds, pairs.length, maxNeighbours);
+    }
+}
@@ -9,11 +9,13 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -28,6 +30,12 @@ public class CourseControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private CourseCatalog courseCatalog;
+
+    @Autowired
+    private CourseViewCounter courseViewCounter;
+
     private Cookie[] cookies;
 
     @BeforeEach
@@ -98,6 +106,79 @@ public class CourseControllerTest {
                 .andExpect(jsonPath("$.data[0].title").value("Course 1"));
     }
 
+    @Test
+    public void testGetAllCourses_NotModified() throws Exception {
+        CourseDTO courseDTO = new CourseDTO("Course 1", "Description 1", "http://link1.com", 10, 1);
+        mockMvc.perform(post("/courses")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(courseDTO)))
+                .andExpect(status().isCreated());
+
+        MvcResult result = mockMvc.perform(get("/courses"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn();
+        String etag = result.getResponse().getHeader(HttpHeaders.ETAG);
+
+        MvcResult notModified = mockMvc.perform(get("/courses")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andReturn();
+        assertEquals("", notModified.getResponse().getContentAsString());
+        assertEquals(1, courseCatalog.getNotModified());
+        assertEquals(result.getResponse().getContentAsByteArray().length, courseCatalog.getBytesSaved());
+        assertEquals(etag, notModified.getResponse().getHeader(HttpHeaders.ETAG));
+
+        // Flushed view counts are patched into the catalog without changing its validators
+        int courseId = objectMapper.readTree(result.getResponse().getContentAsString()).get("data").get(0).get("id").asInt();
+        courseViewCounter.increment(courseId);
+        courseViewCounter.flush();
+        mockMvc.perform(get("/courses")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/courses"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].views").value(1));
+
+        // A new course changes the catalog, so the old ETag no longer matches
+        CourseDTO courseDTO2 = new CourseDTO("Course 2", "Description 2", "http://link2.com", 20, 1);
+        mockMvc.perform(post("/courses")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(courseDTO2)))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/courses")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2));
+    }
+
+    @Test
+    public void testGetCourseSummaries() throws Exception {
+        CourseDTO courseDTO = new CourseDTO("Course 1", "Description 1", "http://link1.com", 10, 3);
+        mockMvc.perform(post("/courses")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(courseDTO)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/courses/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].title").value("Course 1"))
+                .andExpect(jsonPath("$.data[0].difficulty").value(3))
+                .andExpect(jsonPath("$.data[0].views").value(0))
+                .andExpect(jsonPath("$.data[0].description").doesNotExist());
+
+        mockMvc.perform(get("/courses/summary").param("fields", "title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].id").exists())
+                .andExpect(jsonPath("$.data[0].title").value("Course 1"))
+                .andExpect(jsonPath("$.data[0].views").doesNotExist());
+
+        mockMvc.perform(get("/courses/summary").param("fields", "description"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid fields requested"));
+    }
+
     @Test
     public void testGetRecommendedCourses() throws Exception {
         // Create a course first
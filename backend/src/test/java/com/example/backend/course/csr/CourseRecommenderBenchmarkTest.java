@@ -0,0 +1,70 @@
+package com.example.backend.course.csr;
+
+import com.example.backend.course.Course;
+import com.example.backend.course.CourseCatalogSnapshot;
+import com.example.backend.course.CourseSnapshot;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Run with: mvn test -Pbenchmark
+@Tag("benchmark")
+public class CourseRecommenderBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseRecommenderBenchmarkTest.class);
+
+    private static final int COURSES = 100_000;
+    private static final int REQUESTS = 20_000;
+
+    @Test
+    public void benchmarkRecommendOverHundredThousandCourses() {
+        Random random = new Random(42);
+        List<CourseSnapshot> courses = new ArrayList<>(COURSES);
+        for (int i = 1; i <= COURSES; i++) {
+            courses.add(new CourseSnapshot(i, "Course " + i, "Description", "http://link.com", 10, 1 + random.nextInt(5), random.nextInt(1_000_000)));
+        }
+        CourseCatalog courseCatalog = mock(CourseCatalog.class);
+        when(courseCatalog.get()).thenReturn(CourseCatalogSnapshot.of(courses, 0, "\"0\""));
+        CourseRecommender courseRecommender = new CourseRecommender(courseCatalog, mock(CourseCoOccurrence.class), 20);
+
+        List<List<Course>> favorites = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            List<Course> personFavorites = new ArrayList<>();
+            for (int j = 0; j < 1 + random.nextInt(50); j++) {
+                CourseSnapshot snapshot = courses.get(random.nextInt(COURSES));
+                Course course = new Course(snapshot.getTitle(), snapshot.getDescription(), snapshot.getLink(), snapshot.getEstimatedDuration(), snapshot.getDifficulty());
+                course.setId(snapshot.getId());
+                personFavorites.add(course);
+            }
+            favorites.add(personFavorites);
+        }
+
+        long buildStart = System.nanoTime();
+        courseRecommender.recommend(null, favorites.getFirst());
+        long buildNanos = System.nanoTime() - buildStart;
+
+        // Warm up, then measure
+        for (int i = 0; i < REQUESTS; i++) {
+            courseRecommender.recommend(null, favorites.get(i % favorites.size()));
+        }
+        long start = System.nanoTime();
+        int returned = 0;
+        for (int i = 0; i < REQUESTS; i++) {
+            returned += courseRecommender.recommend(null, favorites.get(i % favorites.size())).size();
+        }
+        double averageMicros = (System.nanoTime() - start) / 1000.0 / REQUESTS;
+
+        logger.info("Index build for {} courses: {} ms", COURSES, String.format("%.1f", buildNanos / 1_000_000.0));
+        logger.info("Average recommend latency: {} us", String.format("%.2f", averageMicros));
+        assertEquals(REQUESTS * 20, returned);
+        assertTrue(averageMicros < 1000, "recommend took " + averageMicros + " us on average");
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.backend.course.csr;
+
+import com.example.backend.course.Course;
+import com.example.backend.course.CourseCatalogSnapshot;
+import com.example.backend.course.CourseSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class CourseRecommenderTest {
+
+    @Mock
+    private CourseCatalog courseCatalog;
+
+    @Mock
+    private CourseCoOccurrence courseCoOccurrence;
+
+    private CourseRecommender courseRecommender;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(courseCatalog.get()).thenReturn(catalog(
+                snapshot(1, 3, 50),
+                snapshot(2, 3, 10),
+                snapshot(3, 2, 40),
+                snapshot(4, 4, 30),
+                snapshot(5, 5, 100),
+                snapshot(6, 1, 90)));
+        courseRecommender = new CourseRecommender(courseCatalog, courseCoOccurrence, 3);
+    }
+
+    @Test
+    public void testNoFavoriteCourses() {
+        assertTrue(courseRecommender.recommend(null, List.of()).isEmpty());
+        verify(courseCatalog, never()).get();
+    }
+
+    @Test
+    public void testRecommendsMostViewedWithinBandExcludingFavorites() {
+        // Average difficulty 3, so difficulties 2 to 4 qualify
+        List<CourseSnapshot> recommended = courseRecommender.recommend(null, List.of(favorite(1, 3)));
+
+        assertEquals(List.of(3, 4, 2), recommended.stream().map(CourseSnapshot::getId).toList());
+    }
+
+    @Test
+    public void testResultIsBounded() {
+        List<CourseSnapshot> recommended = courseRecommender.recommend(null, List.of(favorite(6, 1), favorite(5, 5)));
+
+        // Average difficulty 3 again, but courses 1 to 4 all qualify and only 3 are returned
+        assertEquals(List.of(1, 3, 4), recommended.stream().map(CourseSnapshot::getId).toList());
+    }
+
+    @Test
+    public void testCoOccurringCoursesComeFirst() {
+        when(courseCoOccurrence.scores(7L, Set.of(1))).thenReturn(Map.of(6, 0.5, 5, 0.9, 42, 1.0));
+
+        List<CourseSnapshot> recommended = courseRecommender.recommend(7L, List.of(favorite(1, 3)));
+
+        // Unknown course 42 is skipped, then the band fills the last slot
+        assertEquals(List.of(5, 6, 3), recommended.stream().map(CourseSnapshot::getId).toList());
+    }
+
+    @Test
+    public void testCoOccurrenceWithoutFavorites() {
+        when(courseCoOccurrence.scores(7L, Set.of())).thenReturn(Map.of(2, 0.5, 4, 0.5));
+
+        List<CourseSnapshot> recommended = courseRecommender.recommend(7L, List.of());
+
+        // Equal scores fall back to views
+        assertEquals(List.of(4, 2), recommended.stream().map(CourseSnapshot::getId).toList());
+    }
+
+    @Test
+    public void testIndexIsRebuiltWhenCatalogChanges() {
+        assertEquals(3, courseRecommender.recommend(null, List.of(favorite(1, 3))).getFirst().getId());
+
+        when(courseCatalog.get()).thenReturn(catalog(snapshot(1, 3, 50), snapshot(2, 3, 500), snapshot(3, 2, 40)));
+        assertEquals(2, courseRecommender.recommend(null, List.of(favorite(1, 3))).getFirst().getId());
+    }
+
+    @Test
+    public void testViewChangesReorderOnlyTheirBucket() {
+        assertEquals(List.of(3, 4, 2), ids(courseRecommender.recommend(null, List.of(favorite(1, 3)))));
+
+        // Same courses, only the views of course 2 changed, as after a view count flush
+        when(courseCatalog.get()).thenReturn(catalog(
+                snapshot(1, 3, 50),
+                snapshot(2, 3, 60),
+                snapshot(3, 2, 40),
+                snapshot(4, 4, 30),
+                snapshot(5, 5, 100),
+                snapshot(6, 1, 90)));
+        List<CourseSnapshot> recommended = courseRecommender.recommend(null, List.of(favorite(1, 3)));
+
+        assertEquals(List.of(2, 3, 4), ids(recommended));
+        assertEquals(60, recommended.getFirst().getViews());
+    }
+
+    @Test
+    public void testDifficultyChangeRebuildsIndex() {
+        assertEquals(List.of(3, 4, 2), ids(courseRecommender.recommend(null, List.of(favorite(1, 3)))));
+
+        when(courseCatalog.get()).thenReturn(catalog(
+                snapshot(1, 3, 50),
+                snapshot(2, 3, 10),
+                snapshot(3, 2, 40),
+                snapshot(4, 4, 30),
+                snapshot(5, 4, 100),
+                snapshot(6, 1, 90)));
+
+        assertEquals(List.of(5, 3, 4), ids(courseRecommender.recommend(null, List.of(favorite(1, 3)))));
+    }
+
+    private static List<Integer> ids(List<CourseSnapshot> courses) {
+        return courses.stream().map(CourseSnapshot::getId).toList();
+    }
+
+    private static Course favorite(Integer id, Integer difficulty) {
+        Course course = new Course("Course " + id, "Description", "http://link.com", 10, difficulty);
+        course.setId(id);
+        return course;
+    }
+
+    private static CourseSnapshot snapshot(Integer id, Integer difficulty, Integer views) {
+        return new CourseSnapshot(id, "Course " + id, "Description", "http://link.com", 10, difficulty, views);
+    }
+
+    private static CourseCatalogSnapshot catalog(CourseSnapshot... courses) {
+        return CourseCatalogSnapshot.of(List.of(courses), 0, "\"0\"");
+    }
+}
@@ -1,6 +1,10 @@
 package com.example.backend.course.csr;
 
 import com.example.backend.course.Course;
+import com.example.backend.course.CourseCatalogSnapshot;
+import com.example.backend.course.CourseDTO;
+import com.example.backend.course.CourseSnapshot;
+import com.example.backend.course.CourseSummaryDTO;
 import com.example.backend.course.error.*;
 import com.example.backend.person.Person;
 import com.example.backend.util.JWT;
@@ -13,6 +17,7 @@ import org.mockito.MockitoAnnotations;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -23,6 +28,18 @@ public class CourseServiceTest {
     @Mock
     private CourseRepository courseRepository;
 
+    @Mock
+    private CourseCatalog courseCatalog;
+
+    @Mock
+    private CourseViewCounter courseViewCounter;
+
+    @Mock
+    private TrendingCourseEngine trendingCourseEngine;
+
+    @Mock
+    private CourseRecommender courseRecommender;
+
     @Mock
     private JWT jwt;
 
@@ -58,25 +75,66 @@ public class CourseServiceTest {
 
     @Test
     public void testGetAllSuccess() {
-        Course course1 = new Course();
-        Course course2 = new Course();
-        List<Course> courses = Arrays.asList(course1, course2);
-        when(courseRepository.findAll()).thenReturn(courses);
+        when(courseCatalog.get()).thenReturn(catalog(snapshot(1, 1), snapshot(2, 1)));
 
-        ServiceResult<List<Course>, CourseGetAllError> result = courseService.getAll();
+        ServiceResult<CourseCatalogSnapshot, CourseGetAllError> result = courseService.getAll(List.of(), -1);
         assertTrue(result.isSuccess());
-        assertEquals(2, result.getData().size());
+        assertEquals(2, result.getData().getCourses().size());
+        verify(courseRepository, never()).findAll();
     }
 
     @Test
     public void testGetAllFailure() {
-        when(courseRepository.findAll()).thenReturn(List.of());
+        when(courseCatalog.get()).thenReturn(catalog());
 
-        ServiceResult<List<Course>, CourseGetAllError> result = courseService.getAll();
+        ServiceResult<CourseCatalogSnapshot, CourseGetAllError> result = courseService.getAll(List.of(), -1);
         assertFalse(result.isSuccess());
         assertEquals(CourseGetAllError.GET_ALL_COURSES_FAILED, result.getError());
     }
 
+    @Test
+    public void testGetAllNotModified() {
+        CourseCatalogSnapshot catalog = CourseCatalogSnapshot.of(List.of(snapshot(1, 1)), 5_000, "W/\"abc\"");
+        when(courseCatalog.get()).thenReturn(catalog);
+
+        ServiceResult<CourseCatalogSnapshot, CourseGetAllError> result = courseService.getAll(List.of("\"other\"", "\"abc\""), -1);
+        assertEquals(CourseGetAllError.NOT_MODIFIED, result.getError());
+        assertSame(catalog, result.getData());
+        verify(courseCatalog).recordNotModified(catalog);
+
+        assertEquals(CourseGetAllError.NOT_MODIFIED, courseService.getAll(List.of(), 5_999).getError());
+        assertTrue(courseService.getAll(List.of(), 4_000).isSuccess());
+        // If-None-Match takes precedence over If-Modified-Since
+        assertTrue(courseService.getAll(List.of("\"other\""), 5_000).isSuccess());
+    }
+
+    @Test
+    public void testGetSummaries() {
+        when(courseCatalog.getSummaries()).thenReturn(List.of(new CourseSummaryDTO(1, "Course 1", "http://link.com", 10, 2, 7)));
+
+        ServiceResult<List<Map<String, Object>>, CourseGetSummaryError> result = courseService.getSummaries(null);
+        assertTrue(result.isSuccess());
+        assertEquals(CourseSummaryDTO.FIELDS, List.copyOf(result.getData().getFirst().keySet()));
+        assertEquals(7, result.getData().getFirst().get("views"));
+    }
+
+    @Test
+    public void testGetSummariesSparseFields() {
+        when(courseCatalog.getSummaries()).thenReturn(List.of(new CourseSummaryDTO(1, "Course 1", "http://link.com", 10, 2, 7)));
+
+        ServiceResult<List<Map<String, Object>>, CourseGetSummaryError> result = courseService.getSummaries("title, views");
+        assertTrue(result.isSuccess());
+        assertEquals(List.of("id", "title", "views"), List.copyOf(result.getData().getFirst().keySet()));
+    }
+
+    @Test
+    public void testGetSummariesInvalidFields() {
+        ServiceResult<List<Map<String, Object>>, CourseGetSummaryError> result = courseService.getSummaries("title,description");
+        assertFalse(result.isSuccess());
+        assertEquals(CourseGetSummaryError.INVALID_FIELDS, result.getError());
+        verify(courseCatalog, never()).getSummaries();
+    }
+
     @Test
     public void testGetByIdSuccess() {
         Course course = new Course();
@@ -108,60 +166,28 @@ public class CourseServiceTest {
         String accessToken = "invalidToken";
         when(jwt.getPersonFromToken(accessToken)).thenReturn(Optional.empty());
 
-        ServiceResult<List<Course>, CourseGetRecommendError> result = courseService.getRecommendedCourses(accessToken);
+        ServiceResult<List<CourseSnapshot>, CourseGetRecommendError> result = courseService.getRecommendedCourses(accessToken);
 
         assertFalse(result.isSuccess());
         assertEquals(CourseGetRecommendError.INVALID_ACCESS_TOKEN, result.getError());
     }
 
-    @Test
-    public void testGetRecommendedCourses_noFavoriteCourses() {
-        String accessToken = "validToken";
-        Person person = new Person();
-        person.setFavoriteCourses(List.of());
-        when(jwt.getPersonFromToken(accessToken)).thenReturn(Optional.of(person));
-
-        ServiceResult<List<Course>, CourseGetRecommendError> result = courseService.getRecommendedCourses(accessToken);
-
-        assertTrue(result.isSuccess());
-        assertTrue(result.getData().isEmpty());
-    }
-
-    @Test
-    public void testGetRecommendedCourses_noRecommendedCourses() {
-        String accessToken = "validToken";
-        Person person = new Person();
-        Course favoriteCourse = new Course();
-        favoriteCourse.setDifficulty(3);
-        person.setFavoriteCourses(List.of(favoriteCourse));
-        when(jwt.getPersonFromToken(accessToken)).thenReturn(Optional.of(person));
-        when(courseRepository.findAll()).thenReturn(List.of(favoriteCourse));
-
-        ServiceResult<List<Course>, CourseGetRecommendError> result = courseService.getRecommendedCourses(accessToken);
-
-        assertTrue(result.isSuccess());
-        assertTrue(result.getData().isEmpty());
-    }
-
     @Test
     public void testGetRecommendedCourses_success() {
         String accessToken = "validToken";
         Person person = new Person();
         Course favoriteCourse = new Course();
+        favoriteCourse.setId(1);
         favoriteCourse.setDifficulty(3);
         person.setFavoriteCourses(List.of(favoriteCourse));
-        Course recommendedCourse = new Course();
-        recommendedCourse.setDifficulty(3);
-        recommendedCourse.setTitle("Recommended Course");
+        CourseSnapshot recommendedCourse = snapshot(2, 3);
         when(jwt.getPersonFromToken(accessToken)).thenReturn(Optional.of(person));
-        when(courseRepository.findAll()).thenReturn(List.of(favoriteCourse, recommendedCourse));
+        when(courseRecommender.recommend(person.getId(), person.getFavoriteCourses())).thenReturn(List.of(recommendedCourse));
 
-        ServiceResult<List<Course>, CourseGetRecommendError> result = courseService.getRecommendedCourses(accessToken);
+        ServiceResult<List<CourseSnapshot>, CourseGetRecommendError> result = courseService.getRecommendedCourses(accessToken);
 
         assertTrue(result.isSuccess());
-        assertFalse(result.getData().isEmpty());
-        assertEquals(1, result.getData().size());
-        assertEquals(recommendedCourse, result.getData().getFirst());
+        assertEquals(List.of(recommendedCourse), result.getData());
     }
 
     @Test
@@ -174,10 +200,10 @@ public class CourseServiceTest {
         course2.setTitle("Course 2");
         course2.setViews(20);
 
-        List<Course> trendingCourses = Arrays.asList(course2, course1); // Ordered by views desc
-        when(courseRepository.findTop10ByOrderByViewsDesc()).thenReturn(trendingCourses);
+        List<CourseSnapshot> trendingCourses = List.of(CourseSnapshot.of(course2), CourseSnapshot.of(course1)); // Ordered by decayed views desc
+        when(trendingCourseEngine.top()).thenReturn(trendingCourses);
 
-        ServiceResult<List<Course>, CourseGetTrendingError> result = courseService.getTrendingCourses();
+        ServiceResult<List<CourseSnapshot>, CourseGetTrendingError> result = courseService.getTrendingCourses();
 
         assertTrue(result.isSuccess());
         assertEquals(2, result.getData().size());
@@ -187,9 +213,9 @@ public class CourseServiceTest {
 
     @Test
     public void testGetTrendingCourses_emptyList() {
-        when(courseRepository.findTop10ByOrderByViewsDesc()).thenReturn(List.of());
+        when(trendingCourseEngine.top()).thenReturn(List.of());
 
-        ServiceResult<List<Course>, CourseGetTrendingError> result = courseService.getTrendingCourses();
+        ServiceResult<List<CourseSnapshot>, CourseGetTrendingError> result = courseService.getTrendingCourses();
 
         assertTrue(result.isSuccess());
         assertTrue(result.getData().isEmpty());
@@ -197,9 +223,9 @@ public class CourseServiceTest {
 
     @Test
     public void testGetTrendingCourses_exception() {
-        when(courseRepository.findTop10ByOrderByViewsDesc()).thenThrow(new RuntimeException("Database error"));
+        when(trendingCourseEngine.top()).thenThrow(new RuntimeException("Database error"));
 
-        ServiceResult<List<Course>, CourseGetTrendingError> result = courseService.getTrendingCourses();
+        ServiceResult<List<CourseSnapshot>, CourseGetTrendingError> result = courseService.getTrendingCourses();
 
         assertFalse(result.isSuccess());
         assertEquals(CourseGetTrendingError.GET_TRENDING_COURSES_FAILED, result.getError());
@@ -207,18 +233,14 @@ public class CourseServiceTest {
 
     @Test
     public void testIncrementCourseViews_success() {
-        Course course = new Course();
-        course.setId(1);
-        course.setViews(5);
-
-        when(courseRepository.findById(1)).thenReturn(Optional.of(course));
-        when(courseRepository.save(any(Course.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(courseCatalog.contains(1)).thenReturn(true);
 
         ServiceResult<Void, CourseViewError> result = courseService.incrementCourseViews(1);
 
         assertTrue(result.isSuccess());
-        assertEquals(6, course.getViews()); // View count should be incremented
-        verify(courseRepository).save(course);
+        verify(courseViewCounter).increment(1);
+        verify(trendingCourseEngine).recordView(1);
+        verify(courseRepository, never()).save(any());
     }
 
     @Test
@@ -227,8 +249,8 @@ public class CourseServiceTest {
 
         assertFalse(result.isSuccess());
         assertEquals(CourseViewError.INVALID_ID, result.getError());
-        verify(courseRepository, never()).findById(any());
-        verify(courseRepository, never()).save(any());
+        verify(courseCatalog, never()).contains(any());
+        verify(courseViewCounter, never()).increment(any());
     }
 
     @Test
@@ -237,21 +259,37 @@ public class CourseServiceTest {
 
         assertFalse(result.isSuccess());
         assertEquals(CourseViewError.INVALID_ID, result.getError());
-        verify(courseRepository, never()).findById(any());
-        verify(courseRepository, never()).save(any());
+        verify(courseCatalog, never()).contains(any());
+        verify(courseViewCounter, never()).increment(any());
     }
 
     @Test
     public void testIncrementCourseViews_courseNotFound() {
-        when(courseRepository.findById(999)).thenReturn(Optional.empty());
+        when(courseCatalog.contains(999)).thenReturn(false);
 
         ServiceResult<Void, CourseViewError> result = courseService.incrementCourseViews(999);
 
         assertFalse(result.isSuccess());
         assertEquals(CourseViewError.COURSE_NOT_FOUND, result.getError());
-        verify(courseRepository, never()).save(any());
+        verify(courseViewCounter, never()).increment(any());
     }
 
+    @Test
+    public void testCreateInvalidatesCatalog() {
+        when(courseRepository.save(any(Course.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ServiceResult<Course, CourseCreateError> result = courseService.create(new CourseDTO("Course", "Description", "http://link.com", 10, 1));
+
+        assertTrue(result.isSuccess());
+        verify(courseCatalog).invalidate();
+        verify(trendingCourseEngine).catalogChanged();
+    }
 
+    private static CourseSnapshot snapshot(Integer id, Integer difficulty) {
+        return new CourseSnapshot(id, "Course " + id, "Description", "http://link.com", 10, difficulty, 0);
+    }
 
+    private static CourseCatalogSnapshot catalog(CourseSnapshot... courses) {
+        return CourseCatalogSnapshot.of(List.of(courses), 0, "\"0\"");
+    }
 }
@@ -0,0 +1,153 @@
+package com.example.backend.course.csr;
+
+import com.example.backend.course.Course;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class CourseViewCounterTest {
+
+    @Autowired
+    private CourseViewCounter courseViewCounter;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CourseCatalog courseCatalog;
+
+    @Test
+    public void testConcurrentViewsAreNotLost() throws Exception {
+        Course course = courseRepository.save(new Course("Course", "Description", "http://link.com", 10, 1));
+        int threads = 16;
+        int viewsPerThread = 2000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        try {
+            // Flush continuously while the views are being recorded
+            Future<?> flusher = executor.submit(() -> {
+                while (running.get()) {
+                    courseViewCounter.flush();
+                }
+            });
+            List<Future<?>> writers = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                writers.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < viewsPerThread; j++) {
+                        courseViewCounter.increment(course.getId());
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get(30, TimeUnit.SECONDS);
+            }
+            running.set(false);
+            flusher.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        courseViewCounter.flush();
+
+        assertEquals(0, courseViewCounter.pending(course.getId()));
+        assertEquals(threads * viewsPerThread, courseRepository.findById(course.getId()).orElseThrow().getViews());
+    }
+
+    @Test
+    public void testFailedFlushKeepsViews() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new RuntimeException("Database error"));
+        CourseCatalog courseCatalog = mock(CourseCatalog.class);
+        CourseViewCounter counter = new CourseViewCounter(jdbcTemplate, mock(PlatformTransactionManager.class), courseCatalog, mock(TrendingCourseEngine.class));
+
+        counter.increment(1);
+        counter.increment(1);
+        counter.flush();
+
+        assertEquals(2, counter.pending(1));
+        verify(courseCatalog, never()).addViews(any(), anyLong());
+    }
+
+    @Test
+    public void testFailedFlushRollsBackRowsWrittenBeforeTheFailure() {
+        Course first = courseRepository.save(new Course("First", "Description", "http://link.com", 10, 1));
+        Course second = new Course("Second", "Description", "http://link.com", 10, 1);
+        // The next view overflows the column, so the second row of the batch fails
+        second.setViews(Integer.MAX_VALUE);
+        second = courseRepository.save(second);
+
+        courseViewCounter.increment(first.getId());
+        courseViewCounter.increment(second.getId());
+        courseViewCounter.flush();
+
+        assertEquals(0, courseRepository.findById(first.getId()).orElseThrow().getViews());
+        assertEquals(1, courseViewCounter.pending(first.getId()));
+        assertEquals(1, courseViewCounter.pending(second.getId()));
+    }
+
+    @Test
+    public void testFlushUpdatesCatalog() {
+        Course course = courseRepository.save(new Course("Course", "Description", "http://link.com", 10, 1));
+        assertEquals(0, courseCatalog.findById(course.getId()).orElseThrow().getViews());
+
+        courseViewCounter.increment(course.getId());
+        courseViewCounter.increment(course.getId());
+        courseViewCounter.flush();
+
+        assertEquals(2, courseCatalog.findById(course.getId()).orElseThrow().getViews());
+    }
+
+    @Test
+    public void testRepositoryWriteInvalidatesCatalog() {
+        Course course = courseRepository.save(new Course("Course", "Description", "http://link.com", 10, 1));
+        assertEquals("Course", courseCatalog.findById(course.getId()).orElseThrow().getTitle());
+
+        course.setTitle("Renamed course");
+        courseRepository.save(course);
+
+        assertEquals("Renamed course", courseCatalog.findById(course.getId()).orElseThrow().getTitle());
+    }
+
+    @Test
+    public void testFlushDoesNotPatchCatalogLoadedAfterUpdate() {
+        Course course = courseRepository.save(new Course("Course", "Description", "http://link.com", 10, 1));
+        courseCatalog.findById(course.getId());
+
+        // A reload between the database update and the in-memory patch already sees the new views
+        long loadSequence = courseCatalog.loadSequence();
+        courseRepository.findById(course.getId()).ifPresent(saved -> {
+            saved.setViews(2);
+            courseRepository.save(saved);
+        });
+        assertEquals(2, courseCatalog.findById(course.getId()).orElseThrow().getViews());
+        courseCatalog.addViews(Map.of(course.getId(), 2L), loadSequence);
+
+        assertEquals(2, courseCatalog.findById(course.getId()).orElseThrow().getViews());
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.backend.course.csr;
+
+import com.example.backend.course.CourseSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class TrendingCourseEngineTest {
+
+    private static final long HALF_LIFE_MILLIS = 60 * 60_000;
+
+    @Mock
+    private CourseCatalog courseCatalog;
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final List<CourseSnapshot> courses = new ArrayList<>();
+    private TrendingCourseEngine trendingCourseEngine;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        int[] lifetimeViews = {20, 0, 0, 10, 30};
+        for (int i = 1; i <= 5; i++) {
+            courses.add(new CourseSnapshot(i, "Course " + i, "Description", "http://link.com", 10, 1, lifetimeViews[i - 1]));
+        }
+        when(courseCatalog.findById(anyInt())).thenAnswer(invocation -> Optional.of(courses.get((Integer) invocation.getArgument(0) - 1)));
+        when(courseCatalog.findAll()).thenReturn(List.of());
+        trendingCourseEngine = new TrendingCourseEngine(courseCatalog, 60, 3, 0, now::get);
+    }
+
+    @Test
+    public void testRanksByRecentViews() {
+        view(2, 5);
+        view(1, 2);
+
+        List<CourseSnapshot> top = trendingCourseEngine.top();
+        assertEquals(List.of(courses.get(1), courses.get(0)), top);
+    }
+
+    @Test
+    public void testOldViewsDecay() {
+        view(1, 4);
+        now.addAndGet(3 * HALF_LIFE_MILLIS);
+        // One view now outweighs four views three half-lives ago (4 / 2^3 = 0.5)
+        view(2, 1);
+
+        assertEquals(courses.get(1), trendingCourseEngine.top().getFirst());
+    }
+
+    @Test
+    public void testTopIsLimitedAndToppedUpWithLifetimeViews() {
+        when(courseCatalog.findAll()).thenReturn(courses);
+        view(1, 1);
+
+        List<CourseSnapshot> top = trendingCourseEngine.top();
+        assertEquals(List.of(courses.get(0), courses.get(4), courses.get(3)), top);
+
+        view(2, 3);
+        view(3, 2);
+        view(4, 1);
+        top = trendingCourseEngine.top();
+        assertEquals(3, top.size());
+        assertEquals(List.of(courses.get(1), courses.get(2)), top.subList(0, 2));
+    }
+
+    @Test
+    public void testReadsAreServedFromSnapshot() {
+        view(1, 1);
+        List<CourseSnapshot> first = trendingCourseEngine.top();
+        assertSame(first, trendingCourseEngine.top());
+        verify(courseCatalog, times(1)).findById(1);
+
+        view(1, 1);
+        assertNotSame(first, trendingCourseEngine.top());
+        verify(courseCatalog, times(2)).findById(1);
+    }
+
+    @Test
+    public void testCatalogChangeRefreshesSnapshot() {
+        List<CourseSnapshot> first = trendingCourseEngine.top();
+        when(courseCatalog.findAll()).thenReturn(courses);
+        trendingCourseEngine.catalogChanged();
+
+        List<CourseSnapshot> top = trendingCourseEngine.top();
+        assertNotSame(first, top);
+        assertEquals(courses.get(4), top.getFirst());
+    }
+
+    @Test
+    public void testRescaleKeepsOrder() {
+        view(1, 2);
+        view(2, 1);
+        // Far past the rescale threshold, weights would overflow without rescaling
+        for (int i = 0; i < 10; i++) {
+            now.addAndGet(50 * HALF_LIFE_MILLIS);
+            view(3, 1);
+        }
+        view(1, 3);
+        view(2, 2);
+
+        List<CourseSnapshot> top = trendingCourseEngine.top();
+        assertEquals(List.of(courses.get(0), courses.get(1), courses.get(2)), top);
+    }
+
+    private void view(int courseId, int count) {
+        for (int i = 0; i < count; i++) {
+            trendingCourseEngine.recordView(courseId);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.backend.enrollment.csr;
+
+import com.example.backend.course.Course;
+import com.example.backend.enrollment.EnrollmentImportDTO;
+import com.example.backend.person.Person;
+import com.example.backend.util.BulkInserter;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Run with: mvn test -Pbenchmark
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class EnrollmentImportBenchmarkTest {
+
+    private static final int PEOPLE = 1_000;
+    private static final int COURSES = 100;
+    private static final int ENROLLMENTS = 100_000;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private BulkInserter bulkInserter;
+
+    @Test
+    public void benchmarkHundredThousandEnrollments() {
+        List<Person> people = new ArrayList<>();
+        for (int i = 0; i < PEOPLE; i++) {
+            people.add(new Person("importUser" + i, "password"));
+        }
+        bulkInserter.insertAll(people);
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < COURSES; i++) {
+            courses.add(new Course("Import course " + i, "Description", "https://example.com/" + i, 60, 1));
+        }
+        bulkInserter.insertAll(courses);
+
+        Random random = new Random(42);
+        List<EnrollmentImportDTO> rows = new ArrayList<>(ENROLLMENTS);
+        for (int i = 0; i < ENROLLMENTS; i++) {
+            Person person = people.get(random.nextInt(PEOPLE));
+            Course course = courses.get(random.nextInt(COURSES));
+            rows.add(new EnrollmentImportDTO(person.getId(), course.getId(), random.nextInt(120), false));
+        }
+
+        // Before: one transaction and one INSERT round trip per row, as the repository save path does
+        long start = System.nanoTime();
+        for (EnrollmentImportDTO row : rows) {
+            enrollmentService.importEnrollments(List.of(row));
+        }
+        double rowAtATimeSeconds = (System.nanoTime() - start) / 1e9;
+
+        // After: chunked transactions with batched INSERTs
+        start = System.nanoTime();
+        int inserted = enrollmentService.importEnrollments(rows);
+        double batchedSeconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("Row at a time: %d enrollments in %.1f s (%.0f rows/s)%n",
+                ENROLLMENTS, rowAtATimeSeconds, ENROLLMENTS / rowAtATimeSeconds);
+        System.out.printf("Batched: %d enrollments in %.1f s (%.0f rows/s)%n",
+                inserted, batchedSeconds, inserted / batchedSeconds);
+        assertEquals(ENROLLMENTS, inserted);
+        assertEquals(2L * ENROLLMENTS, enrollmentRepository.count());
+        assertTrue(batchedSeconds < rowAtATimeSeconds, "batched " + batchedSeconds + " s, row at a time " + rowAtATimeSeconds + " s");
+    }
+}
@@ -1,27 +1,36 @@
 package com.example.backend.enrollment.csr;
 
+import com.example.backend.badge.BadgeTriggerEvent;
 import com.example.backend.course.Course;
+import com.example.backend.course.csr.CourseCoOccurrence;
 import com.example.backend.course.csr.CourseService;
 import com.example.backend.enrollment.Enrollment;
+import com.example.backend.enrollment.EnrollmentImportDTO;
 import com.example.backend.enrollment.UpdateProgressDTO;
 import com.example.backend.enrollment.error.EnrollmentCreateError;
 import com.example.backend.enrollment.error.EnrollmentGetAllError;
 import com.example.backend.enrollment.error.EnrollmentGetByIdError;
 import com.example.backend.enrollment.error.EnrollmentUpdateProgressError;
+import com.example.backend.leaderboard.csr.LeaderboardEngine;
 import com.example.backend.person.Person;
+import com.example.backend.util.BulkInserter;
 import com.example.backend.util.JWT;
 import com.example.backend.util.ServiceResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.context.ApplicationEventPublisher;
 import org.mockito.MockitoAnnotations;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class EnrollmentServiceTest {
@@ -35,6 +44,18 @@ public class EnrollmentServiceTest {
     @Mock
     private EnrollmentRepository enrollmentRepository;
 
+    @Mock
+    private LeaderboardEngine leaderboardEngine;
+
+    @Mock
+    private CourseCoOccurrence courseCoOccurrence;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private BulkInserter bulkInserter;
+
     @InjectMocks
     private EnrollmentService enrollmentService;
 
@@ -138,6 +159,7 @@ public class EnrollmentServiceTest {
 
         assertTrue(result.isSuccess());
         assertEquals(enrollment, result.getData());
+        verify(courseCoOccurrence).record(person.getId(), course.getId());
     }
 
     @Test
@@ -183,12 +205,16 @@ public class EnrollmentServiceTest {
     void testUpdateProgress() {
         Integer enrollmentId = 1;
         UpdateProgressDTO updateProgressDTO = new UpdateProgressDTO(10);
+        Person person = new Person();
+        person.setId(1L);
         Enrollment enrollment = new Enrollment();
+        enrollment.setPerson(person);
         when(enrollmentRepository.findById(enrollmentId)).thenReturn(Optional.of(enrollment));
         when(enrollmentRepository.save(any(Enrollment.class))).thenReturn(enrollment);
         ServiceResult<Enrollment, EnrollmentUpdateProgressError> result = enrollmentService.updateProgress(enrollmentId, updateProgressDTO);
         assertTrue(result.isSuccess());
         assertEquals(enrollment, result.getData());
+        verify(eventPublisher).publishEvent(new BadgeTriggerEvent(1L, "COMPLETED_COURSES", "TIME_SPENT"));
     }
 
     @Test
@@ -220,4 +246,46 @@ public class EnrollmentServiceTest {
         assertFalse(result.isSuccess());
         assertEquals(EnrollmentUpdateProgressError.ENROLLMENT_NOT_FOUND, result.getError());
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testImportEnrollments() {
+        Course course = new Course();
+        course.setId(3);
+        Person person = new Person();
+        person.setId(7L);
+        when(bulkInserter.reference(Course.class, 3)).thenReturn(course);
+        when(bulkInserter.reference(Person.class, 7L)).thenReturn(person);
+        List<Enrollment> inserted = new ArrayList<>();
+        when(bulkInserter.insertAll(any(List.class), any(Function.class))).thenAnswer(invocation -> {
+            List<EnrollmentImportDTO> rows = invocation.getArgument(0);
+            Function<EnrollmentImportDTO, Enrollment> toEntity = invocation.getArgument(1);
+            rows.forEach(row -> inserted.add(toEntity.apply(row)));
+            return rows.size();
+        });
+
+        int result = enrollmentService.importEnrollments(List.of(
+                new EnrollmentImportDTO(7L, 3, 90, true),
+                new EnrollmentImportDTO(7L, 3, null, null)));
+
+        assertEquals(2, result);
+        assertSame(course, inserted.get(0).getCourse());
+        assertSame(person, inserted.get(0).getPerson());
+        assertEquals(90, inserted.get(0).getTimeSpent());
+        assertTrue(inserted.get(0).getCompleted());
+        assertEquals(0, inserted.get(1).getTimeSpent());
+        assertFalse(inserted.get(1).getCompleted());
+        verify(leaderboardEngine).invalidate();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testImportEnrollmentsInvalidatesLeaderboardWhenAChunkFails() {
+        when(bulkInserter.insertAll(any(List.class), any(Function.class))).thenThrow(new IllegalStateException("chunk failed"));
+
+        assertThrows(IllegalStateException.class,
+                () -> enrollmentService.importEnrollments(List.of(new EnrollmentImportDTO(7L, 3, null, null))));
+
+        verify(leaderboardEngine).invalidate();
+    }
 }
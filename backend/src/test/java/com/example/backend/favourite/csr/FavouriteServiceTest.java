@@ -1,6 +1,7 @@
 package com.example.backend.favourite.csr;
 
 import com.example.backend.course.Course;
+import com.example.backend.course.csr.CourseCoOccurrence;
 import com.example.backend.course.csr.CourseService;
 import com.example.backend.favourite.error.FavouriteCreateError;
 import com.example.backend.favourite.error.FavouriteGetAllError;
@@ -20,6 +21,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class FavouriteServiceTest {
@@ -33,6 +35,9 @@ public class FavouriteServiceTest {
     @Mock
     private CourseService courseService;
 
+    @Mock
+    private CourseCoOccurrence courseCoOccurrence;
+
     @InjectMocks
     private FavouriteService favouriteService;
 
@@ -65,6 +70,7 @@ public class FavouriteServiceTest {
         // Test
         ServiceResult<Void, FavouriteCreateError> result = favouriteService.create("validToken", 1);
         assertTrue(result.isSuccess());
+        verify(courseCoOccurrence).record(person.getId(), course.getId());
     }
 
     @Test
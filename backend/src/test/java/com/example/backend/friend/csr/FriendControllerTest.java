@@ -49,7 +49,7 @@ class FriendControllerTest {
         mockMvc.perform(get("/friends")
                         .cookie(cookies))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.data").isArray())
+                .andExpect(jsonPath("$.data.friends").isArray())
                 .andExpect(jsonPath("$.message").value("Success"));
     }
 
@@ -177,4 +177,88 @@ class FriendControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.message").value("Success"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAllFriends_withCursorAndStats_returnsPage() throws Exception {
+        mockMvc.perform(post("/friends")
+                        .cookie(cookies)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"personId\":\"2\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/friends")
+                        .cookie(cookies))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.friends[0].personId").value(2))
+                .andExpect(jsonPath("$.data.friends[0].username").value("testuser-2"))
+                .andExpect(jsonPath("$.data.friends[0].streak").doesNotExist());
+        mockMvc.perform(get("/friends")
+                        .cookie(cookies)
+                        .param("limit", "1")
+                        .param("includeStats", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.friends.length()").value(1))
+                .andExpect(jsonPath("$.data.friends[0].streak").isNumber())
+                .andExpect(jsonPath("$.data.friends[0].score").isNumber());
+        mockMvc.perform(get("/friends")
+                        .cookie(cookies)
+                        .param("after", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.friends.length()").value(0))
+                .andExpect(jsonPath("$.data.next").doesNotExist());
+    }
+
+    @Test
+    void getAllFriends_whenInvalidLimit_returnsBadRequest() throws Exception {
+        mockMvc.perform(get("/friends")
+                        .cookie(cookies)
+                        .param("limit", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid limit"));
+    }
+
+    @Test
+    void getSuggestions_whenSuccessful_returnsFriendsOfFriends() throws Exception {
+        Cookie[] otherCookies = mockMvc.perform(post("/auth/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"testuser-3\",\"password\":\"password\"}"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getCookies();
+        String payload = "{\"personId\":\"2\"}";
+        mockMvc.perform(post("/friends")
+                        .cookie(cookies)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/friends")
+                        .cookie(otherCookies)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/friends/suggestions")
+                        .cookie(cookies))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].username").value("testuser-3"))
+                .andExpect(jsonPath("$.data[0].mutualFriends").value(1));
+    }
+
+    @Test
+    void getSuggestions_whenInvalidLimit_returnsBadRequest() throws Exception {
+        mockMvc.perform(get("/friends/suggestions")
+                        .cookie(cookies)
+                        .param("limit", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid limit"));
+    }
+
+    @Test
+    void getSuggestions_whenInvalidToken_returnsUnauthorized() throws Exception {
+        mockMvc.perform(get("/friends/suggestions")
+                        .cookie(new Cookie("accessToken", "invalidToken")))
+                .andExpect(status().isUnauthorized());
+    }
+}
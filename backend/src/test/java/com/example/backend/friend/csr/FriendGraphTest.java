@@ -0,0 +1,178 @@
+package com.example.backend.friend.csr;
+
+import com.example.backend.person.Person;
+import com.example.backend.person.csr.PersonRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class FriendGraphTest {
+
+    @Autowired
+    private FriendGraph friendGraph;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private long alice;
+    private long bob;
+    private long carol;
+    private long dave;
+
+    @BeforeEach
+    void setUp() {
+        alice = personRepository.save(new Person("alice", "password")).getId();
+        bob = personRepository.save(new Person("bob", "password")).getId();
+        carol = personRepository.save(new Person("carol", "password")).getId();
+        dave = personRepository.save(new Person("dave", "password")).getId();
+    }
+
+    @Test
+    void addIsMutualAndWritesBothRows() {
+        assertTrue(friendGraph.add(alice, bob));
+        assertFalse(friendGraph.add(bob, alice));
+
+        assertTrue(friendGraph.areFriends(alice, bob));
+        assertTrue(friendGraph.areFriends(bob, alice));
+        assertEquals(1, friendGraph.degree(alice));
+        assertEquals(1, friendGraph.degree(bob));
+        assertEquals(1, friendGraph.edgeCount());
+        assertEquals(2, countRows());
+    }
+
+    @Test
+    void removeDeletesBothRows() {
+        friendGraph.add(alice, bob);
+
+        assertTrue(friendGraph.remove(bob, alice));
+        assertFalse(friendGraph.remove(alice, bob));
+
+        assertFalse(friendGraph.areFriends(alice, bob));
+        assertEquals(0, friendGraph.degree(alice));
+        assertEquals(0, friendGraph.edgeCount());
+        assertEquals(0, countRows());
+    }
+
+    @Test
+    void cannotBefriendSelf() {
+        assertFalse(friendGraph.add(alice, alice));
+        assertEquals(0, countRows());
+    }
+
+    @Test
+    void failedInsertLeavesGraphUnchanged() {
+        // No such person, so the foreign key rejects the rows
+        assertThrows(RuntimeException.class, () -> friendGraph.add(alice, 999L));
+
+        assertFalse(friendGraph.areFriends(alice, 999L));
+        assertEquals(0, friendGraph.degree(alice));
+        assertEquals(0, friendGraph.edgeCount());
+        assertEquals(0, countRows());
+    }
+
+    @Test
+    void concurrentAddsOfTheSamePairWriteOnce() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            boolean reversed = i % 2 == 0;
+            results.add(executor.submit(() -> {
+                start.await();
+                return reversed ? friendGraph.add(bob, alice) : friendGraph.add(alice, bob);
+            }));
+        }
+        start.countDown();
+        int added = 0;
+        for (Future<Boolean> result : results) {
+            added += result.get() ? 1 : 0;
+        }
+        executor.shutdown();
+
+        assertEquals(1, added);
+        assertEquals(1, friendGraph.edgeCount());
+        assertEquals(2, countRows());
+    }
+
+    @Test
+    void mutualCountAndFriends() {
+        friendGraph.add(alice, carol);
+        friendGraph.add(alice, dave);
+        friendGraph.add(bob, carol);
+        friendGraph.add(bob, dave);
+        friendGraph.add(alice, bob);
+
+        assertEquals(2, friendGraph.mutualCount(alice, bob));
+        assertEquals(2, friendGraph.mutualCount(carol, dave));
+        assertEquals(0, friendGraph.mutualCount(alice, 999L));
+
+        long[] friends = friendGraph.friends(alice);
+        Arrays.sort(friends);
+        assertArrayEquals(new long[]{bob, carol, dave}, friends);
+        assertEquals(0, friendGraph.friends(999L).length);
+    }
+
+    @Test
+    void mutualFriendCountsSkipsSelfAndFriends() {
+        friendGraph.add(alice, bob);
+        friendGraph.add(alice, carol);
+        friendGraph.add(bob, carol);
+        friendGraph.add(bob, dave);
+        friendGraph.add(carol, dave);
+
+        assertEquals(Map.of(dave, 2), friendGraph.mutualFriendCounts(alice, 100));
+        assertEquals(Map.of(alice, 2), friendGraph.mutualFriendCounts(dave, 100));
+        assertTrue(friendGraph.mutualFriendCounts(999L, 100).isEmpty());
+        // With a budget of one edge each of alice's two friends gets one scanned edge
+        int counted = friendGraph.mutualFriendCounts(alice, 1).values().stream().mapToInt(Integer::intValue).sum();
+        assertTrue(counted <= 2);
+    }
+
+    @Test
+    void loadTreatsOneWayRowsAsFriendships() {
+        friendGraph.add(alice, bob);
+        // Rows written before the graph existed only went one way
+        jdbcTemplate.update("INSERT INTO person_friends (person_id, friend_id) VALUES (?, ?)", carol, alice);
+
+        FriendGraph loaded = new FriendGraph(jdbcTemplate, transactionManager);
+        loaded.load();
+
+        assertTrue(loaded.areFriends(alice, bob));
+        assertTrue(loaded.areFriends(alice, carol));
+        assertTrue(loaded.areFriends(carol, alice));
+        assertEquals(2, loaded.degree(alice));
+        assertEquals(2, loaded.edgeCount());
+
+        assertTrue(loaded.remove(alice, carol));
+        assertEquals(2, countRows());
+    }
+
+    private int countRows() {
+        Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM person_friends", Integer.class);
+        return rows == null ? 0 : rows;
+    }
+}
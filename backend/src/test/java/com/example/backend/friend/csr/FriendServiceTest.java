@@ -1,10 +1,16 @@
 package com.example.backend.friend.csr;
 
+import com.example.backend.badge.BadgeTriggerEvent;
 import com.example.backend.friend.FriendDTO;
+import com.example.backend.friend.FriendPageDTO;
 import com.example.backend.friend.FriendResponseDTO;
+import com.example.backend.friend.FriendSuggestionDTO;
 import com.example.backend.friend.error.FriendAddError;
 import com.example.backend.friend.error.FriendGetAllError;
 import com.example.backend.friend.error.FriendRemoveError;
+import com.example.backend.friend.error.FriendSuggestionsError;
+import com.example.backend.leaderboard.LeaderboardEntry;
+import com.example.backend.leaderboard.csr.LeaderboardEngine;
 import com.example.backend.person.Person;
 import com.example.backend.person.csr.PersonService;
 import com.example.backend.util.JWT;
@@ -13,15 +19,17 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.context.ApplicationEventPublisher;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
 
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
 
 class FriendServiceTest {
 
@@ -31,6 +39,18 @@ class FriendServiceTest {
     @Mock
     private PersonService personService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private FriendGraph friendGraph;
+
+    @Mock
+    private FriendSuggester friendSuggester;
+
+    @Mock
+    private LeaderboardEngine leaderboardEngine;
+
     @InjectMocks
     private FriendService friendService;
 
@@ -51,7 +71,6 @@ class FriendServiceTest {
         testPerson.setEmail("test@example.com");
         testPerson.setAvatarLink("avatar.jpg");
         testPerson.setStreak(5);
-        testPerson.setFriends(new ArrayList<>());
 
         friendPerson = new Person();
         friendPerson.setId(2L);
@@ -68,23 +87,24 @@ class FriendServiceTest {
         
         when(jwt.getPersonFromToken(validToken)).thenReturn(Optional.of(testPerson));
         when(jwt.getPersonFromToken("invalidToken")).thenReturn(Optional.empty());
+        when(friendGraph.friends(testPerson.getId())).thenReturn(new long[0]);
     }
 
     @Test
     void getAllFriends_withValidToken_returnsEmptyList() {
         // Test
-        ServiceResult<List<FriendResponseDTO>, FriendGetAllError> result = friendService.getAllFriends(validToken);
+        ServiceResult<FriendPageDTO, FriendGetAllError> result = friendService.getAllFriends(validToken, null, null, false);
         
         // Assert
         assertTrue(result.isSuccess());
         assertNotNull(result.getData());
-        assertTrue(result.getData().isEmpty());
+        assertTrue(result.getData().getFriends().isEmpty());
     }
 
     @Test
     void getAllFriends_withInvalidToken_returnsError() {
         // Test
-        ServiceResult<List<FriendResponseDTO>, FriendGetAllError> result = friendService.getAllFriends("invalidToken");
+        ServiceResult<FriendPageDTO, FriendGetAllError> result = friendService.getAllFriends("invalidToken", null, null, false);
         
         // Assert
         assertFalse(result.isSuccess());
@@ -94,35 +114,123 @@ class FriendServiceTest {
     @Test
     void getAllFriends_withFriends_returnsFriendsList() {
         // Setup
-        testPerson.getFriends().add(friendPerson);
+        when(friendGraph.friends(testPerson.getId())).thenReturn(new long[]{friendPerson.getId()});
+        when(personService.findFriendSummaries(List.of(friendPerson.getId()))).thenReturn(List.of(summary(friendPerson)));
         
         // Test
-        ServiceResult<List<FriendResponseDTO>, FriendGetAllError> result = friendService.getAllFriends(validToken);
+        ServiceResult<FriendPageDTO, FriendGetAllError> result = friendService.getAllFriends(validToken, null, null, false);
         
         // Assert
         assertTrue(result.isSuccess());
         assertNotNull(result.getData());
-        assertEquals(1, result.getData().size());
+        assertEquals(1, result.getData().getFriends().size());
+        assertNull(result.getData().getNext());
         
-        FriendResponseDTO friendResponseDTO = result.getData().getFirst();
+        FriendResponseDTO friendResponseDTO = result.getData().getFriends().getFirst();
         assertEquals(friendPerson.getUsername(), friendResponseDTO.getUsername());
         assertEquals(friendPerson.getFirstName(), friendResponseDTO.getFirstName());
         assertEquals(friendPerson.getLastName(), friendResponseDTO.getLastName());
         assertEquals(friendPerson.getEmail(), friendResponseDTO.getEmail());
         assertEquals(friendPerson.getAvatarLink(), friendResponseDTO.getAvatarLink());
+        assertNull(friendResponseDTO.getStreak());
+        assertNull(friendResponseDTO.getScore());
+        verify(leaderboardEngine, never()).entries(anyCollection());
+    }
+
+    @Test
+    void getAllFriends_withCursorAndLimit_returnsNextPage() {
+        // Setup
+        when(friendGraph.friends(testPerson.getId())).thenReturn(new long[]{9L, 3L, 7L, 5L});
+        when(personService.findFriendSummaries(List.of(5L, 7L))).thenReturn(List.of(summary(5L), summary(7L)));
+        
+        // Test
+        ServiceResult<FriendPageDTO, FriendGetAllError> result = friendService.getAllFriends(validToken, 4L, 2, false);
+        
+        // Assert
+        assertTrue(result.isSuccess());
+        assertEquals(List.of(5L, 7L), result.getData().getFriends().stream().map(FriendResponseDTO::getPersonId).toList());
+        assertEquals(7L, result.getData().getNext());
+    }
+
+    @Test
+    void getAllFriends_withoutLimit_returnsFirstPageAndCursor() {
+        // Setup
+        long[] friendIds = new long[FriendService.MAX_PAGE_SIZE + 1];
+        for (int i = 0; i < friendIds.length; i++) {
+            friendIds[i] = i + 10L;
+        }
+        when(friendGraph.friends(testPerson.getId())).thenReturn(friendIds);
+        when(personService.findFriendSummaries(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(FriendServiceTest::summary).toList();
+        });
+        
+        // Test
+        ServiceResult<FriendPageDTO, FriendGetAllError> first = friendService.getAllFriends(validToken, null, null, false);
+        ServiceResult<FriendPageDTO, FriendGetAllError> second = friendService.getAllFriends(validToken, first.getData().getNext(), null, false);
+        
+        // Assert
+        assertEquals(FriendService.MAX_PAGE_SIZE, first.getData().getFriends().size());
+        assertEquals(friendIds[FriendService.MAX_PAGE_SIZE - 1], first.getData().getNext());
+        assertEquals(List.of(friendIds[FriendService.MAX_PAGE_SIZE]), second.getData().getFriends().stream().map(FriendResponseDTO::getPersonId).toList());
+        assertNull(second.getData().getNext());
+    }
+
+    @Test
+    void getAllFriends_withStats_addsStreakAndScore() {
+        // Setup
+        when(friendGraph.friends(testPerson.getId())).thenReturn(new long[]{friendPerson.getId()});
+        when(personService.findFriendSummaries(List.of(friendPerson.getId()))).thenReturn(List.of(summary(friendPerson)));
+        LeaderboardEntry entry = new LeaderboardEntry(friendPerson.getId(), friendPerson.getUsername(), 3, 0, 0, 0);
+        when(leaderboardEngine.entries(List.of(friendPerson.getId()))).thenReturn(List.of(entry));
+        
+        // Test
+        ServiceResult<FriendPageDTO, FriendGetAllError> result = friendService.getAllFriends(validToken, null, 10, true);
+        
+        // Assert
+        assertTrue(result.isSuccess());
+        assertEquals(3, result.getData().getFriends().getFirst().getStreak());
+        assertEquals(entry.getScore(), result.getData().getFriends().getFirst().getScore());
+    }
+
+    @Test
+    void getAllFriends_withInvalidLimit_returnsError() {
+        // Test
+        ServiceResult<FriendPageDTO, FriendGetAllError> result = friendService.getAllFriends(validToken, null, 0, false);
+        
+        // Assert
+        assertFalse(result.isSuccess());
+        assertEquals(FriendGetAllError.INVALID_LIMIT, result.getError());
     }
 
     @Test
     void addFriend_withValidTokenAndDTO_success() {
         // Setup
-        when(personService.findById(friendDTO.getPersonId())).thenReturn(Optional.of(friendPerson));
-        when(personService.save(any(Person.class))).thenReturn(Optional.of(testPerson));
+        when(personService.existsById(friendDTO.getPersonId())).thenReturn(true);
+        when(friendGraph.add(testPerson.getId(), friendPerson.getId())).thenReturn(true);
         
         // Test
         ServiceResult<Void, FriendAddError> result = friendService.addFriend(validToken, friendDTO);
         
         // Assert
         assertTrue(result.isSuccess());
+        verify(eventPublisher).publishEvent(new BadgeTriggerEvent(testPerson.getId(), "FRIENDS"));
+        verify(eventPublisher).publishEvent(new BadgeTriggerEvent(friendPerson.getId(), "FRIENDS"));
+        verify(friendSuggester).friendshipChanged(testPerson.getId(), friendPerson.getId());
+    }
+
+    @Test
+    void addFriend_whenWriteFails_returnsError() {
+        // Setup
+        when(personService.existsById(friendDTO.getPersonId())).thenReturn(true);
+        when(friendGraph.add(testPerson.getId(), friendPerson.getId())).thenThrow(new DataAccessResourceFailureException("down"));
+        
+        // Test
+        ServiceResult<Void, FriendAddError> result = friendService.addFriend(validToken, friendDTO);
+        
+        // Assert
+        assertFalse(result.isSuccess());
+        assertEquals(FriendAddError.FRIEND_ADD_FAILED, result.getError());
     }
 
     @Test
@@ -138,7 +246,7 @@ class FriendServiceTest {
     @Test
     void addFriend_withNonExistentPerson_returnsError() {
         // Setup
-        when(personService.findById(friendDTO.getPersonId())).thenReturn(Optional.empty());
+        when(personService.existsById(friendDTO.getPersonId())).thenReturn(false);
         
         // Test
         ServiceResult<Void, FriendAddError> result = friendService.addFriend(validToken, friendDTO);
@@ -151,8 +259,8 @@ class FriendServiceTest {
     @Test
     void addFriend_whenAlreadyFriends_returnsError() {
         // Setup
-        testPerson.getFriends().add(friendPerson);
-        when(personService.findById(friendDTO.getPersonId())).thenReturn(Optional.of(friendPerson));
+        when(personService.existsById(friendDTO.getPersonId())).thenReturn(true);
+        when(friendGraph.add(testPerson.getId(), friendPerson.getId())).thenReturn(false);
         
         // Test
         ServiceResult<Void, FriendAddError> result = friendService.addFriend(validToken, friendDTO);
@@ -168,8 +276,7 @@ class FriendServiceTest {
         FriendDTO selfDTO = new FriendDTO(
             testPerson.getId()
         );
-        // The FriendDTO constructor doesn't set the personId, so we need to set it separately
-        when(personService.findById(testPerson.getId())).thenReturn(Optional.of(testPerson));
+        when(personService.existsById(testPerson.getId())).thenReturn(true);
         
         // Test
         ServiceResult<Void, FriendAddError> result = friendService.addFriend(validToken, selfDTO);
@@ -182,15 +289,15 @@ class FriendServiceTest {
     @Test
     void removeFriend_withValidTokenAndDTO_success() {
         // Setup
-        testPerson.getFriends().add(friendPerson);
-        when(personService.findById(friendDTO.getPersonId())).thenReturn(Optional.of(friendPerson));
-        when(personService.save(any(Person.class))).thenReturn(Optional.of(testPerson));
+        when(personService.existsById(friendDTO.getPersonId())).thenReturn(true);
+        when(friendGraph.remove(testPerson.getId(), friendPerson.getId())).thenReturn(true);
         
         // Test
         ServiceResult<Void, FriendRemoveError> result = friendService.removeFriend(validToken, friendDTO.getPersonId());
         
         // Assert
         assertTrue(result.isSuccess());
+        verify(friendSuggester).friendshipChanged(testPerson.getId(), friendPerson.getId());
     }
 
     @Test
@@ -206,7 +313,7 @@ class FriendServiceTest {
     @Test
     void removeFriend_withNonExistentPerson_returnsError() {
         // Setup
-        when(personService.findById(friendDTO.getPersonId())).thenReturn(Optional.empty());
+        when(personService.existsById(friendDTO.getPersonId())).thenReturn(false);
         
         // Test
         ServiceResult<Void, FriendRemoveError> result = friendService.removeFriend(validToken, friendDTO.getPersonId());
@@ -219,7 +326,8 @@ class FriendServiceTest {
     @Test
     void removeFriend_whenNotFriends_returnsError() {
         // Setup
-        when(personService.findById(friendDTO.getPersonId())).thenReturn(Optional.of(friendPerson));
+        when(personService.existsById(friendDTO.getPersonId())).thenReturn(true);
+        when(friendGraph.remove(testPerson.getId(), friendPerson.getId())).thenReturn(false);
         
         // Test
         ServiceResult<Void, FriendRemoveError> result = friendService.removeFriend(validToken, friendDTO.getPersonId());
@@ -228,4 +336,62 @@ class FriendServiceTest {
         assertFalse(result.isSuccess());
         assertEquals(FriendRemoveError.NOT_FRIENDS, result.getError());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getSuggestions_withValidToken_returnsSuggestions() {
+        // Setup
+        List<FriendSuggestionDTO> suggestions = List.of(new FriendSuggestionDTO(
+                friendPerson.getId(), friendPerson.getUsername(), friendPerson.getFirstName(),
+                friendPerson.getLastName(), friendPerson.getAvatarLink(), 2, 1));
+        when(friendSuggester.suggest(testPerson.getId(), 10)).thenReturn(suggestions);
+        
+        // Test
+        ServiceResult<List<FriendSuggestionDTO>, FriendSuggestionsError> result = friendService.getSuggestions(validToken, 10);
+        
+        // Assert
+        assertTrue(result.isSuccess());
+        assertEquals(suggestions, result.getData());
+    }
+
+    @Test
+    void getSuggestions_withLargeLimit_isCapped() {
+        // Setup
+        when(friendSuggester.suggest(testPerson.getId(), FriendSuggester.MAX_SUGGESTIONS)).thenReturn(List.of());
+        
+        // Test
+        ServiceResult<List<FriendSuggestionDTO>, FriendSuggestionsError> result = friendService.getSuggestions(validToken, 1000);
+        
+        // Assert
+        assertTrue(result.isSuccess());
+        verify(friendSuggester).suggest(testPerson.getId(), FriendSuggester.MAX_SUGGESTIONS);
+    }
+
+    @Test
+    void getSuggestions_withInvalidLimit_returnsError() {
+        // Test
+        ServiceResult<List<FriendSuggestionDTO>, FriendSuggestionsError> result = friendService.getSuggestions(validToken, 0);
+        
+        // Assert
+        assertFalse(result.isSuccess());
+        assertEquals(FriendSuggestionsError.INVALID_LIMIT, result.getError());
+    }
+
+    @Test
+    void getSuggestions_withInvalidToken_returnsError() {
+        // Test
+        ServiceResult<List<FriendSuggestionDTO>, FriendSuggestionsError> result = friendService.getSuggestions("invalidToken", 10);
+        
+        // Assert
+        assertFalse(result.isSuccess());
+        assertEquals(FriendSuggestionsError.INVALID_ACCESS_TOKEN, result.getError());
+    }
+
+    private static FriendResponseDTO summary(Person person) {
+        return new FriendResponseDTO(person.getId(), person.getUsername(), person.getFirstName(),
+                person.getLastName(), person.getEmail(), person.getAvatarLink());
+    }
+
+    private static FriendResponseDTO summary(Long personId) {
+        return new FriendResponseDTO(personId, "user" + personId, null, null, "user" + personId + "@example.com", null);
+    }
+}
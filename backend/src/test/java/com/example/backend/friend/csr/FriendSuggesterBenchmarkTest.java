@@ -0,0 +1,88 @@
+package com.example.backend.friend.csr;
+
+import com.example.backend.friend.FriendResponseDTO;
+import com.example.backend.friend.FriendSuggestionDTO;
+import com.example.backend.person.csr.PersonRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// Run with: mvn test -Pbenchmark
+@Tag("benchmark")
+public class FriendSuggesterBenchmarkTest {
+
+    private static final int PEOPLE = 50_000;
+    private static final int FRIENDS = 5_000;
+    private static final int FRIENDS_OF_FRIENDS = 200;
+    private static final long PERSON_ID = 1L;
+
+    @Test
+    public void benchmarkPersonWithFiveThousandFriends() throws Exception {
+        Random random = new Random(42);
+        List<long[]> rows = new ArrayList<>();
+        for (int i = 0; i < FRIENDS; i++) {
+            long friendId = 2 + i;
+            rows.add(new long[]{PERSON_ID, friendId});
+            for (int j = 0; j < FRIENDS_OF_FRIENDS; j++) {
+                rows.add(new long[]{friendId, 2 + random.nextInt(PEOPLE - 1)});
+            }
+        }
+
+        // The graph is loaded from stubbed rows and the queries are stubbed, this measures the walk and the ranking
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            int[] current = {0};
+            ResultSet resultSet = mock(ResultSet.class, withSettings().stubOnly());
+            when(resultSet.getLong(anyInt())).thenAnswer(column -> rows.get(current[0])[column.<Integer>getArgument(0) - 1]);
+            for (; current[0] < rows.size(); current[0]++) {
+                handler.processRow(resultSet);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+        FriendGraph friendGraph = new FriendGraph(jdbcTemplate, mock(PlatformTransactionManager.class));
+        friendGraph.load();
+
+        PersonRepository personRepository = mock(PersonRepository.class);
+        when(personRepository.findSharedFavoriteCounts(anyLong(), anyCollection())).thenReturn(List.of());
+        when(personRepository.findFriendSummaries(anyCollection())).thenAnswer(invocation -> {
+            List<FriendResponseDTO> people = new ArrayList<>();
+            for (Long id : invocation.<Collection<Long>>getArgument(0)) {
+                people.add(new FriendResponseDTO(id, "user" + id, null, null, "user" + id + "@email.com", null));
+            }
+            return people;
+        });
+        FriendSuggester friendSuggester = new FriendSuggester(friendGraph, personRepository, 100_000, 60, 10_000);
+
+        // Warm up without caching, then measure a cold ranking and a cached one
+        for (int i = 0; i < 5; i++) {
+            friendSuggester.friendshipChanged(PERSON_ID, 2L);
+            friendSuggester.suggest(PERSON_ID, 10);
+        }
+        friendSuggester.friendshipChanged(PERSON_ID, 2L);
+        long start = System.nanoTime();
+        List<FriendSuggestionDTO> suggestions = friendSuggester.suggest(PERSON_ID, 10);
+        double coldMillis = (System.nanoTime() - start) / 1e6;
+        start = System.nanoTime();
+        friendSuggester.suggest(PERSON_ID, 10);
+        double cachedMillis = (System.nanoTime() - start) / 1e6;
+
+        System.out.printf("Suggestions for %d friends and %d friend-of-friend edges: %.2f ms cold, %.3f ms cached%n",
+                FRIENDS, FRIENDS * FRIENDS_OF_FRIENDS, coldMillis, cachedMillis);
+        assertEquals(10, suggestions.size());
+        assertTrue(coldMillis < 100, "cold ranking took " + coldMillis + " ms");
+        assertTrue(cachedMillis < coldMillis);
+    }
+}
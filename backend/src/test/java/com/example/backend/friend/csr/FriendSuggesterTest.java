@@ -0,0 +1,157 @@
+package com.example.backend.friend.csr;
+
+import com.example.backend.badge.BadgeMetric;
+import com.example.backend.friend.FriendResponseDTO;
+import com.example.backend.friend.FriendSuggestionDTO;
+import com.example.backend.person.csr.PersonRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class FriendSuggesterTest {
+
+    private static final long PERSON_ID = 1L;
+
+    @Mock
+    private FriendGraph friendGraph;
+
+    @Mock
+    private PersonRepository personRepository;
+
+    private FriendSuggester friendSuggester;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(friendGraph.mutualFriendCounts(eq(PERSON_ID), anyInt())).thenReturn(Map.of(10L, 1, 11L, 3, 12L, 1, 13L, 2));
+        when(personRepository.findSharedFavoriteCounts(eq(PERSON_ID), anyCollection())).thenReturn(List.of(metric(12L, 2)));
+        when(personRepository.findFriendSummaries(anyCollection())).thenAnswer(invocation -> {
+            List<FriendResponseDTO> people = new ArrayList<>();
+            for (Long id : invocation.<Collection<Long>>getArgument(0)) {
+                people.add(summary(id));
+            }
+            return people;
+        });
+        friendSuggester = new FriendSuggester(friendGraph, personRepository, 1000, 60, 100);
+    }
+
+    @Test
+    public void testRanksByMutualFriendsThenSharedFavourites() {
+        List<FriendSuggestionDTO> suggestions = friendSuggester.suggest(PERSON_ID, 10);
+
+        assertEquals(List.of(11L, 13L, 12L, 10L), suggestions.stream().map(FriendSuggestionDTO::getPersonId).toList());
+        assertEquals(3, suggestions.get(0).getMutualFriends());
+        assertEquals(2, suggestions.get(2).getSharedFavourites());
+        assertEquals(0, suggestions.get(3).getSharedFavourites());
+        assertEquals("user12", suggestions.get(2).getUsername());
+    }
+
+    @Test
+    public void testLimit() {
+        assertEquals(2, friendSuggester.suggest(PERSON_ID, 2).size());
+    }
+
+    @Test
+    public void testNoSecondDegreeConnections() {
+        when(friendGraph.mutualFriendCounts(eq(2L), anyInt())).thenReturn(Map.of());
+
+        assertTrue(friendSuggester.suggest(2L, 10).isEmpty());
+        verify(personRepository, never()).findSharedFavoriteCounts(anyLong(), anyCollection());
+    }
+
+    @Test
+    public void testCachedRankingSkipsGraphAndDatabase() {
+        friendSuggester.suggest(PERSON_ID, 10);
+        friendSuggester.suggest(PERSON_ID, 5);
+
+        verify(friendGraph, times(1)).mutualFriendCounts(eq(PERSON_ID), anyInt());
+        verify(personRepository, times(1)).findSharedFavoriteCounts(eq(PERSON_ID), anyCollection());
+        verify(personRepository, never()).findAllById(anyIterable());
+        assertEquals(1, friendSuggester.getHits());
+        assertEquals(1, friendSuggester.getMisses());
+    }
+
+    @Test
+    public void testFriendshipChangeNearbyDropsRanking() {
+        friendSuggester.suggest(PERSON_ID, 10);
+        // Person 1 is a friend of person 5, who just befriended person 6
+        when(friendGraph.friends(5L)).thenReturn(new long[]{PERSON_ID, 6L});
+        when(friendGraph.friends(6L)).thenReturn(new long[]{5L});
+
+        friendSuggester.friendshipChanged(5L, 6L);
+        friendSuggester.suggest(PERSON_ID, 10);
+
+        verify(friendGraph, times(2)).mutualFriendCounts(eq(PERSON_ID), anyInt());
+        assertEquals(1, friendSuggester.size());
+    }
+
+    @Test
+    public void testUnrelatedFriendshipChangeKeepsRanking() {
+        friendSuggester.suggest(PERSON_ID, 10);
+        when(friendGraph.friends(anyLong())).thenReturn(new long[0]);
+
+        friendSuggester.friendshipChanged(7L, 8L);
+        friendSuggester.suggest(PERSON_ID, 10);
+
+        verify(friendGraph, times(1)).mutualFriendCounts(eq(PERSON_ID), anyInt());
+    }
+
+    @Test
+    public void testExpiredRankingIsRebuilt() {
+        FriendSuggester uncached = new FriendSuggester(friendGraph, personRepository, 1000, 0, 100);
+
+        uncached.suggest(PERSON_ID, 10);
+        uncached.suggest(PERSON_ID, 10);
+
+        verify(friendGraph, times(2)).mutualFriendCounts(eq(PERSON_ID), anyInt());
+    }
+
+    @Test
+    public void testOnlyStrongestCandidatesReachTheDatabase() {
+        Map<Long, Integer> many = new HashMap<>();
+        for (long id = 100; id < 1100; id++) {
+            many.put(id, (int) (id % 7));
+        }
+        when(friendGraph.mutualFriendCounts(eq(3L), anyInt())).thenReturn(many);
+        when(personRepository.findSharedFavoriteCounts(eq(3L), anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> candidates = invocation.getArgument(1);
+            assertTrue(candidates.size() <= 4 * FriendSuggester.MAX_SUGGESTIONS);
+            assertTrue(candidates.stream().allMatch(id -> many.get(id) >= 5));
+            return List.of();
+        });
+
+        List<FriendSuggestionDTO> suggestions = friendSuggester.suggest(3L, 1000);
+
+        assertEquals(FriendSuggester.MAX_SUGGESTIONS, suggestions.size());
+        assertTrue(suggestions.stream().allMatch(suggestion -> suggestion.getMutualFriends() == 6));
+    }
+
+    private static BadgeMetric metric(long personId, int value) {
+        return new BadgeMetric() {
+            @Override
+            public Long getPersonId() {
+                return personId;
+            }
+
+            @Override
+            public Number getMetric() {
+                return value;
+            }
+        };
+    }
+
+    private static FriendResponseDTO summary(long id) {
+        return new FriendResponseDTO(id, "user" + id, null, null, "user" + id + "@email.com", null);
+    }
+}
@@ -1,11 +1,13 @@
 package com.example.backend.goals.csr;
 
+import com.example.backend.badge.BadgeTriggerEvent;
 import com.example.backend.enrollment.Enrollment;
 import com.example.backend.enrollment.csr.EnrollmentService;
 import com.example.backend.goals.AddEnrollmentDTO;
 import com.example.backend.goals.Goal;
 import com.example.backend.goals.GoalDTO;
 import com.example.backend.goals.error.*;
+import com.example.backend.leaderboard.csr.LeaderboardEngine;
 import com.example.backend.person.Person;
 import com.example.backend.util.JWT;
 import com.example.backend.util.ServiceResult;
@@ -14,6 +16,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
 import java.util.*;
@@ -33,6 +36,12 @@ public class GoalServiceTest {
     @Mock
     private EnrollmentService enrollmentService;
 
+    @Mock
+    private LeaderboardEngine leaderboardEngine;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private GoalService goalService;
 
@@ -291,6 +300,7 @@ public class GoalServiceTest {
         Enrollment enrollment = new Enrollment();
         enrollment.setId(1);
         enrollment.setCompleted(false);
+        enrollment.setPerson(testPerson);
         
         // Add enrollment to goal
         testGoal.addEnrollment(enrollment);
@@ -313,6 +323,8 @@ public class GoalServiceTest {
         verify(goalRepository).findById(1L);
         verify(enrollmentService).findById(1);
         verify(goalRepository).save(testGoal);
+        verify(leaderboardEngine).enrollmentsChanged(testPerson);
+        verify(eventPublisher).publishEvent(new BadgeTriggerEvent(1L, "COMPLETED_COURSES"));
     }
 
     @Test
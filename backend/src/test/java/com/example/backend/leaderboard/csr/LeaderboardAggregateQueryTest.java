@@ -0,0 +1,97 @@
+package com.example.backend.leaderboard.csr;
+
+import com.example.backend.course.Course;
+import com.example.backend.course.csr.CourseRepository;
+import com.example.backend.enrollment.Enrollment;
+import com.example.backend.enrollment.csr.EnrollmentRepository;
+import com.example.backend.leaderboard.LeaderboardAggregate;
+import com.example.backend.leaderboard.LeaderboardEntry;
+import com.example.backend.person.Person;
+import com.example.backend.person.csr.PersonRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class LeaderboardAggregateQueryTest {
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Test
+    public void testAggregateQueryMatchesEntityScores() {
+        Random random = new Random(42);
+
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            courses.add(courseRepository.save(new Course("Course " + i, "Description", "http://link.com", 1 + random.nextInt(30), 1 + random.nextInt(5))));
+        }
+        List<Person> persons = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            persons.add(personRepository.save(new Person("user" + i, "password", random.nextInt(50), LocalDate.now())));
+        }
+        for (Person person : persons) {
+            // Some persons intentionally have no enrollments
+            int enrollments = random.nextInt(8);
+            for (int i = 0; i < enrollments; i++) {
+                Enrollment enrollment = new Enrollment(courses.get(random.nextInt(courses.size())), person);
+                enrollment.setTimeSpent(random.nextInt(40));
+                enrollment.setCompleted(random.nextInt(4) == 0);
+                enrollmentRepository.save(enrollment);
+            }
+        }
+
+        Map<Long, Integer> expected = new HashMap<>();
+        for (Person person : personRepository.findAll()) {
+            expected.put(person.getId(), calculatePoints(person, enrollmentRepository.findByPersonId(person.getId())));
+        }
+
+        List<LeaderboardAggregate> aggregates = personRepository.findLeaderboardAggregates();
+        assertEquals(expected.size(), aggregates.size());
+        for (LeaderboardAggregate aggregate : aggregates) {
+            assertEquals(expected.get(aggregate.getPersonId()), LeaderboardEntry.from(aggregate).getScore(), "person " + aggregate.getPersonId());
+        }
+
+        Person person = persons.getFirst();
+        LeaderboardAggregate single = personRepository.findLeaderboardAggregateById(person.getId()).orElseThrow();
+        assertEquals(expected.get(person.getId()), LeaderboardEntry.from(single).getScore());
+        assertTrue(personRepository.findLeaderboardAggregateById(-1L).isEmpty());
+    }
+
+    // The entity based calculation the aggregate query replaced
+    private static int calculatePoints(Person person, List<Enrollment> enrollments) {
+        int completedCourses = enrollments.stream()
+                .filter(Enrollment::isCompleted)
+                .mapToInt(enrollment -> enrollment.getCourse().getDifficulty())
+                .sum();
+
+        double averageDifficulty = enrollments.stream()
+                .mapToInt(enrollment -> enrollment.getCourse().getDifficulty())
+                .average()
+                .orElse(0);
+
+        int streakDays = person.getStreak();
+        int enrollmentsCount = enrollments.size();
+
+        return (int) ((completedCourses * averageDifficulty * 20) + (streakDays * 10) + (enrollmentsCount * 5));
+    }
+}
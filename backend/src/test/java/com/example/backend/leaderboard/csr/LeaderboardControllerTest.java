@@ -66,9 +66,78 @@ public class LeaderboardControllerTest {
                 .andExpect(jsonPath("$.data", hasSize(1)))
                 .andExpect(jsonPath("$.data[0].username", is("testUser")))
                 .andExpect(jsonPath("$.data[0].score", is(20)))
+                .andExpect(jsonPath("$.data[0].rank", is(1)))
                 .andReturn();
         String jsonResponse = result.getResponse().getContentAsString();
         System.out.println("Get Leaderboard Response Content: " + jsonResponse);
+
+        mockMvc.perform(get("/leaderboard")
+                        .param("offset", "1")
+                        .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(0)));
+    }
+
+    @Test
+    public void testGetLeaderboardMe() throws Exception {
+        Cookie[] cookies = null;
+        for (String username : new String[]{"user1", "user2", "user3"}) {
+            PersonDTO personDTO = new PersonDTO(username, "testPass");
+            cookies = mockMvc.perform(post("/auth/signup")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(personDTO)))
+                    .andExpect(status().isOk()).andReturn()
+                    .getResponse().getCookies();
+        }
+
+        mockMvc.perform(get("/leaderboard/me").param("window", "1").cookie(cookies))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.username", is("user3")))
+                .andExpect(jsonPath("$.data.rank", is(3)))
+                .andExpect(jsonPath("$.data.score", is(10)))
+                .andExpect(jsonPath("$.data.neighbours", hasSize(2)))
+                .andExpect(jsonPath("$.data.neighbours[0].username", is("user2")));
+    }
+
+    @Test
+    public void testGetLeaderboardFriends() throws Exception {
+        Cookie[] cookies = null;
+        for (String username : new String[]{"user1", "user2", "user3"}) {
+            PersonDTO personDTO = new PersonDTO(username, "testPass");
+            cookies = mockMvc.perform(post("/auth/signup")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(personDTO)))
+                    .andExpect(status().isOk()).andReturn()
+                    .getResponse().getCookies();
+        }
+        // user3 befriends user1, user2 stays out
+        mockMvc.perform(post("/friends")
+                        .cookie(cookies)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"personId\":\"1\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/leaderboard/friends").cookie(cookies))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(2)))
+                .andExpect(jsonPath("$.data[0].username", is("user1")))
+                .andExpect(jsonPath("$.data[0].rank", is(1)))
+                .andExpect(jsonPath("$.data[1].username", is("user3")))
+                .andExpect(jsonPath("$.data[1].rank", is(2)));
+    }
+
+    @Test
+    public void testGetLeaderboardFriendsInvalidToken() throws Exception {
+        mockMvc.perform(get("/leaderboard/friends").cookie(new Cookie("accessToken", "invalidToken")))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message", is("Invalid access token")));
+    }
+
+    @Test
+    public void testGetLeaderboardInvalidPage() throws Exception {
+        mockMvc.perform(get("/leaderboard").param("limit", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Invalid limit or offset")));
     }
 
     @Test
@@ -0,0 +1,194 @@
+package com.example.backend.leaderboard.csr;
+
+import com.example.backend.leaderboard.LeaderboardAggregate;
+import com.example.backend.leaderboard.LeaderboardEntry;
+import com.example.backend.person.Person;
+import com.example.backend.person.csr.PersonRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class LeaderboardEngineTest {
+
+    @Mock
+    private PersonRepository personRepository;
+
+    @InjectMocks
+    private LeaderboardEngine leaderboardEngine;
+
+    private Person alice;
+    private Person bob;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        alice = new Person("alice", "password", 2, LocalDate.now());
+        alice.setId(1L);
+        bob = new Person("bob", "password", 3, LocalDate.now());
+        bob.setId(2L);
+
+        when(personRepository.findLeaderboardAggregates()).thenReturn(List.of(
+                aggregate(1L, "alice", 2, 0, 0, 0),
+                aggregate(2L, "bob", 3, 0, 0, 0)));
+    }
+
+    @Test
+    public void testTopIsSortedByScore() {
+        List<LeaderboardEntry> top = leaderboardEngine.top(10);
+
+        assertEquals(2, top.size());
+        assertEquals("bob", top.get(0).getUsername());
+        assertEquals(30, top.get(0).getScore());
+        assertEquals("alice", top.get(1).getUsername());
+        assertEquals(20, top.get(1).getScore());
+    }
+
+    @Test
+    public void testRankAndPage() {
+        assertEquals(0, leaderboardEngine.rank(2L));
+        assertEquals(1, leaderboardEngine.rank(1L));
+        assertEquals(-1, leaderboardEngine.rank(99L));
+        assertEquals("alice", leaderboardEngine.page(1, 10).getFirst().getUsername());
+        assertTrue(leaderboardEngine.page(2, 10).isEmpty());
+    }
+
+    @Test
+    public void testStanding() {
+        LeaderboardEngine.Standing standing = leaderboardEngine.standing(1L, 2).orElseThrow();
+
+        assertEquals(1, standing.rank());
+        assertEquals("alice", standing.entry().getUsername());
+        assertEquals(0, standing.offset());
+        assertEquals(List.of("bob", "alice"), standing.neighbours().stream().map(LeaderboardEntry::getUsername).toList());
+        assertTrue(leaderboardEngine.standing(99L, 2).isEmpty());
+    }
+
+    @Test
+    public void testEntriesForPeopleAreRanked() {
+        List<LeaderboardEntry> entries = leaderboardEngine.entries(List.of(1L, 99L, 2L));
+
+        assertEquals(2, entries.size());
+        assertEquals("bob", entries.get(0).getUsername());
+        assertEquals("alice", entries.get(1).getUsername());
+    }
+
+    @Test
+    public void testTopIsLimited() {
+        assertEquals(1, leaderboardEngine.top(1).size());
+        assertEquals(2, leaderboardEngine.size());
+    }
+
+    @Test
+    public void testEnrollmentsChangedUpdatesScore() {
+        leaderboardEngine.top(10);
+
+        when(personRepository.findLeaderboardAggregateById(1L)).thenReturn(Optional.of(aggregate(1L, "alice", 2, 2, 2, 1)));
+        leaderboardEngine.enrollmentsChanged(alice);
+
+        List<LeaderboardEntry> top = leaderboardEngine.top(10);
+        assertEquals("alice", top.get(0).getUsername());
+        // 2 * 2.0 * 20 + 2 * 10 + 1 * 5
+        assertEquals(105, top.get(0).getScore());
+        verify(personRepository, times(1)).findLeaderboardAggregates();
+    }
+
+    @Test
+    public void testOverlappingEnrollmentUpdatesKeepTheNewestAggregate() {
+        leaderboardEngine.top(10);
+
+        // The first read returns an older aggregate after a second update already applied a newer one
+        when(personRepository.findLeaderboardAggregateById(1L))
+                .thenAnswer(invocation -> {
+                    leaderboardEngine.enrollmentsChanged(alice);
+                    return Optional.of(aggregate(1L, "alice", 2, 0, 1, 1));
+                })
+                .thenReturn(Optional.of(aggregate(1L, "alice", 2, 2, 2, 1)));
+        leaderboardEngine.enrollmentsChanged(alice);
+
+        assertEquals(105, leaderboardEngine.findByPersonId(1L).orElseThrow().getScore());
+        verify(personRepository, times(3)).findLeaderboardAggregateById(1L);
+    }
+
+    @Test
+    public void testEnrollmentsChangedRemovesDeletedPerson() {
+        leaderboardEngine.top(10);
+
+        when(personRepository.findLeaderboardAggregateById(1L)).thenReturn(Optional.empty());
+        leaderboardEngine.enrollmentsChanged(alice);
+
+        assertEquals(1, leaderboardEngine.size());
+        assertEquals(-1, leaderboardEngine.rank(1L));
+    }
+
+    @Test
+    public void testPersonChangedUpdatesStreakAndUsername() {
+        leaderboardEngine.top(10);
+
+        alice.setStreak(10);
+        alice.setUsername("alice2");
+        leaderboardEngine.personChanged(alice);
+
+        LeaderboardEntry first = leaderboardEngine.top(1).getFirst();
+        assertEquals("alice2", first.getUsername());
+        assertEquals(100, first.getScore());
+        verify(personRepository, never()).findLeaderboardAggregateById(any());
+    }
+
+    @Test
+    public void testPersonChangedAddsNewPerson() {
+        leaderboardEngine.top(10);
+
+        Person carol = new Person("carol", "password");
+        carol.setId(3L);
+        when(personRepository.findLeaderboardAggregateById(3L)).thenReturn(Optional.of(aggregate(3L, "carol", 1, 0, 0, 0)));
+        leaderboardEngine.personChanged(carol);
+
+        assertEquals(3, leaderboardEngine.size());
+    }
+
+    @Test
+    public void testUpdatesBeforeFirstReadAreIgnored() {
+        leaderboardEngine.enrollmentsChanged(alice);
+
+        verify(personRepository, never()).findLeaderboardAggregateById(any());
+        assertEquals(2, leaderboardEngine.size());
+    }
+
+    private static LeaderboardAggregate aggregate(Long personId, String username, int streak, long completedDifficulty, long totalDifficulty, long enrollmentCount) {
+        return new LeaderboardAggregate() {
+            public Long getPersonId() {
+                return personId;
+            }
+
+            public String getUsername() {
+                return username;
+            }
+
+            public Integer getStreak() {
+                return streak;
+            }
+
+            public Long getCompletedDifficulty() {
+                return completedDifficulty;
+            }
+
+            public Long getTotalDifficulty() {
+                return totalDifficulty;
+            }
+
+            public Long getEnrollmentCount() {
+                return enrollmentCount;
+            }
+        };
+    }
+}
@@ -1,12 +1,14 @@
 package com.example.backend.leaderboard.csr;
 
-import com.example.backend.course.Course;
-import com.example.backend.enrollment.Enrollment;
-import com.example.backend.enrollment.csr.EnrollmentService;
+import com.example.backend.friend.csr.FriendGraph;
 import com.example.backend.leaderboard.LeaderboardDTO;
+import com.example.backend.leaderboard.LeaderboardEntry;
+import com.example.backend.leaderboard.LeaderboardRankDTO;
 import com.example.backend.leaderboard.error.LeaderboardGetAllError;
+import com.example.backend.leaderboard.error.LeaderboardGetFriendsError;
+import com.example.backend.leaderboard.error.LeaderboardGetMeError;
 import com.example.backend.person.Person;
-import com.example.backend.person.csr.PersonService;
+import com.example.backend.util.JWT;
 import com.example.backend.util.ServiceResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,19 +16,21 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
-import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 public class LeaderboardServiceTest {
     @Mock
-    private PersonService personService;
+    private JWT jwt;
 
     @Mock
-    private EnrollmentService enrollmentService;
+    private LeaderboardEngine leaderboardEngine;
+
+    @Mock
+    private FriendGraph friendGraph;
 
     @InjectMocks
     private LeaderboardService leaderboardService;
@@ -38,8 +42,8 @@ public class LeaderboardServiceTest {
 
     @Test
     public void testGetAll() {
-        when(personService.findAll()).thenReturn(new ArrayList<>());
-        ServiceResult<List<LeaderboardDTO>, LeaderboardGetAllError> result = leaderboardService.getAll();
+        when(leaderboardEngine.size()).thenReturn(0);
+        ServiceResult<List<LeaderboardDTO>, LeaderboardGetAllError> result = leaderboardService.getAll(0, 10);
         assertNotNull(result);
         assertFalse(result.isSuccess());
         assertEquals(LeaderboardGetAllError.LEADERBOARD_NOT_FOUND, result.getError());
@@ -47,16 +51,107 @@ public class LeaderboardServiceTest {
 
     @Test
     public void testGetAllSuccess() {
-        List<Person> persons = List.of(new Person("user1", "password", 5, LocalDate.now()));
-        Course course = new Course();
-        course.setDifficulty(3);
-        List<Enrollment> enrollments = List.of(new Enrollment(course, persons.getFirst()));
-        when(personService.findAll()).thenReturn(persons);
-        when(enrollmentService.findByPersonId(1L)).thenReturn(enrollments);
-        ServiceResult<List<LeaderboardDTO>, LeaderboardGetAllError> result = leaderboardService.getAll();
+        List<LeaderboardEntry> entries = List.of(new LeaderboardEntry(1L, "user1", 5, 0, 3, 1));
+        when(leaderboardEngine.size()).thenReturn(1);
+        when(leaderboardEngine.page(0, 10)).thenReturn(entries);
+        ServiceResult<List<LeaderboardDTO>, LeaderboardGetAllError> result = leaderboardService.getAll(0, 10);
         assertNotNull(result);
         assertTrue(result.isSuccess());
         assertEquals(1, result.getData().size());
         assertEquals("user1", result.getData().getFirst().getUsername());
+        assertEquals(55, result.getData().getFirst().getScore());
+        assertEquals(1, result.getData().getFirst().getRank());
+    }
+
+    @Test
+    public void testGetAllClampsLimit() {
+        when(leaderboardEngine.size()).thenReturn(1000);
+        when(leaderboardEngine.page(200, LeaderboardService.MAX_PAGE_SIZE)).thenReturn(List.of(new LeaderboardEntry(1L, "user1", 1, 0, 0, 0)));
+        ServiceResult<List<LeaderboardDTO>, LeaderboardGetAllError> result = leaderboardService.getAll(200, 5000);
+        assertTrue(result.isSuccess());
+        assertEquals(201, result.getData().getFirst().getRank());
+        verify(leaderboardEngine).page(200, LeaderboardService.MAX_PAGE_SIZE);
+    }
+
+    @Test
+    public void testGetAllInvalidPage() {
+        assertEquals(LeaderboardGetAllError.INVALID_PAGE, leaderboardService.getAll(-1, 10).getError());
+        assertEquals(LeaderboardGetAllError.INVALID_PAGE, leaderboardService.getAll(0, 0).getError());
+        verify(leaderboardEngine, never()).page(anyInt(), anyInt());
+    }
+
+    @Test
+    public void testGetMe() {
+        Person person = new Person();
+        person.setId(7L);
+        when(jwt.getPersonFromToken("validToken")).thenReturn(Optional.of(person));
+        LeaderboardEntry above = new LeaderboardEntry(3L, "above", 9, 0, 0, 0);
+        LeaderboardEntry me = new LeaderboardEntry(7L, "me", 5, 0, 0, 0);
+        LeaderboardEntry below = new LeaderboardEntry(4L, "below", 1, 0, 0, 0);
+        when(leaderboardEngine.standing(7L, 2)).thenReturn(Optional.of(new LeaderboardEngine.Standing(1, me, 0, List.of(above, me, below))));
+
+        ServiceResult<LeaderboardRankDTO, LeaderboardGetMeError> result = leaderboardService.getMe("validToken", 2);
+
+        assertTrue(result.isSuccess());
+        assertEquals(2, result.getData().getRank());
+        assertEquals(50, result.getData().getScore());
+        assertEquals(3, result.getData().getNeighbours().size());
+        assertEquals("below", result.getData().getNeighbours().get(2).getUsername());
+        assertEquals(3, result.getData().getNeighbours().get(2).getRank());
+    }
+
+    @Test
+    public void testGetMeNotRanked() {
+        Person person = new Person();
+        person.setId(7L);
+        when(jwt.getPersonFromToken("validToken")).thenReturn(Optional.of(person));
+        when(leaderboardEngine.standing(7L, 2)).thenReturn(Optional.empty());
+
+        ServiceResult<LeaderboardRankDTO, LeaderboardGetMeError> result = leaderboardService.getMe("validToken", 2);
+
+        assertEquals(LeaderboardGetMeError.PERSON_NOT_RANKED, result.getError());
+    }
+
+    @Test
+    public void testGetMeInvalidToken() {
+        when(jwt.getPersonFromToken("invalidToken")).thenReturn(Optional.empty());
+        ServiceResult<LeaderboardRankDTO, LeaderboardGetMeError> result = leaderboardService.getMe("invalidToken", 2);
+        assertFalse(result.isSuccess());
+        assertEquals(LeaderboardGetMeError.INVALID_ACCESS_TOKEN, result.getError());
+    }
+
+    @Test
+    public void testGetMeInvalidWindow() {
+        ServiceResult<LeaderboardRankDTO, LeaderboardGetMeError> result = leaderboardService.getMe("validToken", LeaderboardService.MAX_WINDOW + 1);
+        assertFalse(result.isSuccess());
+        assertEquals(LeaderboardGetMeError.INVALID_WINDOW, result.getError());
+    }
+
+    @Test
+    public void testGetFriends() {
+        Person person = new Person();
+        person.setId(7L);
+        when(jwt.getPersonFromToken("validToken")).thenReturn(Optional.of(person));
+        when(friendGraph.friends(7L)).thenReturn(new long[]{3L, 4L});
+        LeaderboardEntry above = new LeaderboardEntry(3L, "above", 9, 0, 0, 0);
+        LeaderboardEntry me = new LeaderboardEntry(7L, "me", 5, 0, 0, 0);
+        LeaderboardEntry below = new LeaderboardEntry(4L, "below", 1, 0, 0, 0);
+        when(leaderboardEngine.entries(List.of(7L, 3L, 4L))).thenReturn(List.of(above, me, below));
+
+        ServiceResult<List<LeaderboardDTO>, LeaderboardGetFriendsError> result = leaderboardService.getFriends("validToken");
+
+        assertTrue(result.isSuccess());
+        assertEquals(3, result.getData().size());
+        assertEquals("me", result.getData().get(1).getUsername());
+        assertEquals(2, result.getData().get(1).getRank());
+        verify(leaderboardEngine, never()).page(anyInt(), anyInt());
+    }
+
+    @Test
+    public void testGetFriendsInvalidToken() {
+        when(jwt.getPersonFromToken("invalidToken")).thenReturn(Optional.empty());
+        ServiceResult<List<LeaderboardDTO>, LeaderboardGetFriendsError> result = leaderboardService.getFriends("invalidToken");
+        assertFalse(result.isSuccess());
+        assertEquals(LeaderboardGetFriendsError.INVALID_ACCESS_TOKEN, result.getError());
     }
-}
\ No newline at end of file
+}
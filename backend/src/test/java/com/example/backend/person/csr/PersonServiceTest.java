@@ -1,7 +1,6 @@
 package com.example.backend.person.csr;
 
 import com.example.backend.person.Person;
-import com.example.backend.person.PersonDTO;
 import com.example.backend.profile.ProfileDTO;
 import com.example.backend.util.ServiceResult;
 
@@ -10,13 +9,18 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class PersonServiceTest {
@@ -24,11 +28,16 @@ class PersonServiceTest {
     @Mock
     private PersonRepository personRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private UsernameFilter usernameFilter;
+
     @InjectMocks
     private PersonService personService;
 
     private Person testPerson;
-    private Person friendPerson;
 
     @BeforeEach
     void setUp() {
@@ -38,13 +47,7 @@ class PersonServiceTest {
         testPerson.setId(1L);
         testPerson.setUsername("testuser");
         testPerson.setPassword("password");
-        testPerson.setFriends(new ArrayList<>());
         testPerson.setFavoriteCourses(new ArrayList<>());
-
-        friendPerson = new Person();
-        friendPerson.setId(2L);
-        friendPerson.setUsername("frienduser");
-        friendPerson.setPassword("password");
     }
 
     @Test
@@ -73,110 +76,135 @@ class PersonServiceTest {
     }
 
     @Test
-    void saveNewPerson_whenValid_returnsPerson() {
+    void findByUsernameIfKnown_whenFilterRulesItOut_skipsQuery() {
         // Setup
-        PersonDTO personDTO = new PersonDTO("newuser", "password");
-        when(personRepository.save(any(Person.class))).thenReturn(testPerson);
+        when(usernameFilter.mightContain("nonexistent")).thenReturn(false);
 
         // Test
-        Optional<Person> result = personService.saveNewPerson(personDTO);
+        Optional<Person> result = personService.findByUsernameIfKnown("nonexistent");
 
         // Assert
-        assertTrue(result.isPresent());
+        assertTrue(result.isEmpty());
+        verify(personRepository, never()).findByUsername(any());
     }
 
     @Test
-    void updatePerson_whenValid_returnsPerson() {
+    void findByUsernameIfKnown_whenUserMightExist_queries() {
         // Setup
-        ProfileDTO profileDTO = new ProfileDTO();
-        profileDTO.setFirstName("Updated");
-        profileDTO.setLastName("User");
-        
-        when(personRepository.save(any(Person.class))).thenReturn(testPerson);
+        when(usernameFilter.mightContain("testuser")).thenReturn(true);
+        when(personRepository.findByUsername("testuser")).thenReturn(Optional.of(testPerson));
 
         // Test
-        Optional<Person> result = personService.updatePerson(testPerson, profileDTO);
+        Optional<Person> result = personService.findByUsernameIfKnown("testuser");
 
         // Assert
         assertTrue(result.isPresent());
     }
 
     @Test
-    void addFriend_whenNotAlreadyFriends_returnsUpdatedPerson() {
+    void saveNewPerson_whenValid_returnsPerson() {
         // Setup
         when(personRepository.save(any(Person.class))).thenReturn(testPerson);
 
         // Test
-        Optional<Person> result = personService.addFriend(testPerson, friendPerson);
+        Optional<Person> result = personService.saveNewPerson("newuser", "hashedPassword");
 
         // Assert
         assertTrue(result.isPresent());
     }
 
     @Test
-    void addFriend_whenAlreadyFriends_returnsEmpty() {
+    void saveNewPerson_whenUsernameTaken_returnsEmpty() {
         // Setup
-        testPerson.getFriends().add(friendPerson);
+        when(personRepository.save(any(Person.class))).thenThrow(new DataIntegrityViolationException("uk_person_username"));
 
         // Test
-        Optional<Person> result = personService.addFriend(testPerson, friendPerson);
+        Optional<Person> result = personService.saveNewPerson("testuser", "hashedPassword");
 
         // Assert
         assertTrue(result.isEmpty());
     }
 
     @Test
-    void removeFriend_whenFriends_returnsUpdatedPerson() {
+    void updatePerson_whenValid_returnsPerson() {
         // Setup
-        testPerson.getFriends().add(friendPerson);
+        ProfileDTO profileDTO = new ProfileDTO();
+        profileDTO.setFirstName("Updated");
+        profileDTO.setLastName("User");
+        
         when(personRepository.save(any(Person.class))).thenReturn(testPerson);
 
         // Test
-        Optional<Person> result = personService.removeFriend(testPerson, friendPerson);
+        Optional<Person> result = personService.updatePerson(testPerson, profileDTO, null);
 
         // Assert
         assertTrue(result.isPresent());
     }
 
     @Test
-    void removeFriend_whenNotFriends_returnsEmpty() {
+    void getAll_returnsListOfPersons() {
+        // Setup
+        List<Person> persons = List.of(testPerson);
+        when(personRepository.findAll()).thenReturn(persons);
+
+        // Test
+        ServiceResult<List<Person>, Void> result = personService.getAll();
+
+        // Assert
+        assertNotNull(result);
+        assertTrue(result.isSuccess());
+        assertEquals(1, result.getData().size());
+        assertEquals("testuser", result.getData().get(0).getUsername());
+    }
+
+    @Test
+    void advanceStreak_afterLoginYesterday_incrementsStreak() {
         // Setup
-        // friends list is empty by default
+        LocalDate today = LocalDate.now();
+        testPerson.setStreak(2);
+        testPerson.setLastLoginDate(today.minusDays(1));
+        when(personRepository.advanceStreak(1L, today, today.minusDays(1))).thenReturn(1);
 
         // Test
-        Optional<Person> result = personService.removeFriend(testPerson, friendPerson);
+        boolean result = personService.advanceStreak(testPerson, today);
 
         // Assert
-        assertTrue(result.isEmpty());
+        assertTrue(result);
+        assertEquals(3, testPerson.getStreak());
+        assertEquals(today, testPerson.getLastLoginDate());
+        verify(personRepository, never()).save(any(Person.class));
     }
 
     @Test
-    void getFriends_returnsFriendsList() {
+    void advanceStreak_afterMissedDays_resetsStreak() {
         // Setup
-        testPerson.getFriends().add(friendPerson);
+        LocalDate today = LocalDate.now();
+        testPerson.setStreak(5);
+        testPerson.setLastLoginDate(today.minusDays(3));
+        when(personRepository.advanceStreak(1L, today, today.minusDays(1))).thenReturn(1);
 
         // Test
-        List<Person> result = personService.getFriends(testPerson);
+        boolean result = personService.advanceStreak(testPerson, today);
 
         // Assert
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(friendPerson, result.getFirst());
+        assertTrue(result);
+        assertEquals(1, testPerson.getStreak());
+        assertEquals(today, testPerson.getLastLoginDate());
     }
 
     @Test
-    void getAll_returnsListOfPersons() {
+    void advanceStreak_whenAlreadyLoggedInToday_leavesStreak() {
         // Setup
-        List<Person> persons = List.of(testPerson);
-        when(personRepository.findAll()).thenReturn(persons);
+        LocalDate today = LocalDate.now();
+        testPerson.setStreak(2);
+        testPerson.setLastLoginDate(today);
+        when(personRepository.advanceStreak(1L, today, today.minusDays(1))).thenReturn(0);
 
         // Test
-        ServiceResult<List<Person>, Void> result = personService.getAll();
+        boolean result = personService.advanceStreak(testPerson, today);
 
         // Assert
-        assertNotNull(result);
-        assertTrue(result.isSuccess());
-        assertEquals(1, result.getData().size());
-        assertEquals("testuser", result.getData().get(0).getUsername());
+        assertFalse(result);
+        assertEquals(2, testPerson.getStreak());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,109 @@
+package com.example.backend.person.csr;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class UsernameFilterTest {
+
+    @Test
+    public void testEverythingMightExistUntilLoaded() {
+        UsernameFilter filter = new UsernameFilter(mock(JdbcTemplate.class), 1000, 0.01);
+        assertTrue(filter.mightContain("anyone"));
+    }
+
+    @Test
+    public void testLoadedAndAddedNamesAreFound() throws Exception {
+        UsernameFilter filter = load(List.of("alice", "bob"));
+
+        assertTrue(filter.mightContain("alice"));
+        assertTrue(filter.mightContain("BOB"));
+        assertFalse(filter.mightContain("carol"));
+
+        filter.add("Carol");
+        assertTrue(filter.mightContain("carol"));
+    }
+
+    @Test
+    public void testNamesAddedBeforeLoadSurviveIt() throws Exception {
+        JdbcTemplate jdbcTemplate = stub(List.of("alice"), null);
+        UsernameFilter filter = new UsernameFilter(jdbcTemplate, 100_000, 0.01);
+        // Signed up before the filter loaded, but committed after the load query read the table
+        filter.add("Dave");
+
+        filter.load();
+
+        assertTrue(filter.mightContain("dave"));
+        assertTrue(filter.mightContain("alice"));
+    }
+
+    @Test
+    public void testNamesAddedDuringLoadSurviveIt() throws Exception {
+        UsernameFilter[] filter = new UsernameFilter[1];
+        JdbcTemplate jdbcTemplate = stub(List.of("alice"), () -> filter[0].add("erin"));
+        filter[0] = new UsernameFilter(jdbcTemplate, 100_000, 0.01);
+
+        filter[0].load();
+
+        assertTrue(filter[0].mightContain("erin"));
+    }
+
+    @Test
+    public void testFalsePositiveRate() throws Exception {
+        UsernameFilter filter = load(List.of());
+        for (int i = 0; i < 100_000; i++) {
+            filter.add("user" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            assertTrue(filter.mightContain("user" + i));
+            if (filter.mightContain("stranger" + i)) {
+                falsePositives++;
+            }
+        }
+        // Configured for 1% at 100k names
+        assertTrue(falsePositives < 1_500, falsePositives + " false positives");
+    }
+
+    @Test
+    public void testMemoryFootprintAtTenMillionUsers() {
+        long bytes = UsernameFilter.sizeBytes(10_000_000, 0.01);
+        assertTrue(bytes > 11 * 1024 * 1024 && bytes < 12 * 1024 * 1024, bytes + " bytes");
+    }
+
+    private static UsernameFilter load(List<String> usernames) throws Exception {
+        UsernameFilter filter = new UsernameFilter(stub(usernames, null), 100_000, 0.01);
+        filter.load();
+        return filter;
+    }
+
+    // duringQuery runs after the COUNT, while the username query is streaming rows
+    private static JdbcTemplate stub(List<String> usernames, Runnable duringQuery) throws Exception {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn((long) usernames.size());
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            if (duringQuery != null) {
+                duringQuery.run();
+            }
+            for (String username : usernames) {
+                ResultSet resultSet = Mockito.mock(ResultSet.class);
+                when(resultSet.getString(1)).thenReturn(username);
+                handler.processRow(resultSet);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+        return jdbcTemplate;
+    }
+}
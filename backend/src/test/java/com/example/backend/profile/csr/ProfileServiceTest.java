@@ -1,10 +1,12 @@
 package com.example.backend.profile.csr;
 
+import com.example.backend.leaderboard.csr.LeaderboardEngine;
 import com.example.backend.person.Person;
 import com.example.backend.person.csr.PersonService;
 import com.example.backend.profile.ProfileDTO;
 import com.example.backend.profile.error.ProfileUpdateError;
 import com.example.backend.util.JWT;
+import com.example.backend.util.PasswordHasher;
 import com.example.backend.util.ServiceResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -22,12 +24,19 @@ class ProfileServiceTest {
     @Mock
     private PersonService personService;
 
+    @Mock
+    private LeaderboardEngine leaderboardEngine;
+
+    @Mock
+    private PasswordHasher passwordHasher;
+
     @InjectMocks
     private ProfileService profileService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(passwordHasher.hash("password")).thenReturn(Optional.of("hashedPassword"));
     }
 
     @Test
@@ -44,7 +53,7 @@ class ProfileServiceTest {
         Person person = new Person("username", "password", "firstName", "lastName", "email", "avatarLink");
         when(jwt.getPersonFromToken(anyString())).thenReturn(Optional.of(person));
         ProfileDTO profileDTO = new ProfileDTO("username", "password", "newFirstName", "newLastName", "newEmail", "newAvatarLink");
-        when(personService.updatePerson(any(Person.class), any(ProfileDTO.class))).thenReturn(Optional.of(person));
+        when(personService.updatePerson(any(Person.class), any(ProfileDTO.class), eq("hashedPassword"))).thenReturn(Optional.of(person));
         ServiceResult<Void, ProfileUpdateError> result = profileService.update("validToken", profileDTO);
         assertTrue(result.isSuccess());
     }
@@ -54,9 +63,32 @@ class ProfileServiceTest {
         Person person = new Person("username", "password", "firstName", "lastName", "email", "avatarLink");
         when(jwt.getPersonFromToken(anyString())).thenReturn(Optional.of(person));
         ProfileDTO profileDTO = new ProfileDTO("username", "password", "newFirstName", "newLastName", "newEmail", "newAvatarLink");
-        when(personService.updatePerson(any(Person.class), any(ProfileDTO.class))).thenReturn(Optional.empty());
+        when(personService.updatePerson(any(Person.class), any(ProfileDTO.class), anyString())).thenReturn(Optional.empty());
         ServiceResult<Void, ProfileUpdateError> result = profileService.update("validToken", profileDTO);
         assertFalse(result.isSuccess());
         assertEquals(ProfileUpdateError.PROFILE_UPDATE_FAILED, result.getError());
     }
+
+    @Test
+    void testUpdate_PasswordHasherBusy() {
+        Person person = new Person("username", "password", "firstName", "lastName", "email", "avatarLink");
+        when(jwt.getPersonFromToken(anyString())).thenReturn(Optional.of(person));
+        when(passwordHasher.hash("password")).thenReturn(Optional.empty());
+        ProfileDTO profileDTO = new ProfileDTO("username", "password", "newFirstName", "newLastName", "newEmail", "newAvatarLink");
+        ServiceResult<Void, ProfileUpdateError> result = profileService.update("validToken", profileDTO);
+        assertFalse(result.isSuccess());
+        assertEquals(ProfileUpdateError.SERVICE_BUSY, result.getError());
+        verify(personService, never()).updatePerson(any(), any(), any());
+    }
+
+    @Test
+    void testUpdate_WithoutPasswordSkipsHashing() {
+        Person person = new Person("username", "password", "firstName", "lastName", "email", "avatarLink");
+        when(jwt.getPersonFromToken(anyString())).thenReturn(Optional.of(person));
+        ProfileDTO profileDTO = new ProfileDTO("username", null, "newFirstName", "newLastName", "newEmail", "newAvatarLink");
+        when(personService.updatePerson(any(Person.class), any(ProfileDTO.class), isNull())).thenReturn(Optional.of(person));
+        ServiceResult<Void, ProfileUpdateError> result = profileService.update("validToken", profileDTO);
+        assertTrue(result.isSuccess());
+        verifyNoInteractions(passwordHasher);
+    }
 }
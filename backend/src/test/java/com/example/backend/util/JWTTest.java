@@ -8,6 +8,9 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.util.Optional;
 
@@ -19,13 +22,17 @@ public class JWTTest {
 
     private JWT jwt;
     private PersonService personService;
+    private TokenCache tokenCache;
     private HttpServletResponse response;
 
     @BeforeEach
     public void setUp() {
         personService = mock(PersonService.class);
         response = mock(HttpServletResponse.class);
-        jwt = new JWT(personService);
+        tokenCache = new TokenCache(100, 300);
+        jwt = new JWT(personService, tokenCache);
+        // Start outside of a request so the per request memo does not hide cache behaviour
+        RequestContextHolder.resetRequestAttributes();
     }
 
     @Test
@@ -58,6 +65,7 @@ public class JWTTest {
     public void testGetPersonFromToken() {
         String token = jwt.generateAccessToken("testUser");
         Person person = new Person();
+        person.setId(1L);
         person.setUsername("testUser");
         when(personService.findByUsername("testUser")).thenReturn(Optional.of(person));
 
@@ -66,6 +74,72 @@ public class JWTTest {
         assertEquals("testUser", personOptional.get().getUsername());
     }
 
+    @Test
+    public void testGetPersonFromTokenUsesCache() {
+        String token = jwt.generateAccessToken("testUser");
+        Person person = new Person();
+        person.setId(1L);
+        person.setUsername("testUser");
+        when(personService.findByUsername("testUser")).thenReturn(Optional.of(person));
+        when(personService.findById(1L)).thenReturn(Optional.of(person));
+
+        assertTrue(jwt.getPersonFromToken(token).isPresent());
+        assertTrue(jwt.getPersonFromToken(token).isPresent());
+        assertTrue(jwt.getPersonFromToken(token).isPresent());
+
+        verify(personService, times(1)).findByUsername("testUser");
+        verify(personService, times(2)).findById(1L);
+        assertEquals(1, tokenCache.getMisses());
+        assertEquals(2, tokenCache.getHits());
+    }
+
+    @Test
+    public void testGetPersonFromTokenOncePerRequest() {
+        String token = jwt.generateAccessToken("testUser");
+        Person person = new Person();
+        person.setId(1L);
+        person.setUsername("testUser");
+        when(personService.findByUsername("testUser")).thenReturn(Optional.of(person));
+        when(personService.findById(1L)).thenReturn(Optional.of(person));
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        jwt.getPersonFromToken(token);
+        jwt.getPersonFromToken(token);
+        jwt.getPersonFromToken(token);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        jwt.getPersonFromToken(token);
+        jwt.getPersonFromToken(token);
+        RequestContextHolder.resetRequestAttributes();
+
+        verify(personService, times(1)).findByUsername("testUser");
+        verify(personService, times(1)).findById(1L);
+    }
+
+    @Test
+    public void testGetPrincipalFromToken() {
+        String token = jwt.generateAccessToken("testUser");
+        Person person = new Person();
+        person.setId(1L);
+        person.setUsername("testUser");
+        when(personService.findByUsername("testUser")).thenReturn(Optional.of(person));
+
+        Optional<TokenPrincipal> principal = jwt.getPrincipalFromToken(token);
+        assertTrue(principal.isPresent());
+        assertEquals(1L, principal.get().getPersonId());
+        assertTrue(principal.get().getExpiresAt() <= System.currentTimeMillis() + 1000 * 60 * 15);
+
+        assertTrue(jwt.getPrincipalFromToken(token).isPresent());
+        verify(personService, times(1)).findByUsername("testUser");
+        verify(personService, never()).findById(any());
+    }
+
+    @Test
+    public void testGetPersonFromInvalidToken() {
+        assertTrue(jwt.getPersonFromToken("invalidToken").isEmpty());
+        assertTrue(jwt.getPersonFromToken(null).isEmpty());
+        assertEquals(0, tokenCache.size());
+    }
+
     @Test
     public void testClearCookies() {
         jwt.clearCookies(response);
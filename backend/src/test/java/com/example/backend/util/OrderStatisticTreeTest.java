@@ -0,0 +1,59 @@
+package com.example.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OrderStatisticTreeTest {
+
+    @Test
+    public void testAddRemoveAndRank() {
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.naturalOrder());
+        assertTrue(tree.add(5));
+        assertTrue(tree.add(1));
+        assertTrue(tree.add(3));
+        assertFalse(tree.add(3));
+
+        assertEquals(3, tree.size());
+        assertEquals(0, tree.rank(1));
+        assertEquals(2, tree.rank(5));
+        assertEquals(-1, tree.rank(4));
+        assertEquals(3, tree.get(1));
+
+        assertTrue(tree.remove(3));
+        assertFalse(tree.remove(3));
+        assertEquals(List.of(1, 5), tree.range(0, 10));
+    }
+
+    @Test
+    public void testMatchesTreeSet() {
+        Random random = new Random(42);
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.reverseOrder());
+        TreeSet<Integer> expected = new TreeSet<>(Comparator.reverseOrder());
+
+        for (int i = 0; i < 5000; i++) {
+            int value = random.nextInt(1000);
+            if (random.nextBoolean()) {
+                assertEquals(expected.add(value), tree.add(value));
+            } else {
+                assertEquals(expected.remove(value), tree.remove(value));
+            }
+        }
+
+        List<Integer> sorted = new ArrayList<>(expected);
+        assertEquals(sorted.size(), tree.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            assertEquals(sorted.get(i), tree.get(i));
+            assertEquals(i, tree.rank(sorted.get(i)));
+        }
+        assertEquals(sorted.subList(10, 30), tree.range(10, 20));
+        assertEquals(sorted.subList(sorted.size() - 5, sorted.size()), tree.range(sorted.size() - 5, 20));
+        assertTrue(tree.range(sorted.size(), 20).isEmpty());
+    }
+}
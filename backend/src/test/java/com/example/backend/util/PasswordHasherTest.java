@@ -0,0 +1,83 @@
+package com.example.backend.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PasswordHasherTest {
+
+    private ThreadPoolTaskExecutor executor;
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void testHashAndVerify() {
+        PasswordHasher passwordHasher = new PasswordHasher(executor(1, 10), 4);
+
+        String hash = passwordHasher.hash("password").orElseThrow();
+
+        assertEquals(PasswordHasher.Verification.VERIFIED, passwordHasher.verify("password", hash).orElseThrow());
+        assertEquals(PasswordHasher.Verification.INVALID, passwordHasher.verify("wrong", hash).orElseThrow());
+        assertEquals(1, passwordHasher.getHashes());
+        assertEquals(2, passwordHasher.getVerifications());
+        assertTrue(passwordHasher.getHashSeconds() > 0);
+    }
+
+    @Test
+    public void testUnknownUserCostsAVerification() {
+        PasswordHasher passwordHasher = new PasswordHasher(executor(1, 10), 4);
+
+        assertEquals(PasswordHasher.Verification.INVALID, passwordHasher.verifyUnknown("password").orElseThrow());
+        assertEquals(1, passwordHasher.getVerifications());
+    }
+
+    @Test
+    public void testChangedCostNeedsRehash() {
+        executor = executor(1, 10);
+        String oldHash = new PasswordHasher(executor, 4).hash("password").orElseThrow();
+
+        PasswordHasher passwordHasher = new PasswordHasher(executor, 5);
+
+        assertEquals(PasswordHasher.Verification.REHASH_NEEDED, passwordHasher.verify("password", oldHash).orElseThrow());
+        String newHash = passwordHasher.hash("password").orElseThrow();
+        assertEquals(PasswordHasher.Verification.VERIFIED, passwordHasher.verify("password", newHash).orElseThrow());
+    }
+
+    @Test
+    public void testRejectsWhenSaturated() throws Exception {
+        PasswordHasher passwordHasher = new PasswordHasher(executor(1, 0), 4);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        started.await();
+
+        assertTrue(passwordHasher.hash("password").isEmpty());
+        assertTrue(passwordHasher.verify("password", "hash").isEmpty());
+        assertEquals(2, passwordHasher.getRejections());
+
+        release.countDown();
+    }
+
+    private ThreadPoolTaskExecutor executor(int threads, int queueCapacity) {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.initialize();
+        return executor;
+    }
+}
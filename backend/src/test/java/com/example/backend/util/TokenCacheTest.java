@@ -0,0 +1,55 @@
+package com.example.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenCacheTest {
+
+    @Test
+    public void testHitAndMiss() {
+        TokenCache tokenCache = new TokenCache(10, 300);
+        assertTrue(tokenCache.get("token").isEmpty());
+
+        tokenCache.put("token", 1L, "user", new Date(System.currentTimeMillis() + 60_000));
+        assertEquals(1L, tokenCache.get("token").orElseThrow().getPersonId());
+
+        assertEquals(1, tokenCache.getHits());
+        assertEquals(1, tokenCache.getMisses());
+    }
+
+    @Test
+    public void testExpiredTokenIsEvicted() {
+        TokenCache tokenCache = new TokenCache(10, 300);
+        tokenCache.put("token", 1L, "user", new Date(System.currentTimeMillis() - 1));
+
+        assertTrue(tokenCache.get("token").isEmpty());
+        assertEquals(0, tokenCache.size());
+        assertEquals(1, tokenCache.getEvictions());
+    }
+
+    @Test
+    public void testExpiryIsCappedByMaxTtl() {
+        TokenCache tokenCache = new TokenCache(10, 60);
+        TokenPrincipal principal = tokenCache.put("token", 1L, "user", new Date(System.currentTimeMillis() + 1000L * 60 * 60 * 24 * 365));
+
+        assertTrue(principal.getExpiresAt() <= System.currentTimeMillis() + 60_000);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() {
+        TokenCache tokenCache = new TokenCache(2, 300);
+        Date expiration = new Date(System.currentTimeMillis() + 60_000);
+        tokenCache.put("a", 1L, "a", expiration);
+        tokenCache.put("b", 2L, "b", expiration);
+        tokenCache.get("a");
+        tokenCache.put("c", 3L, "c", expiration);
+
+        assertEquals(2, tokenCache.size());
+        assertTrue(tokenCache.get("a").isPresent());
+        assertTrue(tokenCache.get("b").isEmpty());
+        assertEquals(1, tokenCache.getEvictions());
+    }
+}
@@ -6,7 +6,8 @@ import { useEffect } from "react";
 import toast from "react-hot-toast";
 
 export default function LeaderboardPage() {
-    const { isLoading, isError, data, error } = useLeaderboard();
+    const { isLoading, isError, data, error, fetchNextPage, hasNextPage, isFetchingNextPage } = useLeaderboard();
+    const entries = data?.pages.flatMap((page) => page.data) ?? [];
 
     useEffect(() => {
         if (isError) {
@@ -28,10 +29,10 @@ export default function LeaderboardPage() {
             ) : (
                 <>
                     <div className="flex justify-around gap-4">
-                        {data?.data.slice(0, 3).map((entry, index) => (
+                        {entries.slice(0, 3).map((entry) => (
                             <TopCard
-                                key={index + 1}
-                                rank={index + 1}
+                                key={entry.rank}
+                                rank={entry.rank}
                                 name={entry.username}
                                 score={entry.score}
                             />
@@ -52,10 +53,10 @@ export default function LeaderboardPage() {
                             </tr>
                         </thead>
                         <tbody>
-                            {data?.data.slice(3).map((entry, index) => (
-                                <tr key={index + 3}>
+                            {entries.slice(3).map((entry) => (
+                                <tr key={entry.rank}>
                                     <td className="border-b border-gray-200 px-4 py-2">
-                                        {index + 3}
+                                        {entry.rank}
                                     </td>
                                     <td className="border-b border-gray-200 px-4 py-2">
                                         {entry.username}
@@ -67,6 +68,15 @@ export default function LeaderboardPage() {
                             ))}
                         </tbody>
                     </table>
+                    {hasNextPage && (
+                        <button
+                            className="self-center rounded-lg bg-blue-500 px-4 py-2 text-white transition hover:bg-blue-600 disabled:bg-blue-300"
+                            onClick={() => fetchNextPage()}
+                            disabled={isFetchingNextPage}
+                        >
+                            {isFetchingNextPage ? "Loading..." : "Load more"}
+                        </button>
+                    )}
                 </>
             )}
         </div>
@@ -2,20 +2,47 @@ import axiosInstance from '@/component/axiosInstance';
 import { useQuery } from '@tanstack/react-query';
 import { AxiosError } from 'axios';
 
-interface FriendsResponse {
+interface Friend {
+    personId: number;
+    username: string;
+    firstName?: string;
+    lastName?: string;
+    email: string;
+    avatarLink?: string;
+}
+
+interface FriendsPageResponse {
     message: string;
     data: {
-        username: string;
-        firstName?: string;
-        lastName?: string;
-        email: string;
-        avatarLink?: string;
-    }[];
+        friends: Friend[];
+        next: number | null;
+    };
+}
+
+interface FriendsResponse {
+    message: string;
+    data: Friend[];
 }
 
+// The backend pages the friend list, follow the cursor until the last page
+const fetchAllFriends = async (): Promise<FriendsResponse> => {
+    const friends: Friend[] = [];
+    let after: number | null = null;
+    let message = '';
+    do {
+        const page: FriendsPageResponse = await axiosInstance
+            .get('/friends', { params: after === null ? {} : { after } })
+            .then((res) => res.data);
+        friends.push(...page.data.friends);
+        message = page.message;
+        after = page.data.next;
+    } while (after !== null);
+    return { message, data: friends };
+};
+
 export const useFriends = () => {
     return useQuery<FriendsResponse, AxiosError<FriendsResponse>>({
         queryKey: ['friends'],
-        queryFn: () => axiosInstance.get('/friends').then((res) => res.data),
+        queryFn: fetchAllFriends,
     });
-};
\ No newline at end of file
+};
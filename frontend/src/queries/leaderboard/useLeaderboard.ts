@@ -1,8 +1,12 @@
-import { useQuery } from "@tanstack/react-query";
+import { useInfiniteQuery } from "@tanstack/react-query";
 import axiosInstance from "@/component/axiosInstance";
 import { AxiosError } from "axios";
 
+// The backend serves at most this many entries per request
+export const LEADERBOARD_PAGE_SIZE = 100;
+
 interface LeaderboardDTO {
+    rank: number;
     username: string;
     score: number;
 }
@@ -13,8 +17,14 @@ interface LeaderboardResponse {
 }
 
 export const useLeaderboard = () => {
-    return useQuery<LeaderboardResponse, AxiosError<LeaderboardResponse>>({
-        queryFn: () => axiosInstance.get("/leaderboard").then((res) => res.data),
+    return useInfiniteQuery<LeaderboardResponse, AxiosError<LeaderboardResponse>>({
+        queryFn: ({ pageParam }) =>
+            axiosInstance
+                .get("/leaderboard", { params: { offset: pageParam, limit: LEADERBOARD_PAGE_SIZE } })
+                .then((res) => res.data),
         queryKey: ["leaderboard"],
+        initialPageParam: 0,
+        getNextPageParam: (lastPage, allPages) =>
+            lastPage.data.length < LEADERBOARD_PAGE_SIZE ? undefined : allPages.length * LEADERBOARD_PAGE_SIZE,
     });
-};
\ No newline at end of file
+};